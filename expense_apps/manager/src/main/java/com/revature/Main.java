@@ -1,20 +1,66 @@
 package com.revature;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.api.AccessLogMiddleware;
+import com.revature.api.AdminController;
+import com.revature.api.AdmissionControlMiddleware;
 import com.revature.api.AuthenticationMiddleware;
+import com.revature.api.ConditionalGetMiddleware;
+import com.revature.api.ContentNegotiation;
+import com.revature.api.ConcurrencyLimitMiddleware;
 import com.revature.api.ExpenseController;
+import com.revature.api.ExportController;
+import com.revature.api.MetricsController;
+import com.revature.api.ModelJsonModule;
 import com.revature.api.ReportController;
+import com.revature.api.StaticAssetController;
+import com.revature.api.TracingController;
+import com.revature.monitoring.MetricsRegistry;
+import com.revature.monitoring.QueryMetrics;
+import com.revature.monitoring.logging.AccessLog;
+import com.revature.monitoring.logging.RollingFileAppender;
+import com.revature.monitoring.tracing.JsonLinesTraceExporter;
+import com.revature.monitoring.tracing.TraceStore;
+import com.revature.repository.DataVersionWatcher;
 import com.revature.repository.DatabaseConnection;
+import com.revature.repository.InMemoryApprovalRepository;
+import com.revature.repository.InMemoryDataStore;
+import com.revature.repository.InMemoryExpenseRepository;
+import com.revature.repository.InMemoryUserRepository;
+import com.revature.repository.SqliteApprovalRepository;
+import com.revature.repository.SqliteExpenseRepository;
+import com.revature.repository.SqliteUserRepository;
+import com.revature.repository.StatementCache;
 import com.revature.repository.UserRepository;
 import com.revature.repository.ExpenseRepository;
+import com.revature.repository.ExpenseWithUser;
 import com.revature.repository.User;
 import com.revature.repository.ApprovalRepository;
+import com.revature.server.AdmissionController;
+import com.revature.server.Bulkheads;
+import com.revature.server.ConcurrencyLimiter;
+import com.revature.server.ResponseCompression;
+import com.revature.server.ServerSettings;
+import com.revature.server.ThreadPools;
 import com.revature.service.AuthenticationService;
+import com.revature.service.EmployeeReportBundler;
 import com.revature.service.ExpenseService;
+import com.revature.service.ParallelReportEngine;
+import com.revature.service.ReportFileCache;
+import com.revature.service.SingleFlight;
 
 import io.javalin.Javalin;
 import io.javalin.http.staticfiles.Location;
+import io.javalin.json.JavalinJackson;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.revature.api.TracingController.traced;
 
 /**
  * Main application class for the Revature Expense Manager (Manager App).
@@ -23,26 +69,242 @@ import java.util.Map;
 public class Main {
     private static final int PORT = 5001;
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Initialize dependencies using constructor dependency injection
         DatabaseConnection databaseConnection = new DatabaseConnection();
+        QueryMetrics queryMetrics = new QueryMetrics(
+            Long.parseLong(setting("SLOW_QUERY_THRESHOLD_MS", "slowQueryThresholdMs", "200")), 100);
+        MetricsRegistry metricsRegistry = new MetricsRegistry(queryMetrics);
+        
+        // Request traces - kept in memory, optionally also appended to a JSON-lines file
+        int traceBufferSize = Integer.parseInt(setting("TRACE_BUFFER_SIZE", "traceBufferSize", "1000"));
+        String traceExportFile = setting("TRACE_EXPORT_FILE", "traceExportFile", null);
+        TraceStore traceStore = traceExportFile == null
+            ? new TraceStore(traceBufferSize)
+            : new TraceStore(traceBufferSize, new JsonLinesTraceExporter(Path.of(traceExportFile)));
+        
+        // Request logging - LOG_MODE selects "access" (default, async structured file log), "dev" or "off"
+        String logMode = setting("LOG_MODE", "logMode", "access");
+        String accessLogFile = setting("ACCESS_LOG_FILE", "accessLogFile", "logs/access.log");
+        AccessLog accessLog = null;
+        if ("access".equalsIgnoreCase(logMode)) {
+            accessLog = new AccessLog(new RollingFileAppender(Path.of(accessLogFile),
+                Long.parseLong(setting("ACCESS_LOG_MAX_BYTES", "accessLogMaxBytes", String.valueOf(10L * 1024 * 1024))),
+                Integer.parseInt(setting("ACCESS_LOG_MAX_FILES", "accessLogMaxFiles", "5"))), 8192);
+            metricsRegistry.register("access_log_records_written_total", "counter",
+                "Access log records written to disk", accessLog::getWritten);
+            metricsRegistry.register("access_log_records_dropped_total", "counter",
+                "Access log records dropped because the writer fell behind", accessLog::getDropped);
+        }
+        
+        // Request execution - SERVER_THREADS selects "platform" (default) or "virtual" threads for handlers
+        ServerSettings serverSettings = new ServerSettings(
+            setting("SERVER_THREADS", "serverThreads", "platform"),
+            Integer.parseInt(setting("SERVER_MIN_THREADS", "serverMinThreads", "8")),
+            Integer.parseInt(setting("SERVER_MAX_THREADS", "serverMaxThreads", "250")),
+            Integer.parseInt(setting("MAX_CONCURRENT_REQUESTS", "maxConcurrentRequests", "0")),
+            Integer.parseInt(setting("MAX_QUEUED_REQUESTS", "maxQueuedRequests", "1000")),
+            Long.parseLong(setting("REQUEST_QUEUE_TIMEOUT_MS", "requestQueueTimeoutMs", "5000")));
+        ConcurrencyLimiter requestLimiter = null;
+        if (serverSettings.maxConcurrentRequests() > 0) {
+            requestLimiter = new ConcurrencyLimiter("api", serverSettings.maxConcurrentRequests(),
+                serverSettings.maxQueuedRequests(), serverSettings.queueTimeoutMillis());
+            ConcurrencyLimiter limiter = requestLimiter;
+            metricsRegistry.register("server_requests_in_flight", "gauge",
+                "API requests currently executing", limiter::getInFlight);
+            metricsRegistry.register("server_requests_queued", "gauge",
+                "API requests waiting for an execution slot", limiter::getQueued);
+            metricsRegistry.register("server_requests_rejected_total", "counter",
+                "API requests rejected with 503 because the server was at its concurrency limit", limiter::getRejected);
+        }
+        
+        // Adaptive admission control - sheds /api/* load with 503 once latency shows the server is saturated
+        AdmissionController admissionController = null;
+        if (Boolean.parseBoolean(setting("ADMISSION_CONTROL_ENABLED", "admissionControlEnabled", "true"))) {
+            admissionController = new AdmissionController(
+                Integer.parseInt(setting("ADMISSION_INITIAL_LIMIT", "admissionInitialLimit", "50")),
+                Integer.parseInt(setting("ADMISSION_MIN_LIMIT", "admissionMinLimit", "8")),
+                Integer.parseInt(setting("ADMISSION_MAX_LIMIT", "admissionMaxLimit", "1000")),
+                Integer.parseInt(setting("ADMISSION_WINDOW_SAMPLES", "admissionWindowSamples", "50")));
+            AdmissionController admission = admissionController;
+            metricsRegistry.register("admission_limit", "gauge",
+                "Current adaptive concurrency limit", admission::getLimit);
+            metricsRegistry.register("admission_in_flight", "gauge",
+                "API requests currently admitted", admission::getInFlight);
+            for (AdmissionController.Priority priority : AdmissionController.Priority.values()) {
+                String labels = "priority=\"" + priority.name().toLowerCase() + "\"";
+                metricsRegistry.register("admission_admitted_total", labels, "counter",
+                    "API requests admitted by priority", () -> admission.getAdmitted(priority));
+                metricsRegistry.register("admission_shed_total", labels, "counter",
+                    "API requests shed with 503 by priority", () -> admission.getShed(priority));
+            }
+        }
+        
+        // Bulkheads - reports, reads and writes get separate concurrency limits and queues
+        Bulkheads bulkheads = null;
+        if (Boolean.parseBoolean(setting("BULKHEADS_ENABLED", "bulkheadsEnabled", "true"))) {
+            long bulkheadTimeout = Long.parseLong(setting("BULKHEAD_QUEUE_TIMEOUT_MS", "bulkheadQueueTimeoutMs", "2000"));
+            bulkheads = new Bulkheads(
+                bulkhead(Bulkheads.REPORTS, 4, 16, bulkheadTimeout),
+                bulkhead(Bulkheads.READS, 32, 128, bulkheadTimeout),
+                bulkhead(Bulkheads.WRITES, 16, 64, bulkheadTimeout));
+            for (ConcurrencyLimiter limiter : bulkheads.all()) {
+                String labels = "bulkhead=\"" + limiter.getName() + "\"";
+                metricsRegistry.register("bulkhead_limit", labels, "gauge",
+                    "Maximum concurrent requests per bulkhead", limiter::getMaxConcurrent);
+                metricsRegistry.register("bulkhead_in_flight", labels, "gauge",
+                    "Requests executing per bulkhead", limiter::getInFlight);
+                metricsRegistry.register("bulkhead_queue_depth", labels, "gauge",
+                    "Requests waiting for a slot per bulkhead", limiter::getQueued);
+                metricsRegistry.register("bulkhead_admitted_total", labels, "counter",
+                    "Requests admitted per bulkhead", limiter::getAdmitted);
+                metricsRegistry.register("bulkhead_rejected_total", labels, "counter",
+                    "Requests rejected with 503 per bulkhead", limiter::getRejected);
+            }
+        }
         
-        // Repository layer
-        UserRepository userRepository = new UserRepository(databaseConnection);
-        ExpenseRepository expenseRepository = new ExpenseRepository(databaseConnection);
-        ApprovalRepository approvalRepository = new ApprovalRepository(databaseConnection);
+        // Repository layer - STORAGE_ENGINE selects "sqlite" (default) or "memory"
+        String storageEngine = setting("STORAGE_ENGINE", "storageEngine", "sqlite");
+        UserRepository userRepository;
+        ExpenseRepository expenseRepository;
+        ApprovalRepository approvalRepository;
+        
+        if ("memory".equalsIgnoreCase(storageEngine)) {
+            InMemoryDataStore dataStore = new InMemoryDataStore();
+            String databasePath = databaseConnection.getDatabasePath();
+            if (databasePath != null && Files.exists(Path.of(databasePath))) {
+                // Start from a one-time snapshot of the SQLite data; nothing is written back
+                dataStore.loadFrom(databaseConnection);
+            }
+            userRepository = new InMemoryUserRepository(dataStore);
+            expenseRepository = new InMemoryExpenseRepository(dataStore);
+            approvalRepository = new InMemoryApprovalRepository(dataStore);
+        } else {
+            userRepository = new SqliteUserRepository(databaseConnection, queryMetrics);
+            // Filtered report queries keep their prepared statements on a few long-lived connections
+            StatementCache statementCache = new StatementCache(databaseConnection);
+            metricsRegistry.register("db_statement_cache_hits_total", "counter",
+                "Filter queries that reused a prepared statement", statementCache::getHits);
+            metricsRegistry.register("db_statement_cache_misses_total", "counter",
+                "Filter queries that had to prepare their statement", statementCache::getMisses);
+            SqliteExpenseRepository sqliteExpenseRepository = new SqliteExpenseRepository(databaseConnection, queryMetrics,
+                statementCache);
+            // Triggers record every expense/approval write, including the employee app's, for delta sync
+            sqliteExpenseRepository.installChangeLog();
+            sqliteExpenseRepository.installFilterIndexes();
+            expenseRepository = sqliteExpenseRepository;
+            approvalRepository = new SqliteApprovalRepository(databaseConnection, queryMetrics);
+        }
         
         // Service layer
         AuthenticationService authenticationService = new AuthenticationService(userRepository);
-        ExpenseService expenseService = new ExpenseService(expenseRepository, approvalRepository);
+        // Concurrent identical reads and reports share one execution
+        SingleFlight<String, List<ExpenseWithUser>> readFlights = new SingleFlight<>("reads");
+        SingleFlight<String, String> reportFlights = new SingleFlight<>("reports");
+        for (SingleFlight<?, ?> flight : List.of(readFlights, reportFlights)) {
+            String labels = "flight=\"" + flight.getName() + "\"";
+            metricsRegistry.register("singleflight_executions_total", labels, "counter",
+                "Queries executed by the single-flight layer", flight::getExecutions);
+            metricsRegistry.register("singleflight_coalesced_total", labels, "counter",
+                "Requests that shared an identical in-flight execution", flight::getCoalesced);
+        }
+        ExpenseService expenseService = new ExpenseService(expenseRepository, approvalRepository, readFlights);
+        // Sorted reports keep this many rows in memory and merge sorted runs from disk beyond it
+        expenseService.setSortMemoryRows(Integer.parseInt(setting("REPORT_SORT_MEMORY_ROWS", "reportSortMemoryRows",
+            String.valueOf(ExpenseService.DEFAULT_SORT_MEMORY_ROWS))));
+        metricsRegistry.register("data_generation", "gauge",
+            "Data generation used in ETags; advances on approval writes and detected external writes",
+            expenseService::getDataGeneration);
+        metricsRegistry.register("report_sort_spilled_runs_total", "counter",
+            "Sorted runs spilled to disk by report sorts", expenseService::getSortSpilledRuns);
+        
+        // External writes (e.g. by the employee app) are detected by polling SQLite's data_version
+        long dataVersionPollMillis = Long.parseLong(setting("DATA_VERSION_POLL_MS", "dataVersionPollMs", "1000"));
+        if (!"memory".equalsIgnoreCase(storageEngine) && dataVersionPollMillis > 0) {
+            DataVersionWatcher dataVersionWatcher = new DataVersionWatcher(databaseConnection, dataVersionPollMillis,
+                expenseService::advanceDataGeneration).start();
+            metricsRegistry.register("data_version_changes_total", "counter",
+                "Database commits detected by the data_version watcher", dataVersionWatcher::getChanges);
+        }
         
         // API layer
-        AuthenticationMiddleware authMiddleware = new AuthenticationMiddleware(authenticationService);
-        ExpenseController expenseController = new ExpenseController(expenseService);
-        ReportController reportController = new ReportController(expenseService);
+        AuthenticationMiddleware authMiddleware = new AuthenticationMiddleware(authenticationService, metricsRegistry);
+        // One mapper for ctx.json and the streaming writer, so both produce the same JSON;
+        // the list models use precompiled serializers that never write passwords
+        ObjectMapper objectMapper = JavalinJackson.defaultMapper().registerModule(new ModelJsonModule());
+        // Streaming is opt-in: it moves count after data, bypasses read coalescing, and turns a failure
+        // after the first row into a truncated 200 instead of a 500
+        boolean jsonStreaming = Boolean.parseBoolean(setting("JSON_STREAMING", "jsonStreaming", "false"));
+        // Expense and report responses are JSON or CBOR by Accept header, written by the same serializers
+        ContentNegotiation negotiation = new ContentNegotiation(objectMapper, ContentNegotiation.cborMapper());
+        metricsRegistry.register("http_cbor_responses_total", "counter",
+            "API responses sent as CBOR", negotiation::getCborResponses);
+        ExpenseController expenseController = new ExpenseController(expenseService, negotiation, jsonStreaming);
+        // Large CSV reports are split into date partitions queried and formatted on a fork-join pool
+        int reportParallelism = Integer.parseInt(setting("REPORT_PARALLELISM", "reportParallelism",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        ParallelReportEngine reportEngine = null;
+        if (reportParallelism > 1) {
+            reportEngine = new ParallelReportEngine(expenseRepository, new ForkJoinPool(reportParallelism),
+                Integer.parseInt(setting("REPORT_PARTITION_MIN_ROWS", "reportPartitionMinRows",
+                    String.valueOf(ParallelReportEngine.DEFAULT_MIN_PARTITION_ROWS))),
+                Integer.parseInt(setting("REPORT_PARTITION_MIN_DAYS", "reportPartitionMinDays",
+                    String.valueOf(ParallelReportEngine.DEFAULT_MIN_PARTITION_DAYS))));
+            metricsRegistry.register("report_parallel_total", "counter",
+                "CSV reports built from parallel date partitions", reportEngine::getParallelReports);
+            metricsRegistry.register("report_partitions_total", "counter",
+                "Date partitions queried by parallel CSV reports", reportEngine::getPartitionsRun);
+        }
+        // Rendered report files are kept on disk until the data generation advances; 0 bytes disables the cache
+        long reportCacheMaxBytes = Long.parseLong(setting("REPORT_CACHE_MAX_BYTES", "reportCacheMaxBytes",
+            String.valueOf(ReportFileCache.DEFAULT_MAX_BYTES)));
+        ReportFileCache reportCache = null;
+        if (reportCacheMaxBytes > 0) {
+            reportCache = new ReportFileCache(Path.of(setting("REPORT_CACHE_DIR", "reportCacheDir",
+                Path.of(System.getProperty("java.io.tmpdir"), "expense-report-cache").toString())),
+                reportCacheMaxBytes, expenseService::getDataGeneration);
+            metricsRegistry.register("report_cache_hits_total", "counter",
+                "Reports sent from a cached file", reportCache::getHits);
+            metricsRegistry.register("report_cache_misses_total", "counter",
+                "Reports rendered because no current file was cached", reportCache::getMisses);
+            metricsRegistry.register("report_cache_evictions_total", "counter",
+                "Cached report files deleted for space or because the data changed", reportCache::getEvictions);
+            metricsRegistry.register("report_cache_bytes", "gauge",
+                "Total size of cached report files", reportCache::getBytes);
+        }
+        ReportController reportController = new ReportController(expenseService, metricsRegistry, reportFlights, negotiation,
+            reportEngine, reportCache);
+        // Per-employee report bundles query and format each employee's report on a fixed pool of this size
+        int bundleParallelism = Integer.parseInt(setting("REPORT_BUNDLE_PARALLELISM", "reportBundleParallelism",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        EmployeeReportBundler bundler = new EmployeeReportBundler(expenseRepository, Math.max(1, bundleParallelism));
+        metricsRegistry.register("report_bundles_total", "counter",
+            "Per-employee report bundles written completely", bundler::getBundles);
+        metricsRegistry.register("report_bundle_employee_reports_total", "counter",
+            "Employee reports written into bundles", bundler::getEmployeeReports);
+        ExportController exportController = new ExportController(expenseService, objectMapper, bundler);
+        metricsRegistry.register("export_rows_total", "counter",
+            "Expense rows written by NDJSON exports", exportController::getExportedRows);
+        AdminController adminController = new AdminController(queryMetrics);
+        MetricsController metricsController = new MetricsController(metricsRegistry);
+        TracingController tracingController = new TracingController(traceStore);
+        // Scripts are fingerprinted and precompressed once; pages reference the fingerprinted names
+        StaticAssetController staticAssetController = new StaticAssetController(Main.class.getClassLoader(),
+            List.of("manager.js", "auth.js"), List.of("manager.html", "login.html"));
+        
+        // Response compression - RESPONSE_COMPRESSION selects "auto" (default), "gzip" or "off"
+        String responseCompression = setting("RESPONSE_COMPRESSION", "responseCompression", "auto");
+        int compressionMinBytes = Integer.parseInt(setting("COMPRESSION_MIN_BYTES", "compressionMinBytes", "1500"));
+        ConditionalGetMiddleware conditionalGet = new ConditionalGetMiddleware(expenseService::getDataGeneration);
+        metricsRegistry.register("http_not_modified_total", "counter",
+            "Conditional GETs answered 304 without running a query", conditionalGet::getNotModified);
         
         // Configure and start Javalin application
         Javalin app = Javalin.create(config -> {
+            config.jetty.threadPool = ThreadPools.create(serverSettings);
+            config.jsonMapper(new JavalinJackson(objectMapper, false));
+            config.http.customCompression(ResponseCompression.create(responseCompression, compressionMinBytes));
+            
             // Enable CORS for cross-origin requests from frontend
             config.bundledPlugins.enableCors(cors -> {
                 cors.addRule(it -> {
@@ -59,10 +321,56 @@ public class Main {
                 staticFiles.location = Location.CLASSPATH;
             });
             
-            // Enable request logging
-            config.bundledPlugins.enableDevLogging();
+            // Verbose per-request logging is for local development only
+            if ("dev".equalsIgnoreCase(logMode)) {
+                config.bundledPlugins.enableDevLogging();
+            }
         });
         
+        // Per-route request metrics - registered first so every request is timed
+        app.before(metricsController::startTimer);
+        app.after(metricsController::recordRequest);
+        if (accessLog != null) {
+            // Registered before the tracing after-handler so records still see the trace ID
+            AccessLogMiddleware accessLogMiddleware = new AccessLogMiddleware(accessLog);
+            app.before(accessLogMiddleware::startTimer);
+            app.after(accessLogMiddleware::log);
+        }
+        app.before(tracingController::startTrace);
+        app.after(tracingController::finishTrace);
+        
+        // Protected routes - require manager authentication. Registered ahead of admission and the
+        // limiters, so a rejected request is answered before it takes a permit from real managers
+        app.before("/api/expenses/*", authMiddleware.validateManager());
+        app.before("/api/reports/*", authMiddleware.validateManager());
+        app.before("/api/exports/*", authMiddleware.validateManager());
+        app.before("/admin/*", authMiddleware.validateManager());
+        
+        if (admissionController != null) {
+            // Runs ahead of the queueing limiters so excess load is shed before it waits anywhere
+            AdmissionControlMiddleware admissionMiddleware = new AdmissionControlMiddleware(admissionController);
+            app.before("/api/*", admissionMiddleware::admit);
+            app.after("/api/*", admissionMiddleware::complete);
+        }
+        if (requestLimiter != null) {
+            // Bound concurrent API work. Critical requests such as login skip it, as they skip the
+            // bulkheads; /health, /metrics and static files are outside /api and never queued
+            ConcurrencyLimiter globalLimiter = requestLimiter;
+            ConcurrencyLimitMiddleware limitMiddleware = new ConcurrencyLimitMiddleware(globalLimiter.getName(),
+                ctx -> AdmissionController.priorityOf(ctx.path()) == AdmissionController.Priority.CRITICAL
+                    ? null : globalLimiter);
+            app.before("/api/*", limitMiddleware::acquire);
+            app.after("/api/*", limitMiddleware::release);
+        }
+        
+        if (bulkheads != null) {
+            Bulkheads routeBulkheads = bulkheads;
+            ConcurrencyLimitMiddleware bulkheadMiddleware = new ConcurrencyLimitMiddleware("bulkhead",
+                ctx -> routeBulkheads.forRequest(ctx.method().name(), ctx.path()));
+            app.before("/api/*", bulkheadMiddleware::acquire);
+            app.after("/api/*", bulkheadMiddleware::release);
+        }
+        
         // Global exception handling
         app.exception(Exception.class, (e, ctx) -> {
             ctx.status(500);
@@ -76,6 +384,11 @@ public class Main {
         // Root redirect to manager dashboard
         app.get("/", ctx -> ctx.redirect("/manager.html"));
         
+        // Dashboard pages and fingerprinted scripts, served from memory ahead of the classpath static files
+        app.get("/manager.html", staticAssetController::getPage);
+        app.get("/login.html", staticAssetController::getPage);
+        app.get(StaticAssetController.ASSET_PATH + "{file}", staticAssetController::getAsset);
+        
         // Authentication status endpoint (no auth required)
         app.get("/api/auth/status", ctx -> {
             String jwtToken = ctx.cookie("jwt");
@@ -103,11 +416,11 @@ public class Main {
                 // Parse login request
                 // @SuppressWarnings("unchecked")
                 User loginData = ctx.bodyAsClass(User.class);
-                System.out.println("Login attempt for user: " + loginData.getUsername());
                 String username = loginData.getUsername();
                 String password = loginData.getPassword();
 
                 if (username == null || password == null) {
+                    metricsRegistry.recordLogin("bad_request");
                     ctx.status(400);
                     ctx.json(Map.of(
                         "success", false,
@@ -117,11 +430,10 @@ public class Main {
                 }
                 
                 // Authenticate manager
-                System.out.println("Attempting authentication for user: " + username);
                 java.util.Optional<com.revature.repository.User> managerOpt = authenticationService.authenticateManager(username, password);
                 
                 if (managerOpt.isPresent()) {
-                    System.out.println("Authentication successful for user: " + username);
+                    metricsRegistry.recordLogin("success");
                     com.revature.repository.User manager = managerOpt.get();
                     
                     // Create JWT token
@@ -130,6 +442,9 @@ public class Main {
                     // Set JWT as HTTP-only cookie
                     ctx.cookie("jwt", jwtToken, 24 * 60 * 60); // 24 hours expiry
                     
+                    // Lets the access log attribute this request to the manager
+                    ctx.attribute("manager", manager);
+                    
                     ctx.status(200);
                     ctx.json(Map.of(
                         "success", true,
@@ -141,6 +456,7 @@ public class Main {
                         )
                     ));
                 } else {
+                    metricsRegistry.recordLogin("failure");
                     ctx.status(401);
                     ctx.json(Map.of(
                         "success", false,
@@ -148,6 +464,7 @@ public class Main {
                     ));
                 }
             } catch (Exception e) {
+                metricsRegistry.recordLogin("bad_request");
                 ctx.status(400);
                 ctx.json(Map.of(
                     "success", false,
@@ -166,23 +483,35 @@ public class Main {
             ));
         });
         
-        // Protected routes - require manager authentication
-        app.before("/api/expenses/*", authMiddleware.validateManager());
-        app.before("/api/reports/*", authMiddleware.validateManager());
-        
-        // Expense management endpoints
-        app.get("/api/expenses", expenseController::getAllExpenses);
-        app.get("/api/expenses/pending", expenseController::getPendingExpenses);
-        app.get("/api/expenses/employee/{employeeId}", expenseController::getExpensesByEmployee);
-        app.post("/api/expenses/{expenseId}/approve", expenseController::approveExpense);
-        app.post("/api/expenses/{expenseId}/deny", expenseController::denyExpense);
+        // Expense management endpoints - list and report GETs answer If-None-Match with 304 while the data generation is unchanged
+        app.get("/api/expenses", conditionalGet.wrap(traced("ExpenseController.getAllExpenses", expenseController::getAllExpenses), ContentNegotiation.JSON, ContentNegotiation.CBOR));
+        app.get("/api/expenses/pending", conditionalGet.wrap(traced("ExpenseController.getPendingExpenses", expenseController::getPendingExpenses), ContentNegotiation.JSON, ContentNegotiation.CBOR));
+        app.get("/api/expenses/changes", traced("ExpenseController.getExpenseChanges", expenseController::getExpenseChanges));
+        app.get("/api/expenses/employee/{employeeId}", conditionalGet.wrap(traced("ExpenseController.getExpensesByEmployee", expenseController::getExpensesByEmployee), ContentNegotiation.JSON, ContentNegotiation.CBOR));
+        app.post("/api/expenses/{expenseId}/approve", traced("ExpenseController.approveExpense", expenseController::approveExpense));
+        app.post("/api/expenses/{expenseId}/deny", traced("ExpenseController.denyExpense", expenseController::denyExpense));
         
         // Report generation endpoints
-        app.get("/api/reports/expenses/csv", reportController::generateAllExpensesReport);
-        app.get("/api/reports/expenses/pending/csv", reportController::generatePendingExpensesReport);
-        app.get("/api/reports/expenses/employee/{employeeId}/csv", reportController::generateEmployeeExpensesReport);
-        app.get("/api/reports/expenses/category/{category}/csv", reportController::generateCategoryExpensesReport);
-        app.get("/api/reports/expenses/daterange/csv", reportController::generateDateRangeExpensesReport);
+        app.get("/api/reports/expenses/csv", conditionalGet.wrap(traced("ReportController.generateAllExpensesReport", reportController::generateAllExpensesReport), ReportController.REPORT_TYPES));
+        app.get("/api/reports/expenses/pending/csv", conditionalGet.wrap(traced("ReportController.generatePendingExpensesReport", reportController::generatePendingExpensesReport), ReportController.REPORT_TYPES));
+        app.get("/api/reports/expenses/employee/{employeeId}/csv", conditionalGet.wrap(traced("ReportController.generateEmployeeExpensesReport", reportController::generateEmployeeExpensesReport), ReportController.REPORT_TYPES));
+        app.get("/api/reports/expenses/category/{category}/csv", conditionalGet.wrap(traced("ReportController.generateCategoryExpensesReport", reportController::generateCategoryExpensesReport), ReportController.REPORT_TYPES));
+        app.get("/api/reports/expenses/daterange/csv", conditionalGet.wrap(traced("ReportController.generateDateRangeExpensesReport", reportController::generateDateRangeExpensesReport), ReportController.REPORT_TYPES));
+        app.get("/api/reports/expenses/search", conditionalGet.wrap(traced("ReportController.searchExpensesReport", reportController::searchExpensesReport), ReportController.REPORT_TYPES));
+        
+        // Export endpoints
+        app.get("/api/exports/expenses.ndjson", conditionalGet.wrap(traced("ExportController.exportExpensesNdjson", exportController::exportExpensesNdjson)));
+        app.get("/api/exports/employee-reports.zip", conditionalGet.wrap(traced("ExportController.exportEmployeeReportsZip", exportController::exportEmployeeReportsZip)));
+        
+        // Admin endpoints
+        app.get("/admin/queries", adminController::getQueryMetrics);
+        app.get("/admin/queries/slow", adminController::getSlowQueries);
+        app.get("/admin/jfr", adminController::getRecordingStatus);
+        app.post("/admin/jfr/start", adminController::startRecording);
+        app.post("/admin/jfr/stop", adminController::stopRecording);
+        app.get("/admin/jfr/dump", adminController::dumpRecording);
+        app.get("/admin/traces", tracingController::getTraces);
+        app.get("/admin/traces/{traceId}", tracingController::getTrace);
         
         // Root route - serve manager dashboard
         
@@ -193,20 +522,60 @@ public class Main {
             "version", "1.0.0"
         )));
         
+        // Prometheus metrics endpoint (no auth required, like /health)
+        app.get("/metrics", metricsController::getMetrics);
+        
         // Start the server
         app.start(PORT);
         
         System.out.println("   Expense Manager API (Manager App) started successfully!");
         System.out.println("   Server running on: http://localhost:" + PORT);
+        System.out.println("   Storage engine: " + storageEngine);
+        System.out.println("   Request threads: " + serverSettings.threadMode()
+            + (requestLimiter != null ? " (max " + serverSettings.maxConcurrentRequests() + " concurrent API requests)" : ""));
+        System.out.println("   Response compression: " + responseCompression + " (min " + compressionMinBytes + " bytes"
+            + (ResponseCompression.isBrotliAvailable() ? ", brotli available)" : ", gzip only)"));
+        System.out.println("   Request logging: " + logMode + ("access".equalsIgnoreCase(logMode) ? " (" + accessLogFile + ")" : ""));
         System.out.println("   Health check: http://localhost:" + PORT + "/health");
+        System.out.println("   Metrics: http://localhost:" + PORT + "/metrics");
         System.out.println("   API Documentation:");
         System.out.println("   Authentication Status: GET /api/auth/status");
         System.out.println("   Pending Expenses: GET /api/expenses/pending");
         System.out.println("   All Expenses: GET /api/expenses");
         System.out.println("   Employee Expenses: GET /api/expenses/employee/{employeeId}");
+        System.out.println("   Expense Changes: GET /api/expenses/changes?since={version}");
         System.out.println("   Approve Expense: POST /api/expenses/{expenseId}/approve");
         System.out.println("   Deny Expense: POST /api/expenses/{expenseId}/deny");
         System.out.println("   CSV Reports: GET /api/reports/expenses/csv");
         System.out.println("   More reports available at /api/reports/expenses/...");
+        System.out.println("   Query Metrics: GET /admin/queries (slow queries: /admin/queries/slow)");
+        System.out.println("   Flight Recorder: POST /admin/jfr/start, POST /admin/jfr/stop, GET /admin/jfr/dump");
+        System.out.println("   Request Traces: GET /admin/traces" + (traceExportFile != null ? " (exporting to " + traceExportFile + ")" : ""));
+    }
+    
+    /**
+     * Read a setting from an environment variable, falling back to a system property.
+     * @param envName environment variable name
+     * @param propertyName system property name
+     * @param defaultValue value used when neither is set
+     * @return the configured value
+     */
+    static String setting(String envName, String propertyName, String defaultValue) {
+        String value = System.getenv(envName);
+        if (value == null) {
+            value = System.getProperty(propertyName);
+        }
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * Build a bulkhead limiter, overridable with BULKHEAD_{NAME}_MAX_CONCURRENT and BULKHEAD_{NAME}_MAX_QUEUED.
+     */
+    private static ConcurrencyLimiter bulkhead(String name, int maxConcurrent, int maxQueued, long queueTimeoutMillis) {
+        String prefix = "BULKHEAD_" + name.toUpperCase() + "_";
+        return new ConcurrencyLimiter(name,
+            Integer.parseInt(setting(prefix + "MAX_CONCURRENT", "bulkhead." + name + ".maxConcurrent", String.valueOf(maxConcurrent))),
+            Integer.parseInt(setting(prefix + "MAX_QUEUED", "bulkhead." + name + ".maxQueued", String.valueOf(maxQueued))),
+            queueTimeoutMillis);
     }
-}
\ No newline at end of file
+}
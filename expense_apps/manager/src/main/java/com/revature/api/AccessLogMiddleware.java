@@ -0,0 +1,49 @@
+package com.revature.api;
+
+import com.revature.monitoring.logging.AccessLog;
+import com.revature.monitoring.logging.AccessLogRecord;
+import com.revature.monitoring.tracing.Tracing;
+import com.revature.repository.User;
+import io.javalin.http.Context;
+
+/**
+ * Feeds the structured access log.
+ * {@link #startTimer(Context)} is registered as a before-handler and {@link #log(Context)} as an
+ * after-handler ahead of the tracing after-handler, so the record can carry the request's trace ID.
+ */
+public class AccessLogMiddleware {
+    private static final String START_ATTRIBUTE = "accessLog.startNanos";
+    private final AccessLog accessLog;
+    
+    public AccessLogMiddleware(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+    
+    /**
+     * Before-handler: remember when the request started.
+     */
+    public void startTimer(Context ctx) {
+        ctx.attribute(START_ATTRIBUTE, System.nanoTime());
+    }
+    
+    /**
+     * After-handler: queue an access log record with route, status, latency and user ID.
+     */
+    public void log(Context ctx) {
+        Long startNanos = ctx.attribute(START_ATTRIBUTE);
+        if (startNanos == null) {
+            return;
+        }
+        User manager = AuthenticationMiddleware.getAuthenticatedManager(ctx);
+        accessLog.log(new AccessLogRecord(
+            System.currentTimeMillis(),
+            ctx.method().name(),
+            MetricsController.routeOf(ctx),
+            ctx.path(),
+            ctx.statusCode(),
+            System.nanoTime() - startNanos,
+            manager != null ? manager.getId() : null,
+            Tracing.currentTraceId()
+        ));
+    }
+}
@@ -0,0 +1,117 @@
+package com.revature.api;
+
+import com.revature.monitoring.QueryMetrics;
+import com.revature.monitoring.jfr.FlightRecorderService;
+import io.javalin.http.BadRequestResponse;
+import io.javalin.http.ConflictResponse;
+import io.javalin.http.Context;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * REST controller for operational/admin endpoints.
+ * Exposes repository query metrics, the slow-query log and JFR recording control to managers.
+ */
+public class AdminController {
+    private final QueryMetrics queryMetrics;
+    private final FlightRecorderService flightRecorderService;
+    
+    public AdminController(QueryMetrics queryMetrics) {
+        this(queryMetrics, new FlightRecorderService());
+    }
+    
+    public AdminController(QueryMetrics queryMetrics, FlightRecorderService flightRecorderService) {
+        this.queryMetrics = queryMetrics;
+        this.flightRecorderService = flightRecorderService;
+    }
+    
+    /**
+     * Get per-statement latency, connection-acquisition and row metrics.
+     * GET /admin/queries
+     */
+    public void getQueryMetrics(Context ctx) {
+        ctx.json(Map.of(
+            "success", true,
+            "slowQueryThresholdMs", queryMetrics.getSlowQueryThresholdMillis(),
+            "data", queryMetrics.snapshot()
+        ));
+    }
+    
+    /**
+     * Get the most recent slow queries with their EXPLAIN QUERY PLAN output.
+     * GET /admin/queries/slow
+     */
+    public void getSlowQueries(Context ctx) {
+        ctx.json(Map.of(
+            "success", true,
+            "slowQueryThresholdMs", queryMetrics.getSlowQueryThresholdMillis(),
+            "total", queryMetrics.getSlowQueryLog().getTotal(),
+            "data", queryMetrics.getSlowQueryLog().recent()
+        ));
+    }
+    
+    /**
+     * Get the state of the JFR recording.
+     * GET /admin/jfr
+     */
+    public void getRecordingStatus(Context ctx) {
+        ctx.json(Map.of(
+            "success", true,
+            "data", flightRecorderService.status()
+        ));
+    }
+    
+    /**
+     * Start a JFR recording with the "default" (low overhead) or "profile" settings.
+     * POST /admin/jfr/start?settings=default
+     */
+    public void startRecording(Context ctx) {
+        String settings = ctx.queryParam("settings");
+        try {
+            ctx.json(Map.of(
+                "success", true,
+                "data", flightRecorderService.start(settings == null || settings.isBlank() ? "default" : settings)
+            ));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestResponse(e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ConflictResponse(e.getMessage());
+        }
+    }
+    
+    /**
+     * Stop the running JFR recording.
+     * POST /admin/jfr/stop
+     */
+    public void stopRecording(Context ctx) {
+        try {
+            ctx.json(Map.of(
+                "success", true,
+                "data", flightRecorderService.stop()
+            ));
+        } catch (IllegalStateException e) {
+            throw new ConflictResponse(e.getMessage());
+        }
+    }
+    
+    /**
+     * Download the current recording as a .jfr file (open with JDK Mission Control or `jfr print`).
+     * GET /admin/jfr/dump
+     */
+    public void dumpRecording(Context ctx) throws IOException {
+        Path dump;
+        try {
+            dump = flightRecorderService.dump();
+        } catch (IllegalStateException e) {
+            throw new ConflictResponse(e.getMessage());
+        }
+        ctx.contentType("application/octet-stream");
+        ctx.header("Content-Disposition", "attachment; filename=\"expense-manager.jfr\"");
+        // The temporary dump file is removed once the response stream is closed
+        ctx.result(Files.newInputStream(dump, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+}
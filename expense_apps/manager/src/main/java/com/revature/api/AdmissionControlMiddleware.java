@@ -0,0 +1,45 @@
+package com.revature.api;
+
+import com.revature.server.AdmissionController;
+import io.javalin.http.Context;
+import io.javalin.http.ServiceUnavailableResponse;
+
+/**
+ * Sheds load with 503 before any other work is done for a request.
+ * {@link #admit(Context)} is registered as the earliest limiting before-handler and {@link #complete(Context)}
+ * as an after-handler; the request latency measured between them feeds the adaptive limit.
+ */
+public class AdmissionControlMiddleware {
+    private static final String START_ATTRIBUTE = "admission.startNanos";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private final AdmissionController admissionController;
+    
+    public AdmissionControlMiddleware(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+    
+    /**
+     * Before-handler: admit the request or shed it.
+     */
+    public void admit(Context ctx) {
+        AdmissionController.Priority priority = AdmissionController.priorityOf(ctx.path());
+        if (!admissionController.tryAcquire(priority)) {
+            ctx.header("Retry-After", RETRY_AFTER_SECONDS);
+            throw new ServiceUnavailableResponse("Server is overloaded, please retry");
+        }
+        ctx.attribute(START_ATTRIBUTE, System.nanoTime());
+    }
+    
+    /**
+     * After-handler: release the request and report its latency.
+     * Server errors (including 503s from bulkheads) are not sampled, since their latency says nothing about capacity.
+     */
+    public void complete(Context ctx) {
+        Long startNanos = ctx.attribute(START_ATTRIBUTE);
+        if (startNanos == null) {
+            return;
+        }
+        ctx.attribute(START_ATTRIBUTE, null);
+        admissionController.release(System.nanoTime() - startNanos, ctx.statusCode() < 500);
+    }
+}
@@ -1,5 +1,9 @@
 package com.revature.api;
 
+import com.revature.monitoring.MetricsRegistry;
+import com.revature.monitoring.jfr.AuthEvent;
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.Tracing;
 import com.revature.repository.User;
 import com.revature.service.AuthenticationService;
 import io.javalin.http.Context;
@@ -15,9 +19,15 @@ import java.util.Optional;
  */
 public class AuthenticationMiddleware {
     private final AuthenticationService authenticationService;
+    private final MetricsRegistry metricsRegistry;
     
     public AuthenticationMiddleware(AuthenticationService authenticationService) {
+        this(authenticationService, new MetricsRegistry());
+    }
+    
+    public AuthenticationMiddleware(AuthenticationService authenticationService, MetricsRegistry metricsRegistry) {
         this.authenticationService = authenticationService;
+        this.metricsRegistry = metricsRegistry;
     }
     
     /**
@@ -27,25 +37,46 @@ public class AuthenticationMiddleware {
      */
     public Handler validateManager() {
         return ctx -> {
-            String jwtToken = ctx.cookie("jwt");
+            try (Span span = Tracing.span("AuthenticationMiddleware.validateManager")) {
+                AuthEvent event = new AuthEvent();
+                event.begin();
+                String jwtToken = ctx.cookie("jwt");
             
-            Optional<User> managerOpt = authenticationService.validateManagerAuthentication(jwtToken);
+                Optional<User> managerOpt = authenticationService.validateManagerAuthentication(jwtToken);
             
-            if (managerOpt.isEmpty()) {
-                // Check if user is authenticated but not a manager
-                Optional<User> userOpt = authenticationService.validateJwtToken(jwtToken);
-                if (userOpt.isPresent()) {
-                    throw new ForbiddenResponse("Access denied - managers only");
-                } else {
-                    throw new UnauthorizedResponse("Authentication required");
+                if (managerOpt.isEmpty()) {
+                    // Check if user is authenticated but not a manager
+                    Optional<User> userOpt = authenticationService.validateJwtToken(jwtToken);
+                    if (userOpt.isPresent()) {
+                        recordAuth(event, "forbidden", userOpt.get().getId());
+                        throw new ForbiddenResponse("Access denied - managers only");
+                    } else {
+                        recordAuth(event, "unauthorized", 0);
+                        throw new UnauthorizedResponse("Authentication required");
+                    }
                 }
-            }
             
-            // Store the authenticated manager in the context for use in handlers
-            ctx.attribute("manager", managerOpt.get());
+                recordAuth(event, "success", managerOpt.get().getId());
+            
+                // Store the authenticated manager in the context for use in handlers
+                ctx.attribute("manager", managerOpt.get());
+            }
         };
     }
     
+    /**
+     * Count the authentication result and commit its JFR event.
+     */
+    private void recordAuth(AuthEvent event, String result, int userId) {
+        metricsRegistry.recordAuth(result);
+        event.end();
+        if (event.shouldCommit()) {
+            event.result = result;
+            event.userId = userId;
+            event.commit();
+        }
+    }
+    
     /**
      * Get the authenticated manager from the context.
      * @param ctx Javalin context
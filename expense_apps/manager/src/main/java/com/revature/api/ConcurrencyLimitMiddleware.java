@@ -0,0 +1,57 @@
+package com.revature.api;
+
+import com.revature.server.ConcurrencyLimiter;
+import io.javalin.http.Context;
+import io.javalin.http.ServiceUnavailableResponse;
+
+import java.util.function.Function;
+
+/**
+ * Applies a {@link ConcurrencyLimiter} to requests.
+ * {@link #acquire(Context)} is registered as a before-handler and {@link #release(Context)} as an
+ * after-handler for the same paths; requests that cannot get a slot are answered with 503 and Retry-After.
+ */
+public class ConcurrencyLimitMiddleware {
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private final String permitAttribute;
+    private final Function<Context, ConcurrencyLimiter> limiterSelector;
+    
+    public ConcurrencyLimitMiddleware(ConcurrencyLimiter limiter) {
+        this(limiter.getName(), ctx -> limiter);
+    }
+    
+    /**
+     * @param name middleware name, keeps permits of different middlewares apart on the same request
+     * @param limiterSelector picks the limiter for a request, or returns null to let it through unlimited
+     */
+    public ConcurrencyLimitMiddleware(String name, Function<Context, ConcurrencyLimiter> limiterSelector) {
+        this.permitAttribute = "concurrency.permit." + name;
+        this.limiterSelector = limiterSelector;
+    }
+    
+    /**
+     * Before-handler: take an execution slot or reject the request.
+     */
+    public void acquire(Context ctx) {
+        ConcurrencyLimiter limiter = limiterSelector.apply(ctx);
+        if (limiter == null) {
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            ctx.header("Retry-After", RETRY_AFTER_SECONDS);
+            throw new ServiceUnavailableResponse("Server is busy (" + limiter.getName() + "), please retry");
+        }
+        ctx.attribute(permitAttribute, limiter);
+    }
+    
+    /**
+     * After-handler: give the slot back. Runs even when the handler threw.
+     */
+    public void release(Context ctx) {
+        ConcurrencyLimiter permit = ctx.attribute(permitAttribute);
+        if (permit != null) {
+            ctx.attribute(permitAttribute, null);
+            permit.release();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.revature.api;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.HttpStatus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Conditional GET for expense lists and reports.
+ * Responses carry an ETag built from the data generation, which advances on every approval write
+ * and every detected external write, and from the representation the request selects: the media
+ * type negotiated from Accept and the codings offered in Accept-Encoding, so JSON and CBOR, or
+ * gzip and identity, responses never share a tag. A request whose If-None-Match still matches is
+ * answered {@code 304 Not Modified} instead of running the route handler, so no query is made.
+ * Route handlers are wrapped rather than short-circuited from a before-handler, so authentication
+ * still runs first and the after-handlers that release concurrency permits still run.
+ */
+public class ConditionalGetMiddleware {
+    private static final String[] CODINGS = {"br", "gzip"};
+    private final LongSupplier dataGeneration;
+    private final String epoch;
+    private final AtomicLong notModified = new AtomicLong();
+
+    public ConditionalGetMiddleware(LongSupplier dataGeneration) {
+        // The generation restarts at 0 with the process, so tags also carry the start time
+        this(dataGeneration, Long.toString(System.currentTimeMillis(), 36));
+    }
+
+    ConditionalGetMiddleware(LongSupplier dataGeneration, String epoch) {
+        this.dataGeneration = dataGeneration;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Wrap a GET route handler: tag the response, and answer 304 without calling the handler
+     * if the client's copy is current.
+     * @param handler the route handler
+     * @param offered media types the route negotiates, in its order of preference; none if it doesn't negotiate
+     * @return the wrapped handler
+     */
+    public Handler wrap(Handler handler, String... offered) {
+        return ctx -> {
+            // Read before the handler queries, so a tag never claims newer data than the body holds
+            String etag = etag(offered.length == 0 ? null : ContentNegotiation.select(ctx.header("Accept"), offered),
+                ctx.header("Accept-Encoding"));
+            ctx.header("ETag", etag);
+            ctx.header("Cache-Control", "private, no-cache");
+            if (matches(ctx.header("If-None-Match"), etag)) {
+                notModified.incrementAndGet();
+                ctx.status(HttpStatus.NOT_MODIFIED);
+                return;
+            }
+            // The tag is set before the handler runs, since a streamed body commits the headers with its
+            // first bytes; an error response must not carry it, or a client could cache the error as current
+            try {
+                handler.handle(ctx);
+            } catch (Exception e) {
+                untag(ctx);
+                throw e;
+            }
+            if (ctx.statusCode() < 200 || ctx.statusCode() >= 300) {
+                untag(ctx);
+            }
+        };
+    }
+    
+    private static void untag(Context ctx) {
+        ctx.removeHeader("ETag");
+        ctx.removeHeader("Cache-Control");
+    }
+
+    /**
+     * The ETag for the current data generation and a representation of it. Response encoders choose
+     * from the codings an Accept-Encoding header contains, so those stand in for the coding used.
+     * @param mediaType negotiated media type, or null if the route doesn't negotiate
+     * @param acceptEncoding the request's Accept-Encoding header, or null
+     * @return a weak entity tag
+     */
+    public String etag(String mediaType, String acceptEncoding) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch).append('-').append(dataGeneration.getAsLong());
+        if (mediaType != null) {
+            tag.append('-').append(mediaType.substring(mediaType.indexOf('/') + 1));
+        }
+        if (acceptEncoding != null) {
+            for (String coding : CODINGS) {
+                if (acceptEncoding.contains(coding)) {
+                    tag.append('-').append(coding);
+                }
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Number of requests answered with 304.
+     */
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against a tag, as used for GET.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,161 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.javalin.http.Context;
+import io.javalin.json.JavalinJackson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accept-header negotiation between JSON and CBOR for API responses.
+ * CBOR carries the same envelope and field names as JSON, written by the same serializers,
+ * but numbers and strings are length-prefixed binary, so bulk clients skip text parsing.
+ * Clients that send no Accept header, or accept nothing offered, get the first offered type.
+ */
+public class ContentNegotiation {
+    public static final String JSON = "application/json";
+    public static final String CBOR = "application/cbor";
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final AtomicLong cborResponses = new AtomicLong();
+
+    public ContentNegotiation(ObjectMapper jsonMapper, ObjectMapper cborMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+    }
+
+    /**
+     * Negotiation with the default mappers, for controllers built without one.
+     */
+    public static ContentNegotiation defaults() {
+        return new ContentNegotiation(JavalinJackson.defaultMapper().registerModule(new ModelJsonModule()), cborMapper());
+    }
+
+    /**
+     * A CBOR mapper using the same model serializers as the JSON mapper.
+     */
+    public static ObjectMapper cborMapper() {
+        return CBORMapper.builder().addModule(new ModelJsonModule()).build();
+    }
+
+    /**
+     * Choose the response type for a request and mark the response as varying by Accept.
+     * @param ctx Javalin context
+     * @param offered media types the endpoint can produce, in order of preference
+     * @return one of the offered types
+     */
+    public String negotiate(Context ctx, String... offered) {
+        ctx.header("Vary", "Accept");
+        return select(ctx.header("Accept"), offered);
+    }
+
+    /**
+     * The mapper that writes a negotiated type.
+     * @param mediaType {@link #JSON} or {@link #CBOR}
+     */
+    public ObjectMapper mapperFor(String mediaType) {
+        return CBOR.equals(mediaType) ? cborMapper : jsonMapper;
+    }
+
+    /**
+     * Send a body as JSON or CBOR, whichever the client prefers.
+     * @param ctx Javalin context
+     * @param body the response body
+     */
+    public void send(Context ctx, Object body) {
+        send(ctx, negotiate(ctx, JSON, CBOR), body);
+    }
+
+    /**
+     * Send a body in an already negotiated type.
+     * @param ctx Javalin context
+     * @param mediaType {@link #JSON} or {@link #CBOR}
+     * @param body the response body
+     */
+    public void send(Context ctx, String mediaType, Object body) {
+        if (!CBOR.equals(mediaType)) {
+            ctx.json(body);
+            return;
+        }
+        try {
+            byte[] encoded = cborMapper.writeValueAsBytes(body);
+            cborResponses.incrementAndGet();
+            ctx.contentType(CBOR);
+            ctx.result(encoded);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Count a CBOR response written by the caller, e.g. a streamed one.
+     */
+    public void recordCbor() {
+        cborResponses.incrementAndGet();
+    }
+
+    /**
+     * Number of responses sent as CBOR.
+     */
+    public long getCborResponses() {
+        return cborResponses.get();
+    }
+
+    /**
+     * Pick the offered type with the highest quality in an Accept header. Exact ranges take
+     * precedence over {@code type/*}, which takes precedence over {@code *}{@code /*}; ties go to
+     * the earlier offered type.
+     * @param accept the Accept header, or null
+     * @param offered media types in order of preference
+     * @return one of the offered types
+     */
+    static String select(String accept, String... offered) {
+        if (accept == null || accept.isBlank()) {
+            return offered[0];
+        }
+        String best = offered[0];
+        double bestQuality = 0;
+        for (String type : offered) {
+            double quality = quality(accept, type);
+            if (quality > bestQuality) {
+                best = type;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static double quality(String accept, String type) {
+        String family = type.substring(0, type.indexOf('/') + 1) + "*";
+        int bestSpecificity = -1;
+        double quality = 0;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            String mediaRange = parts[0].trim().toLowerCase();
+            int specificity = mediaRange.equals(type) ? 2 : mediaRange.equals(family) ? 1 : mediaRange.equals("*/*") ? 0 : -1;
+            if (specificity > bestSpecificity) {
+                bestSpecificity = specificity;
+                quality = qualityParameter(parts);
+            }
+        }
+        return quality;
+    }
+
+    private static double qualityParameter(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
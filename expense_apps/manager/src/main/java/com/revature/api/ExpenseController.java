@@ -1,5 +1,10 @@
 package com.revature.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.monitoring.jfr.JsonSerializationEvent;
+import com.revature.repository.ExpenseChanges;
+import com.revature.repository.ExpenseProjection;
 import com.revature.repository.ExpenseWithUser;
 import com.revature.repository.User;
 import com.revature.service.ExpenseService;
@@ -8,28 +13,62 @@ import io.javalin.http.BadRequestResponse;
 import io.javalin.http.NotFoundResponse;
 import io.javalin.http.InternalServerErrorResponse;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 /**
  * REST controller for expense management operations.
  * Handles expense approval, denial, and viewing operations for managers.
+ * With streaming enabled, full list responses are written row by row from the open result set
+ * instead of being collected and serialized in one go, so memory stays flat as lists grow.
+ * Responses are JSON or CBOR, negotiated from the Accept header.
  */
 public class ExpenseController {
     private final ExpenseService expenseService;
+    private final ContentNegotiation negotiation;
+    private final boolean streaming;
     
     public ExpenseController(ExpenseService expenseService) {
+        this(expenseService, ContentNegotiation.defaults(), false);
+    }
+    
+    public ExpenseController(ExpenseService expenseService, ObjectMapper objectMapper, boolean streaming) {
+        this(expenseService, new ContentNegotiation(objectMapper, ContentNegotiation.cborMapper()), streaming);
+    }
+    
+    public ExpenseController(ExpenseService expenseService, ContentNegotiation negotiation, boolean streaming) {
         this.expenseService = expenseService;
+        this.negotiation = negotiation;
+        this.streaming = streaming;
     }
     
     /**
      * Get all pending expenses for manager review.
-     * GET /api/expenses/pending
+     * GET /api/expenses/pending?fields=id,amount|summary
      */
     public void getPendingExpenses(Context ctx) {
+        ExpenseProjection projection = projectionOf(ctx);
         try {
+            if (projection != null) {
+                List<Map<String, Object>> rows = expenseService.getPendingExpenses(projection);
+                sendList(ctx, "/api/expenses/pending", rows.size(), Map.of(
+                    "success", true,
+                    "data", rows,
+                    "count", rows.size(),
+                    "fields", projection.toString()
+                ));
+                return;
+            }
+            if (streaming) {
+                streamList(ctx, "/api/expenses/pending", Map.of(), expenseService::streamPendingExpenses);
+                return;
+            }
             List<ExpenseWithUser> pendingExpenses = expenseService.getPendingExpenses();
-            ctx.json(Map.of(
+            sendList(ctx, "/api/expenses/pending", pendingExpenses.size(), Map.of(
                 "success", true,
                 "data", pendingExpenses,
                 "count", pendingExpenses.size()
@@ -61,7 +100,7 @@ public class ExpenseController {
             boolean success = expenseService.approveExpense(expenseId, manager.getId(), comment);
             
             if (success) {
-                ctx.json(Map.of(
+                negotiation.send(ctx, Map.of(
                     "success", true,
                     "message", "Expense approved successfully"
                 ));
@@ -101,7 +140,7 @@ public class ExpenseController {
             boolean success = expenseService.denyExpense(expenseId, manager.getId(), comment);
             
             if (success) {
-                ctx.json(Map.of(
+                negotiation.send(ctx, Map.of(
                     "success", true,
                     "message", "Expense denied successfully"
                 ));
@@ -121,12 +160,27 @@ public class ExpenseController {
     
     /**
      * Get all expenses (for general viewing).
-     * GET /api/expenses
+     * GET /api/expenses?fields=id,amount|summary
      */
     public void getAllExpenses(Context ctx) {
+        ExpenseProjection projection = projectionOf(ctx);
         try {
+            if (projection != null) {
+                List<Map<String, Object>> rows = expenseService.getAllExpenses(projection);
+                sendList(ctx, "/api/expenses", rows.size(), Map.of(
+                    "success", true,
+                    "data", rows,
+                    "count", rows.size(),
+                    "fields", projection.toString()
+                ));
+                return;
+            }
+            if (streaming) {
+                streamList(ctx, "/api/expenses", Map.of(), expenseService::streamAllExpenses);
+                return;
+            }
             List<ExpenseWithUser> allExpenses = expenseService.getAllExpenses();
-            ctx.json(Map.of(
+            sendList(ctx, "/api/expenses", allExpenses.size(), Map.of(
                 "success", true,
                 "data", allExpenses,
                 "count", allExpenses.size()
@@ -138,14 +192,31 @@ public class ExpenseController {
     
     /**
      * Get expenses for a specific employee.
-     * GET /api/expenses/employee/{employeeId}
+     * GET /api/expenses/employee/{employeeId}?fields=id,amount|summary
      */
     public void getExpensesByEmployee(Context ctx) {
+        ExpenseProjection projection = projectionOf(ctx);
         try {
             int employeeId = ctx.pathParamAsClass("employeeId", Integer.class).get();
+            if (projection != null) {
+                List<Map<String, Object>> rows = expenseService.getExpensesByEmployee(employeeId, projection);
+                sendList(ctx, "/api/expenses/employee/{employeeId}", rows.size(), Map.of(
+                    "success", true,
+                    "data", rows,
+                    "count", rows.size(),
+                    "employeeId", employeeId,
+                    "fields", projection.toString()
+                ));
+                return;
+            }
+            if (streaming) {
+                streamList(ctx, "/api/expenses/employee/{employeeId}", Map.of("employeeId", employeeId),
+                    consumer -> expenseService.streamExpensesByEmployee(employeeId, consumer));
+                return;
+            }
             List<ExpenseWithUser> expenses = expenseService.getExpensesByEmployee(employeeId);
             
-            ctx.json(Map.of(
+            sendList(ctx, "/api/expenses/employee/{employeeId}", expenses.size(), Map.of(
                 "success", true,
                 "data", expenses,
                 "count", expenses.size(),
@@ -158,4 +229,115 @@ public class ExpenseController {
             throw new InternalServerErrorResponse("Failed to retrieve expenses for employee: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Get the expenses created or re-reviewed since a version returned by an earlier call.
+     * GET /api/expenses/changes?since={version}
+     */
+    public void getExpenseChanges(Context ctx) {
+        long since;
+        try {
+            String sinceParam = ctx.queryParam("since");
+            since = sinceParam == null ? 0 : Long.parseLong(sinceParam);
+        } catch (NumberFormatException e) {
+            throw new BadRequestResponse("Invalid since version");
+        }
+        if (since < 0) {
+            throw new BadRequestResponse("Invalid since version");
+        }
+        
+        try {
+            ExpenseChanges changes = expenseService.getChangesSince(since);
+            sendList(ctx, "/api/expenses/changes", changes.getChanged().size(), Map.of(
+                "success", true,
+                "data", changes.getChanged(),
+                "deleted", changes.getDeleted(),
+                "count", changes.getChanged().size(),
+                "version", changes.getVersion(),
+                "reset", changes.isReset()
+            ));
+        } catch (Exception e) {
+            throw new InternalServerErrorResponse("Failed to retrieve expense changes: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Parse the optional {@code fields} query parameter.
+     * @return the requested projection, or null for the full nested representation
+     */
+    private ExpenseProjection projectionOf(Context ctx) {
+        String fields = ctx.queryParam("fields");
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return ExpenseProjection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestResponse(e.getMessage());
+        }
+    }
+    
+    /**
+     * Write a list response as each row is read: the success flag and any leading fields,
+     * then the data array, then count as a trailing field once the rows have been counted.
+     * The generator comes from the negotiated mapper, so JSON and CBOR stream alike.
+     * @param ctx Javalin context
+     * @param endpoint route template used to label the JFR event
+     * @param leading fields written before the data array
+     * @param query runs the query, passing each row to the consumer and returning the row count
+     */
+    private void streamList(Context ctx, String endpoint, Map<String, Object> leading,
+                            ToIntFunction<Consumer<ExpenseWithUser>> query) throws IOException {
+        JsonSerializationEvent event = new JsonSerializationEvent();
+        event.begin();
+        String mediaType = negotiation.negotiate(ctx, ContentNegotiation.JSON, ContentNegotiation.CBOR);
+        if (ContentNegotiation.CBOR.equals(mediaType)) {
+            negotiation.recordCbor();
+        }
+        ctx.contentType(mediaType);
+        int rows;
+        try (JsonGenerator json = negotiation.mapperFor(mediaType).createGenerator(ctx.outputStream())) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            for (Map.Entry<String, Object> field : leading.entrySet()) {
+                json.writeObjectField(field.getKey(), field.getValue());
+            }
+            json.writeArrayFieldStart("data");
+            rows = query.applyAsInt(row -> {
+                try {
+                    json.writeObject(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            json.writeNumberField("count", rows);
+            json.writeEndObject();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Serialize a list response in the negotiated format, timing the serialization as a JFR event.
+     * @param ctx Javalin context
+     * @param endpoint route template used to label the event
+     * @param rows number of expenses in the response
+     * @param body the response body
+     */
+    private void sendList(Context ctx, String endpoint, int rows, Map<String, Object> body) {
+        JsonSerializationEvent event = new JsonSerializationEvent();
+        event.begin();
+        negotiation.send(ctx, body);
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.revature.api;
+
+import com.revature.repository.ExpenseFilter;
+import io.javalin.http.BadRequestResponse;
+import io.javalin.http.Context;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * Reads an {@link ExpenseFilter} from the query parameters shared by exports and report search:
+ * {@code employeeId}, {@code category}, {@code startDate}, {@code endDate} and {@code status}.
+ * Every parameter is optional; invalid values are rejected with 400.
+ */
+final class ExpenseFilterParams {
+    private static final Set<String> STATUSES = Set.of("pending", "approved", "denied");
+
+    private ExpenseFilterParams() {
+    }
+
+    static ExpenseFilter fromQuery(Context ctx) {
+        Integer employeeId = null;
+        String employeeParam = ctx.queryParam("employeeId");
+        if (employeeParam != null) {
+            try {
+                employeeId = Integer.parseInt(employeeParam);
+            } catch (NumberFormatException e) {
+                throw new BadRequestResponse("Invalid employee ID format");
+            }
+        }
+        String category = ctx.queryParam("category");
+        if (category != null && category.isBlank()) {
+            throw new BadRequestResponse("Category must not be empty");
+        }
+        String startDate = dateParam(ctx, "startDate");
+        String endDate = dateParam(ctx, "endDate");
+        String status = ctx.queryParam("status");
+        if (status != null && !STATUSES.contains(status)) {
+            throw new BadRequestResponse("Invalid status. Use pending, approved or denied");
+        }
+        return new ExpenseFilter(employeeId, category, startDate, endDate, status);
+    }
+
+    private static String dateParam(Context ctx, String name) {
+        String value = ctx.queryParam(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestResponse("Invalid date format. Use YYYY-MM-DD format");
+        }
+        return value;
+    }
+}
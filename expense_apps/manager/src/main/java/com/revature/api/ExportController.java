@@ -0,0 +1,139 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.repository.ExpenseFilter;
+import com.revature.service.EmployeeReportBundler;
+import com.revature.service.ExpenseService;
+import io.javalin.http.Context;
+import io.javalin.http.NotFoundResponse;
+import io.javalin.json.JavalinJackson;
+import org.eclipse.jetty.server.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk exports for machine consumers.
+ * Expenses are written as newline-delimited JSON, one object per line, straight from the open
+ * result set, so neither the server nor a line-by-line reader holds the whole export in memory.
+ * Per-employee CSV reports are bundled into a ZIP that is streamed as the reports complete.
+ * Once the first line is sent the status is committed. A failure after that aborts the response
+ * without its final chunk, so the client's read fails instead of ending cleanly at a line boundary;
+ * a gzip export also never gets its trailer, and a ZIP never gets its central directory.
+ */
+public class ExportController {
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final ExpenseService expenseService;
+    private final ObjectMapper objectMapper;
+    private final EmployeeReportBundler bundler;
+    private final AtomicLong exportedRows = new AtomicLong();
+
+    public ExportController(ExpenseService expenseService) {
+        this(expenseService, JavalinJackson.defaultMapper().registerModule(new ModelJsonModule()));
+    }
+
+    public ExportController(ExpenseService expenseService, ObjectMapper objectMapper) {
+        this(expenseService, objectMapper, null);
+    }
+
+    /**
+     * @param bundler writes per-employee report bundles; null answers bundle requests with 404
+     */
+    public ExportController(ExpenseService expenseService, ObjectMapper objectMapper, EmployeeReportBundler bundler) {
+        this.expenseService = expenseService;
+        this.objectMapper = objectMapper;
+        this.bundler = bundler;
+    }
+
+    /**
+     * Export expenses as NDJSON, optionally gzip-wrapped.
+     * GET /api/exports/expenses.ndjson?employeeId=&category=&startDate=&endDate=&status=&gzip=true
+     */
+    public void exportExpensesNdjson(Context ctx) throws IOException {
+        ExpenseFilter filter = ExpenseFilterParams.fromQuery(ctx);
+        boolean gzip = Boolean.parseBoolean(ctx.queryParam("gzip"));
+
+        ctx.contentType(gzip ? "application/gzip" : NDJSON);
+        ctx.header("Content-Disposition", "attachment; filename=\"expenses.ndjson" + (gzip ? ".gz" : "") + "\"");
+        UnfinishedGzipOutputStream gzipOut = gzip ? new UnfinishedGzipOutputStream(ctx.outputStream()) : null;
+        JsonGenerator json = objectMapper.createGenerator(gzip ? gzipOut : ctx.outputStream());
+        json.setRootValueSeparator(null);
+        int rows;
+        try {
+            rows = expenseService.streamExpenses(filter, row -> {
+                try {
+                    json.writeObject(row);
+                    json.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Closing the generator would flush the lines so far and write the gzip trailer,
+            // making a partial export look complete; release the deflater and abort instead
+            if (gzipOut != null) {
+                gzipOut.release();
+            }
+            abort(ctx, e);
+            throw e;
+        }
+        // Closing the generator closes the stream, which writes the gzip trailer
+        json.close();
+        exportedRows.addAndGet(rows);
+    }
+
+    /**
+     * Export one CSV report per employee with matching expenses, bundled as a ZIP.
+     * GET /api/exports/employee-reports.zip?category=&startDate=&endDate=&status=
+     */
+    public void exportEmployeeReportsZip(Context ctx) throws IOException {
+        if (bundler == null) {
+            throw new NotFoundResponse("Employee report bundles are disabled");
+        }
+        ExpenseFilter filter = ExpenseFilterParams.fromQuery(ctx);
+
+        ctx.contentType("application/zip");
+        ctx.header("Content-Disposition", "attachment; filename=\"employee-reports.zip\"");
+        try {
+            bundler.writeZip(filter, ctx.outputStream());
+        } catch (IOException | RuntimeException e) {
+            abort(ctx, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Number of expense rows written by exports.
+     */
+    public long getExportedRows() {
+        return exportedRows.get();
+    }
+
+    /**
+     * Abort a committed response, so the chunked body ends without its terminating chunk and the client
+     * sees an error. An uncommitted response is left for the exception handler to answer with a 500.
+     */
+    static void abort(Context ctx, Throwable cause) {
+        if (ctx.res() instanceof Response response && response.isCommitted()) {
+            response.getHttpChannel().abort(cause);
+        }
+    }
+
+    /**
+     * A gzip stream whose deflater can be released without writing the trailer.
+     */
+    private static final class UnfinishedGzipOutputStream extends GZIPOutputStream {
+        UnfinishedGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 8192);
+        }
+
+        void release() {
+            def.end();
+        }
+    }
+}
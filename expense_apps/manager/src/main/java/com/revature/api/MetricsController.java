@@ -0,0 +1,82 @@
+package com.revature.api;
+
+import com.revature.monitoring.MetricsRegistry;
+import com.revature.monitoring.jfr.RequestEvent;
+import io.javalin.http.Context;
+
+/**
+ * Collects per-route HTTP metrics and serves them in the Prometheus text format.
+ * {@link #startTimer(Context)} must be registered as the first before-handler and
+ * {@link #recordRequest(Context)} as an after-handler so that every request is timed.
+ * Each request is also emitted as a {@link RequestEvent} when a JFR recording is running.
+ */
+public class MetricsController {
+    private static final String START_ATTRIBUTE = "metrics.startNanos";
+    private static final String EVENT_ATTRIBUTE = "metrics.jfrEvent";
+    private final MetricsRegistry metricsRegistry;
+    
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+    
+    /**
+     * Before-handler: remember when the request started.
+     */
+    public void startTimer(Context ctx) {
+        ctx.attribute(START_ATTRIBUTE, System.nanoTime());
+        RequestEvent event = new RequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            ctx.attribute(EVENT_ATTRIBUTE, event);
+        }
+    }
+    
+    /**
+     * After-handler: record latency and status under the matched route template.
+     */
+    public void recordRequest(Context ctx) {
+        Long startNanos = ctx.attribute(START_ATTRIBUTE);
+        if (startNanos == null) {
+            return;
+        }
+        String route = routeOf(ctx);
+        metricsRegistry.recordRequest(ctx.method().name(), route, ctx.statusCode(), System.nanoTime() - startNanos);
+        
+        RequestEvent event = ctx.attribute(EVENT_ATTRIBUTE);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = ctx.method().name();
+                event.route = route;
+                event.status = ctx.statusCode();
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Prometheus scrape endpoint.
+     * GET /metrics
+     */
+    public void getMetrics(Context ctx) {
+        ctx.contentType("text/plain; version=0.0.4; charset=utf-8");
+        ctx.result(metricsRegistry.scrape());
+    }
+    
+    /**
+     * Route template for labelling, so path parameters do not create one series per ID.
+     * Requests that never reached an endpoint (static files, 404s, rejected by a before-handler)
+     * are grouped under "unmatched".
+     */
+    static String routeOf(Context ctx) {
+        try {
+            String path = ctx.endpointHandlerPath();
+            if (path != null && !path.isEmpty()) {
+                return path;
+            }
+        } catch (IllegalStateException e) {
+            // Still in a before-handler; no endpoint was matched
+        }
+        return "unmatched";
+    }
+}
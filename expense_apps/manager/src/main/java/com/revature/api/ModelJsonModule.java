@@ -0,0 +1,157 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+
+import java.io.IOException;
+
+/**
+ * Hand-written Jackson serializers for the expense list models.
+ * Each serializer calls the getters directly and writes pre-encoded field names, so no bean
+ * introspection or reflective access happens per row, and one instance of each is shared by
+ * every response. The output matches the bean serialization field for field, except that
+ * {@code User.password} is never written.
+ */
+public class ModelJsonModule extends SimpleModule {
+    static final ExpenseSerializer EXPENSE = new ExpenseSerializer();
+    static final UserSerializer USER = new UserSerializer();
+    static final ApprovalSerializer APPROVAL = new ApprovalSerializer();
+    static final ExpenseWithUserSerializer EXPENSE_WITH_USER = new ExpenseWithUserSerializer();
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString DATE = new SerializedString("date");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString ROLE = new SerializedString("role");
+    private static final SerializedString MANAGER = new SerializedString("manager");
+    private static final SerializedString EXPENSE_ID = new SerializedString("expenseId");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString REVIEWER = new SerializedString("reviewer");
+    private static final SerializedString COMMENT = new SerializedString("comment");
+    private static final SerializedString REVIEW_DATE = new SerializedString("reviewDate");
+    private static final SerializedString PENDING = new SerializedString("pending");
+    private static final SerializedString EXPENSE_FIELD = new SerializedString("expense");
+    private static final SerializedString USER_FIELD = new SerializedString("user");
+    private static final SerializedString APPROVAL_FIELD = new SerializedString("approval");
+
+    public ModelJsonModule() {
+        super("ModelJsonModule");
+        addSerializer(Expense.class, EXPENSE);
+        addSerializer(User.class, USER);
+        addSerializer(Approval.class, APPROVAL);
+        addSerializer(ExpenseWithUser.class, EXPENSE_WITH_USER);
+    }
+
+    static final class ExpenseSerializer extends StdSerializer<Expense> {
+        ExpenseSerializer() {
+            super(Expense.class);
+        }
+
+        @Override
+        public void serialize(Expense expense, JsonGenerator json, SerializerProvider provider) throws IOException {
+            json.writeStartObject(expense);
+            json.writeFieldName(ID);
+            json.writeNumber(expense.getId());
+            json.writeFieldName(USER_ID);
+            json.writeNumber(expense.getUserId());
+            json.writeFieldName(AMOUNT);
+            json.writeNumber(expense.getAmount());
+            json.writeFieldName(DESCRIPTION);
+            json.writeString(expense.getDescription());
+            json.writeFieldName(DATE);
+            json.writeString(expense.getDate());
+            json.writeEndObject();
+        }
+    }
+
+    static final class UserSerializer extends StdSerializer<User> {
+        UserSerializer() {
+            super(User.class);
+        }
+
+        @Override
+        public void serialize(User user, JsonGenerator json, SerializerProvider provider) throws IOException {
+            // password is deliberately absent: it is only ever read from login requests
+            json.writeStartObject(user);
+            json.writeFieldName(ID);
+            json.writeNumber(user.getId());
+            json.writeFieldName(USERNAME);
+            json.writeString(user.getUsername());
+            json.writeFieldName(ROLE);
+            json.writeString(user.getRole());
+            json.writeFieldName(MANAGER);
+            json.writeBoolean(user.isManager());
+            json.writeEndObject();
+        }
+    }
+
+    static final class ApprovalSerializer extends StdSerializer<Approval> {
+        ApprovalSerializer() {
+            super(Approval.class);
+        }
+
+        @Override
+        public void serialize(Approval approval, JsonGenerator json, SerializerProvider provider) throws IOException {
+            json.writeStartObject(approval);
+            json.writeFieldName(ID);
+            json.writeNumber(approval.getId());
+            json.writeFieldName(EXPENSE_ID);
+            json.writeNumber(approval.getExpenseId());
+            json.writeFieldName(STATUS);
+            json.writeString(approval.getStatus());
+            json.writeFieldName(REVIEWER);
+            if (approval.getReviewer() == null) {
+                json.writeNull();
+            } else {
+                json.writeNumber(approval.getReviewer());
+            }
+            json.writeFieldName(COMMENT);
+            json.writeString(approval.getComment());
+            json.writeFieldName(REVIEW_DATE);
+            json.writeString(approval.getReviewDate());
+            json.writeFieldName(PENDING);
+            json.writeBoolean(approval.isPending());
+            json.writeEndObject();
+        }
+    }
+
+    static final class ExpenseWithUserSerializer extends StdSerializer<ExpenseWithUser> {
+        ExpenseWithUserSerializer() {
+            super(ExpenseWithUser.class);
+        }
+
+        @Override
+        public void serialize(ExpenseWithUser row, JsonGenerator json, SerializerProvider provider) throws IOException {
+            // The nested serializers are called directly rather than looked up per row
+            json.writeStartObject(row);
+            json.writeFieldName(EXPENSE_FIELD);
+            if (row.getExpense() == null) {
+                json.writeNull();
+            } else {
+                EXPENSE.serialize(row.getExpense(), json, provider);
+            }
+            json.writeFieldName(USER_FIELD);
+            if (row.getUser() == null) {
+                json.writeNull();
+            } else {
+                USER.serialize(row.getUser(), json, provider);
+            }
+            json.writeFieldName(APPROVAL_FIELD);
+            if (row.getApproval() == null) {
+                json.writeNull();
+            } else {
+                APPROVAL.serialize(row.getApproval(), json, provider);
+            }
+            json.writeEndObject();
+        }
+    }
+}
@@ -1,26 +1,107 @@
 package com.revature.api;
 
+import com.revature.monitoring.MetricsRegistry;
+import com.revature.repository.ExpenseFilter;
 import com.revature.repository.ExpenseWithUser;
 import com.revature.service.ExpenseService;
+import com.revature.service.ParallelReportEngine;
+import com.revature.service.ReportFileCache;
+import com.revature.service.ReportSort;
+import com.revature.service.SingleFlight;
 import io.javalin.http.Context;
 import io.javalin.http.BadRequestResponse;
 import io.javalin.http.InternalServerErrorResponse;
+import org.eclipse.jetty.server.HttpOutput;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for expense reporting operations.
- * Handles CSV report generation by various criteria.
+ * Handles CSV report generation by various criteria, singly or combined through the search report.
+ * Concurrent requests for the same report share one query and one CSV rendering.
+ * Clients that prefer {@code application/json} or {@code application/cbor} over {@code text/csv}
+ * get the report rows in the list envelope instead.
+ * {@code ?format=parquet} on any report returns the same rows as a typed, columnar Parquet file,
+ * and {@code ?format=xlsx} as an Excel workbook with numeric and date cells.
+ * {@code ?sort=amount} (or {@code -amount} for descending) orders any report by a column instead of newest first;
+ * sorted CSV, Parquet and XLSX reports are sorted with bounded memory by the service.
+ * With a {@link ReportFileCache}, rendered CSV, Parquet and XLSX files are kept on disk until the data
+ * changes and sent straight from the file; CSV is also kept gzipped for clients that accept it.
  */
 public class ReportController {
     private final ExpenseService expenseService;
+    private final MetricsRegistry metricsRegistry;
+    private final SingleFlight<String, String> reportFlights;
+    private final ContentNegotiation negotiation;
+    private final ParallelReportEngine reportEngine;
+    private final ReportFileCache reportCache;
+    private static final String CSV = "text/csv";
+    /** Media types a report route negotiates when no format is requested, in order of preference. */
+    public static final String[] REPORT_TYPES = {CSV, ContentNegotiation.JSON, ContentNegotiation.CBOR};
+    private static final String PARQUET = "application/vnd.apache.parquet";
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /** Largest region mapped at once when sending a cached report; a mapping is limited to 2 GB. */
+    private static final long MAPPED_CHUNK_BYTES = 1L << 30;
     
     public ReportController(ExpenseService expenseService) {
+        this(expenseService, new MetricsRegistry());
+    }
+    
+    public ReportController(ExpenseService expenseService, MetricsRegistry metricsRegistry) {
+        this(expenseService, metricsRegistry, new SingleFlight<>("reports"));
+    }
+    
+    public ReportController(ExpenseService expenseService, MetricsRegistry metricsRegistry,
+                            SingleFlight<String, String> reportFlights) {
+        this(expenseService, metricsRegistry, reportFlights, ContentNegotiation.defaults());
+    }
+    
+    public ReportController(ExpenseService expenseService, MetricsRegistry metricsRegistry,
+                            SingleFlight<String, String> reportFlights, ContentNegotiation negotiation) {
+        this(expenseService, metricsRegistry, reportFlights, negotiation, null);
+    }
+    
+    /**
+     * @param reportEngine builds CSV reports from parallel date partitions; null builds them with one query
+     */
+    public ReportController(ExpenseService expenseService, MetricsRegistry metricsRegistry,
+                            SingleFlight<String, String> reportFlights, ContentNegotiation negotiation,
+                            ParallelReportEngine reportEngine) {
+        this(expenseService, metricsRegistry, reportFlights, negotiation, reportEngine, null);
+    }
+    
+    /**
+     * @param reportEngine builds CSV reports from parallel date partitions; null builds them with one query
+     * @param reportCache keeps rendered report files; null renders every report
+     */
+    public ReportController(ExpenseService expenseService, MetricsRegistry metricsRegistry,
+                            SingleFlight<String, String> reportFlights, ContentNegotiation negotiation,
+                            ParallelReportEngine reportEngine, ReportFileCache reportCache) {
         this.expenseService = expenseService;
+        this.metricsRegistry = metricsRegistry;
+        this.reportFlights = reportFlights;
+        this.negotiation = negotiation;
+        this.reportEngine = reportEngine;
+        this.reportCache = reportCache;
     }
     
     /**
@@ -29,13 +110,11 @@ public class ReportController {
      */
     public void generateAllExpensesReport(Context ctx) {
         try {
-            List<ExpenseWithUser> expenses = expenseService.getAllExpenses();
-            String csvContent = expenseService.generateCsvReport(expenses);
-            
-            ctx.contentType("text/csv");
-            ctx.header("Content-Disposition", "attachment; filename=\"all_expenses_report.csv\"");
-            ctx.result(csvContent);
+            sendReport(ctx, "all", "all_expenses_report.csv", expenseService::getAllExpenses,
+                new ExpenseFilter(null, null, null, null, null));
             
+        } catch (BadRequestResponse e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorResponse("Failed to generate expenses report: " + e.getMessage());
         }
@@ -48,15 +127,14 @@ public class ReportController {
     public void generateEmployeeExpensesReport(Context ctx) {
         try {
             int employeeId = ctx.pathParamAsClass("employeeId", Integer.class).get();
-            List<ExpenseWithUser> expenses = expenseService.getExpensesByEmployee(employeeId);
-            String csvContent = expenseService.generateCsvReport(expenses);
-            
-            ctx.contentType("text/csv");
-            ctx.header("Content-Disposition", "attachment; filename=\"employee_" + employeeId + "_expenses_report.csv\"");
-            ctx.result(csvContent);
+            sendReport(ctx, "employee", "employee_" + employeeId + "_expenses_report.csv",
+                () -> expenseService.getExpensesByEmployee(employeeId),
+                new ExpenseFilter(employeeId, null, null, null, null), String.valueOf(employeeId));
             
         } catch (NumberFormatException e) {
             throw new BadRequestResponse("Invalid employee ID format");
+        } catch (BadRequestResponse e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorResponse("Failed to generate employee expenses report: " + e.getMessage());
         }
@@ -74,18 +152,14 @@ public class ReportController {
                 throw new BadRequestResponse("Category parameter is required");
             }
             
-            List<ExpenseWithUser> expenses = expenseService.getExpensesByCategory(category);
-            String csvContent = expenseService.generateCsvReport(expenses);
-            
             String safeCategory = category.replaceAll("[^a-zA-Z0-9_-]", "_");
-            ctx.contentType("text/csv");
-            ctx.header("Content-Disposition", "attachment; filename=\"category_" + safeCategory + "_expenses_report.csv\"");
-            ctx.result(csvContent);
+            sendReport(ctx, "category", "category_" + safeCategory + "_expenses_report.csv",
+                () -> expenseService.getExpensesByCategory(category),
+                new ExpenseFilter(null, category, null, null, null), category);
             
+        } catch (BadRequestResponse e) {
+            throw e;
         } catch (Exception e) {
-            if (e instanceof BadRequestResponse) {
-                throw e;
-            }
             throw new InternalServerErrorResponse("Failed to generate category expenses report: " + e.getMessage());
         }
     }
@@ -111,17 +185,13 @@ public class ReportController {
                 throw new BadRequestResponse("Invalid date format. Use YYYY-MM-DD format");
             }
             
-            List<ExpenseWithUser> expenses = expenseService.getExpensesByDateRange(startDateStr, endDateStr);
-            String csvContent = expenseService.generateCsvReport(expenses);
-            
-            ctx.contentType("text/csv");
-            ctx.header("Content-Disposition", "attachment; filename=\"expenses_" + startDateStr + "_to_" + endDateStr + "_report.csv\"");
-            ctx.result(csvContent);
+            sendReport(ctx, "daterange", "expenses_" + startDateStr + "_to_" + endDateStr + "_report.csv",
+                () -> expenseService.getExpensesByDateRange(startDateStr, endDateStr),
+                new ExpenseFilter(null, null, startDateStr, endDateStr, null), startDateStr, endDateStr);
             
+        } catch (BadRequestResponse e) {
+            throw e;
         } catch (Exception e) {
-            if (e instanceof BadRequestResponse) {
-                throw e;
-            }
             throw new InternalServerErrorResponse("Failed to generate date range expenses report: " + e.getMessage());
         }
     }
@@ -132,15 +202,265 @@ public class ReportController {
      */
     public void generatePendingExpensesReport(Context ctx) {
         try {
-            List<ExpenseWithUser> expenses = expenseService.getPendingExpenses();
-            String csvContent = expenseService.generateCsvReport(expenses);
-            
-            ctx.contentType("text/csv");
-            ctx.header("Content-Disposition", "attachment; filename=\"pending_expenses_report.csv\"");
-            ctx.result(csvContent);
+            sendReport(ctx, "pending", "pending_expenses_report.csv", expenseService::getPendingExpenses,
+                new ExpenseFilter(null, null, null, null, "pending"));
             
+        } catch (BadRequestResponse e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorResponse("Failed to generate pending expenses report: " + e.getMessage());
         }
     }
+    
+    /**
+     * Generate a report of the expenses meeting every given criterion, read with one query.
+     * GET /api/reports/expenses/search?employeeId=&category=&startDate=&endDate=&status=
+     */
+    public void searchExpensesReport(Context ctx) {
+        try {
+            ExpenseFilter filter = ExpenseFilterParams.fromQuery(ctx);
+            sendReport(ctx, "search", "expenses_search_report.csv", () -> expenseService.searchExpenses(filter), filter,
+                Objects.toString(filter.getEmployeeId(), ""), Objects.toString(filter.getCategory(), ""),
+                Objects.toString(filter.getStartDate(), ""), Objects.toString(filter.getEndDate(), ""),
+                Objects.toString(filter.getStatus(), ""));
+            
+        } catch (BadRequestResponse e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InternalServerErrorResponse("Failed to generate expense search report: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Send a report as a CSV download, as JSON or CBOR rows if the client prefers those,
+     * or as a Parquet or XLSX download if {@code format=parquet} or {@code format=xlsx} is requested,
+     * in the order given by {@code sort} if there is one.
+     * @param ctx Javalin context
+     * @param report report type used as the metrics and single-flight label
+     * @param filename CSV download file name
+     * @param query loads the report rows
+     * @param filter the same selection as the query, for streamed formats and parallel CSV
+     * @param parameters report parameters, part of the single-flight and cache keys
+     */
+    private void sendReport(Context ctx, String report, String filename, Supplier<List<ExpenseWithUser>> query,
+                            ExpenseFilter filter, String... parameters) throws IOException {
+        String format = ctx.queryParam("format");
+        ReportSort sort = parseSort(ctx.queryParam("sort"));
+        if ("parquet".equals(format)) {
+            sendFile(ctx, report, filename.replaceFirst("\\.csv$", ".parquet"), PARQUET,
+                cacheKey(report, "parquet", sort, parameters), out -> expenseService.writeParquetReport(filter, sort, out));
+            return;
+        }
+        if ("xlsx".equals(format)) {
+            sendFile(ctx, report, filename.replaceFirst("\\.csv$", ".xlsx"), XLSX,
+                cacheKey(report, "xlsx", sort, parameters), out -> expenseService.writeXlsxReport(filter, sort, out));
+            return;
+        }
+        if (format != null && !format.equals("csv")) {
+            throw new BadRequestResponse("Unsupported format. Use csv, parquet or xlsx");
+        }
+        String mediaType = negotiation.negotiate(ctx, REPORT_TYPES);
+        if (!CSV.equals(mediaType)) {
+            // Row reads are already coalesced by the service, so only the CSV rendering needs a flight
+            List<ExpenseWithUser> rows = query.get();
+            if (sort != null) {
+                // The rows are already in memory for the envelope; sort a copy, the list may be shared by a flight
+                rows = new ArrayList<>(rows);
+                rows.sort(sort.comparator());
+            }
+            negotiation.send(ctx, mediaType, Map.of("success", true, "data", rows, "count", rows.size()));
+            return;
+        }
+        if (sort == null && reportCache == null) {
+            sendCsv(ctx, report, filename, csvReport(report, query, filter, parameters));
+            return;
+        }
+        ReportWriter csv = sort != null
+            ? out -> expenseService.writeCsvReport(filter, sort, out)
+            : out -> out.write(csvReport(report, query, filter, parameters).getBytes(StandardCharsets.UTF_8));
+        String acceptEncoding = ctx.header("Accept-Encoding");
+        if (reportCache != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            sendCached(ctx, report, filename, CSV, cacheKey(report, "csv.gz", sort, parameters), "gzip", out -> {
+                GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                csv.write(gzip);
+                gzip.finish();
+            });
+            return;
+        }
+        sendFile(ctx, report, filename, CSV, cacheKey(report, "csv", sort, parameters), csv);
+    }
+    
+    /**
+     * The unsorted CSV report, shared by concurrent identical requests.
+     */
+    private String csvReport(String report, Supplier<List<ExpenseWithUser>> query, ExpenseFilter filter,
+                             String... parameters) {
+        return reportFlights.execute(reportKey(report, parameters),
+            () -> reportEngine != null ? reportEngine.generateCsv(filter) : expenseService.generateCsvReport(query.get()));
+    }
+    
+    /**
+     * Write a report to a temp file, or find it in the report cache, then send the file.
+     * Spooling means a query failure is still answered with a 500 rather than a truncated file,
+     * and the database connection is released before a slow client starts downloading.
+     * @param ctx Javalin context
+     * @param report report type used as the metrics label
+     * @param filename download file name
+     * @param mediaType response content type
+     * @param cacheKey the report's key in the report cache
+     * @param writer streams the report's rows into the file
+     */
+    private void sendFile(Context ctx, String report, String filename, String mediaType, String cacheKey,
+                          ReportWriter writer) throws IOException {
+        if (reportCache != null) {
+            sendCached(ctx, report, filename, mediaType, cacheKey, null, writer);
+            return;
+        }
+        Path spool = Files.createTempFile("expense-report-", filename.substring(filename.lastIndexOf('.')));
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(spool), 64 * 1024)) {
+                writer.write(out);
+            }
+            ctx.contentType(mediaType);
+            ctx.header("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+            try (InputStream in = Files.newInputStream(spool)) {
+                in.transferTo(ctx.outputStream());
+            }
+            metricsRegistry.recordReport(report, Files.size(spool));
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+    
+    /**
+     * Send a report file from the report cache, rendering it on a miss.
+     * @param contentEncoding encoding the writer applies, or null
+     */
+    private void sendCached(Context ctx, String report, String filename, String mediaType, String cacheKey,
+                            String contentEncoding, ReportWriter writer) throws IOException {
+        try (ReportFileCache.CachedReport cached = reportCache.open(cacheKey, writer::write)) {
+            ctx.contentType(mediaType);
+            ctx.header("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+            if (CSV.equals(mediaType)) {
+                ctx.header("Vary", "Accept-Encoding");
+            }
+            if (contentEncoding != null) {
+                ctx.header("Content-Encoding", contentEncoding);
+            }
+            transfer(ctx, cached);
+            metricsRegistry.recordReport(report, cached.getSize());
+        }
+    }
+    
+    /**
+     * Send a cached file as the response body. Written to the servlet response rather than
+     * ctx.outputStream(), so Javalin does not compress it again. Jetty gets the file as mapped
+     * buffers, which it writes from the page cache to the socket without copying it through the heap.
+     */
+    private static void transfer(Context ctx, ReportFileCache.CachedReport cached) throws IOException {
+        ctx.res().setContentLengthLong(cached.getSize());
+        OutputStream out = ctx.res().getOutputStream();
+        FileChannel channel = cached.getChannel();
+        if (out instanceof HttpOutput jetty) {
+            sendMapped(jetty, channel, cached.getSize(), MAPPED_CHUNK_BYTES);
+            return;
+        }
+        WritableByteChannel target = Channels.newChannel(out);
+        for (long sent = 0; sent < cached.getSize(); ) {
+            sent += channel.transferTo(sent, cached.getSize() - sent, target);
+        }
+        out.flush();
+    }
+    
+    /**
+     * Send a file to Jetty as consecutive mapped regions of at most chunkBytes, since a single
+     * mapping can't exceed Integer.MAX_VALUE bytes.
+     */
+    static void sendMapped(HttpOutput out, FileChannel channel, long size, long chunkBytes) throws IOException {
+        for (long position = 0; position < size; position += chunkBytes) {
+            out.sendContent(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkBytes, size - position)));
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ReportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+    
+    private static ReportSort parseSort(String sort) {
+        if (sort == null || sort.isEmpty()) {
+            return null;
+        }
+        try {
+            return ReportSort.parse(sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestResponse("Invalid sort. Use id, date, amount, employee, status or reviewDate, with - for descending");
+        }
+    }
+    
+    /**
+     * Report cache key: report type, format, sort and parameters, each length-prefixed so that
+     * parameter values containing separators can't collide.
+     */
+    private static String cacheKey(String report, String format, ReportSort sort, String... parameters) {
+        StringBuilder key = new StringBuilder();
+        appendKeyPart(key, report);
+        appendKeyPart(key, format);
+        appendKeyPart(key, sort == null ? "" : sort.toString());
+        for (String parameter : parameters) {
+            appendKeyPart(key, parameter);
+        }
+        return key.toString();
+    }
+    
+    private static void appendKeyPart(StringBuilder key, String part) {
+        key.append(part.length()).append(':').append(part);
+    }
+    
+    /**
+     * Write a CSV report as a file download and record its size.
+     * @param ctx Javalin context
+     * @param report report type used as the metrics label
+     * @param filename download file name
+     * @param csvContent the CSV body
+     */
+    private void sendCsv(Context ctx, String report, String filename, String csvContent) {
+        ctx.contentType("text/csv");
+        ctx.header("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+        ctx.result(csvContent);
+        metricsRegistry.recordReport(report, csvContent == null ? 0 : utf8Length(csvContent));
+    }
+    
+    /**
+     * Single-flight key for a report: data generation, report type and its parameters,
+     * length-prefixed like {@link #cacheKey} so parameter values containing separators can't collide.
+     */
+    private String reportKey(String report, String... parameters) {
+        StringBuilder key = new StringBuilder().append(expenseService.getDataGeneration()).append('|');
+        appendKeyPart(key, report);
+        for (String parameter : parameters) {
+            appendKeyPart(key, parameter);
+        }
+        return key.toString();
+    }
+    
+    /**
+     * Encoded size of a string in UTF-8, without allocating the byte array.
+     */
+    static long utf8Length(String value) {
+        long bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 2; // each half of a surrogate pair, 4 bytes per pair
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
 }
\ No newline at end of file
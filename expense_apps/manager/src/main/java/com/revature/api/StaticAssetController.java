@@ -0,0 +1,178 @@
+package com.revature.api;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import io.javalin.http.NotFoundResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the dashboard's HTML pages and scripts from memory.
+ * Scripts are fingerprinted with a hash of their content and served under {@code /assets/} with an
+ * immutable one-year cache lifetime; pages have their script references rewritten to the
+ * fingerprinted names and are revalidated with a strong ETag on every load. Everything is
+ * compressed once at maximum gzip level when the controller is built, so no request pays for compression.
+ */
+public class StaticAssetController {
+    public static final String ASSET_PATH = "/assets/";
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final Pattern LOCAL_REFERENCE = Pattern.compile("(src|href)=\"([^\"/:]+)\"");
+
+    private final Map<String, Asset> assets = new HashMap<>();
+    private final Map<String, Asset> pages = new HashMap<>();
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    /**
+     * Load and precompress classpath resources.
+     * @param classLoader the loader to read resources from
+     * @param scripts script resource names, e.g. {@code manager.js}
+     * @param pageNames page resource names, e.g. {@code manager.html}
+     * @throws IOException if a resource is missing or cannot be read
+     */
+    public StaticAssetController(ClassLoader classLoader, List<String> scripts, List<String> pageNames) throws IOException {
+        for (String script : scripts) {
+            Asset asset = Asset.of(contentType(script), read(classLoader, script));
+            String fingerprinted = fingerprint(script, asset.etag());
+            fingerprints.put(script, fingerprinted);
+            assets.put(fingerprinted, asset);
+        }
+        for (String page : pageNames) {
+            String html = new String(read(classLoader, page), StandardCharsets.UTF_8);
+            pages.put("/" + page, Asset.of(contentType(page), rewriteReferences(html).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Serve a fingerprinted script.
+     * GET /assets/{file}
+     */
+    public void getAsset(Context ctx) {
+        Asset asset = assets.get(ctx.pathParam("file"));
+        if (asset == null) {
+            throw new NotFoundResponse("Asset not found");
+        }
+        // The name changes with the content, so clients never need to revalidate
+        ctx.header("Cache-Control", IMMUTABLE);
+        send(ctx, asset);
+    }
+
+    /**
+     * Serve an HTML page, answering 304 while the client's copy is current.
+     * GET /manager.html, GET /login.html
+     */
+    public void getPage(Context ctx) {
+        Asset page = pages.get(ctx.path());
+        if (page == null) {
+            throw new NotFoundResponse("Page not found");
+        }
+        ctx.header("Cache-Control", "no-cache");
+        ctx.header("ETag", page.etag());
+        if (ConditionalGetMiddleware.matches(ctx.header("If-None-Match"), page.etag())) {
+            ctx.status(HttpStatus.NOT_MODIFIED);
+            return;
+        }
+        send(ctx, page);
+    }
+
+    /**
+     * Fingerprinted path for a script, or null if the script is not served by this controller.
+     * @param script script resource name
+     * @return the path under {@link #ASSET_PATH}
+     */
+    public String assetPath(String script) {
+        String fingerprinted = fingerprints.get(script);
+        return fingerprinted == null ? null : ASSET_PATH + fingerprinted;
+    }
+
+    private void send(Context ctx, Asset asset) {
+        ctx.contentType(asset.contentType());
+        ctx.header("Vary", "Accept-Encoding");
+        String acceptEncoding = ctx.header("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ctx.header("Content-Encoding", "gzip");
+            ctx.result(asset.gzipped());
+        } else {
+            ctx.result(asset.body());
+        }
+    }
+
+    private String rewriteReferences(String html) {
+        Matcher matcher = LOCAL_REFERENCE.matcher(html);
+        StringBuilder rewritten = new StringBuilder();
+        while (matcher.find()) {
+            String path = assetPath(matcher.group(2));
+            String replacement = path == null ? matcher.group() : matcher.group(1) + "=\"" + path + "\"";
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(rewritten);
+        return rewritten.toString();
+    }
+
+    private static String fingerprint(String name, String etag) {
+        String hash = etag.substring(1, 11);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name + "." + hash : name.substring(0, dot) + "." + hash + name.substring(dot);
+    }
+
+    private static byte[] read(ClassLoader classLoader, String name) throws IOException {
+        try (InputStream input = classLoader.getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IOException("Static resource not found on classpath: " + name);
+            }
+            return input.readAllBytes();
+        }
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".js")) {
+            return "text/javascript; charset=utf-8";
+        } else if (name.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        } else if (name.endsWith(".html")) {
+            return "text/html; charset=utf-8";
+        }
+        return "application/octet-stream";
+    }
+
+    /**
+     * An in-memory resource with its gzip encoding and a strong ETag of its content hash.
+     */
+    record Asset(String contentType, byte[] body, byte[] gzipped, String etag) {
+        static Asset of(String contentType, byte[] body) throws IOException {
+            return new Asset(contentType, body, gzip(body), "\"" + sha256(body) + "\"");
+        }
+
+        private static byte[] gzip(byte[] body) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                gzip.write(body);
+            }
+            return out.toByteArray();
+        }
+
+        private static String sha256(byte[] body) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
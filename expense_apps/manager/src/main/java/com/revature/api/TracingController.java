@@ -0,0 +1,103 @@
+package com.revature.api;
+
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.TraceRecord;
+import com.revature.monitoring.tracing.TraceStore;
+import com.revature.monitoring.tracing.Tracing;
+import io.javalin.http.BadRequestResponse;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.NotFoundResponse;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request tracing and the trace query endpoints.
+ * {@link #startTrace(Context)} must be registered as a before-handler ahead of authentication and
+ * {@link #finishTrace(Context)} as an after-handler, so the trace covers the whole request.
+ */
+public class TracingController {
+    public static final String TRACE_HEADER = "X-Trace-Id";
+    private static final Pattern TRACE_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final int DEFAULT_LIMIT = 50;
+    private final TraceStore traceStore;
+    
+    public TracingController(TraceStore traceStore) {
+        this.traceStore = traceStore;
+    }
+    
+    /**
+     * Before-handler: start a trace and return its ID in the X-Trace-Id header.
+     * A well-formed incoming X-Trace-Id is reused so callers can correlate their own logs.
+     */
+    public void startTrace(Context ctx) {
+        String traceId = ctx.header(TRACE_HEADER);
+        if (traceId == null || !TRACE_ID.matcher(traceId).matches()) {
+            traceId = Tracing.newTraceId();
+        }
+        Tracing.start(traceId, ctx.method().name(), ctx.path());
+        ctx.header(TRACE_HEADER, traceId);
+    }
+    
+    /**
+     * After-handler: complete the trace and store it.
+     */
+    public void finishTrace(Context ctx) {
+        TraceRecord trace = Tracing.finish(MetricsController.routeOf(ctx), ctx.statusCode());
+        if (trace != null) {
+            traceStore.add(trace);
+        }
+    }
+    
+    /**
+     * Get recent traces, newest first.
+     * GET /admin/traces?limit=50&minDurationMs=100&route=/api/expenses
+     */
+    public void getTraces(Context ctx) {
+        int limit;
+        double minDurationMs;
+        try {
+            limit = ctx.queryParam("limit") == null ? DEFAULT_LIMIT : Integer.parseInt(ctx.queryParam("limit"));
+            minDurationMs = ctx.queryParam("minDurationMs") == null ? 0 : Double.parseDouble(ctx.queryParam("minDurationMs"));
+        } catch (NumberFormatException e) {
+            throw new BadRequestResponse("limit and minDurationMs must be numbers");
+        }
+        
+        ctx.json(Map.of(
+            "success", true,
+            "capacity", traceStore.getCapacity(),
+            "total", traceStore.getTotal(),
+            "data", traceStore.recent(Math.max(0, limit), minDurationMs, ctx.queryParam("route"))
+        ));
+    }
+    
+    /**
+     * Get a single trace by ID.
+     * GET /admin/traces/{traceId}
+     */
+    public void getTrace(Context ctx) {
+        TraceRecord trace = traceStore.find(ctx.pathParam("traceId"));
+        if (trace == null) {
+            throw new NotFoundResponse("Trace not found or no longer buffered");
+        }
+        ctx.json(Map.of(
+            "success", true,
+            "data", trace
+        ));
+    }
+    
+    /**
+     * Wrap a route handler so its execution is recorded as a span.
+     * @param name span name, e.g. "ExpenseController.getAllExpenses"
+     * @param handler the handler to wrap
+     * @return the traced handler
+     */
+    public static Handler traced(String name, Handler handler) {
+        return ctx -> {
+            try (Span span = Tracing.span(name)) {
+                handler.handle(ctx);
+            }
+        };
+    }
+}
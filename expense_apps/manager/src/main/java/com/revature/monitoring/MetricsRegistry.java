@@ -0,0 +1,291 @@
+package com.revature.monitoring;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Application-wide metrics exported in the Prometheus text format.
+ * Recording only touches LongAdders and atomic histogram buckets, so the hot path never takes a lock;
+ * all formatting work happens when /metrics is scraped.
+ */
+public class MetricsRegistry {
+    private static final double[] LATENCY_BUCKETS_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final QueryMetrics queryMetrics;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> authResults = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> loginResults = new ConcurrentHashMap<>();
+    private final Map<String, ReportStats> reports = new ConcurrentHashMap<>();
+    private final Map<String, ExternalMetric> external = new ConcurrentSkipListMap<>();
+
+    public MetricsRegistry() {
+        this(new QueryMetrics());
+    }
+
+    public MetricsRegistry(QueryMetrics queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    /**
+     * Record a completed HTTP request.
+     * @param method HTTP method
+     * @param route the route template as registered, e.g. "/api/expenses/{expenseId}/approve"
+     * @param status response status code
+     * @param nanos request duration in nanoseconds
+     */
+    public void recordRequest(String method, String route, int status, long nanos) {
+        RouteStats stats = routes.computeIfAbsent(method + " " + route, k -> new RouteStats(method, route));
+        stats.latency.recordNanos(nanos);
+        stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record the outcome of the manager authentication middleware.
+     * @param result "success", "unauthorized" or "forbidden"
+     */
+    public void recordAuth(String result) {
+        authResults.computeIfAbsent(result, r -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record the outcome of a login attempt.
+     * @param result "success", "failure" or "bad_request"
+     */
+    public void recordLogin(String result) {
+        loginResults.computeIfAbsent(result, r -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record the size of a generated report.
+     * @param report report type, e.g. "all" or "employee"
+     * @param bytes size of the report body
+     */
+    public void recordReport(String report, long bytes) {
+        ReportStats stats = reports.computeIfAbsent(report, r -> new ReportStats());
+        stats.count.increment();
+        stats.bytes.add(bytes);
+        stats.maxBytes.accumulateAndGet(bytes, Math::max);
+    }
+
+    /**
+     * Export a value owned by another component, read at scrape time.
+     * @param name metric name
+     * @param type "counter" or "gauge"
+     * @param help metric description
+     * @param value supplier of the current value
+     */
+    public void register(String name, String type, String help, LongSupplier value) {
+        register(name, "", type, help, value);
+    }
+
+    /**
+     * Export one labelled series of a value owned by another component, read at scrape time.
+     * Series registered under the same name share a single HELP/TYPE header.
+     * @param name metric name
+     * @param labels label set without braces, e.g. "bulkhead=\"reports\"", or empty
+     * @param type "counter" or "gauge"
+     * @param help metric description
+     * @param value supplier of the current value
+     */
+    public void register(String name, String labels, String type, String help, LongSupplier value) {
+        external.computeIfAbsent(name, n -> new ExternalMetric(type, help, new ConcurrentSkipListMap<>()))
+            .series().put(labels, value);
+    }
+
+    public long getAuthCount(String result) {
+        LongAdder counter = authResults.get(result);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Render every metric in the Prometheus text exposition format (version 0.0.4).
+     * @return the scrape body
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        writeHttpMetrics(out);
+        writeAuthMetrics(out);
+        writeDatabaseMetrics(out);
+        writeReportMetrics(out);
+        writeExternalMetrics(out);
+        writeJvmMetrics(out);
+        return out.toString();
+    }
+
+    private void writeHttpMetrics(StringBuilder out) {
+        Map<String, RouteStats> sorted = new TreeMap<>(routes);
+
+        header(out, "http_requests_total", "counter", "HTTP requests by route and status");
+        for (RouteStats stats : sorted.values()) {
+            new TreeMap<>(stats.statuses).forEach((status, count) -> out.append("http_requests_total{method=\"")
+                .append(stats.method).append("\",route=\"").append(escape(stats.route))
+                .append("\",status=\"").append(status).append("\"} ").append(count.sum()).append('\n'));
+        }
+
+        header(out, "http_request_duration_seconds", "histogram", "HTTP request latency by route");
+        for (RouteStats stats : sorted.values()) {
+            writeHistogram(out, "http_request_duration_seconds",
+                "method=\"" + stats.method + "\",route=\"" + escape(stats.route) + "\"", stats.latency);
+        }
+    }
+
+    private void writeAuthMetrics(StringBuilder out) {
+        header(out, "auth_middleware_results_total", "counter", "Manager authentication checks by result");
+        new TreeMap<>(authResults).forEach((result, count) -> out.append("auth_middleware_results_total{result=\"")
+            .append(result).append("\"} ").append(count.sum()).append('\n'));
+
+        header(out, "auth_login_attempts_total", "counter", "Login attempts by result");
+        new TreeMap<>(loginResults).forEach((result, count) -> out.append("auth_login_attempts_total{result=\"")
+            .append(result).append("\"} ").append(count.sum()).append('\n'));
+    }
+
+    private void writeDatabaseMetrics(StringBuilder out) {
+        Map<String, QueryMetrics.StatementStats> statements = queryMetrics.statements();
+
+        header(out, "db_query_duration_seconds", "histogram", "Repository statement latency by method");
+        statements.forEach((method, stats) -> writeHistogram(out, "db_query_duration_seconds",
+            "method=\"" + escape(method) + "\"", stats.getLatency()));
+
+        header(out, "db_connection_acquisition_seconds", "summary", "Time to obtain a database connection");
+        statements.forEach((method, stats) -> {
+            LatencyHistogram acquisition = stats.getConnectionAcquisition();
+            String labels = "method=\"" + escape(method) + "\"";
+            for (double quantile : new double[] {0.5, 0.95, 0.99}) {
+                out.append("db_connection_acquisition_seconds{").append(labels).append(",quantile=\"").append(quantile)
+                    .append("\"} ").append(acquisition.percentileMillis(quantile * 100) / 1_000.0).append('\n');
+            }
+            out.append("db_connection_acquisition_seconds_sum{").append(labels).append("} ")
+                .append(acquisition.getSumMillis() / 1_000.0).append('\n');
+            out.append("db_connection_acquisition_seconds_count{").append(labels).append("} ")
+                .append(acquisition.getCount()).append('\n');
+        });
+
+        header(out, "db_query_rows_total", "counter", "Rows returned or affected by method");
+        statements.forEach((method, stats) -> out.append("db_query_rows_total{method=\"").append(escape(method))
+            .append("\"} ").append(stats.getRowsTotal()).append('\n'));
+
+        header(out, "db_query_errors_total", "counter", "Failed repository statements by method");
+        statements.forEach((method, stats) -> out.append("db_query_errors_total{method=\"").append(escape(method))
+            .append("\"} ").append(stats.getErrors()).append('\n'));
+
+        header(out, "db_slow_queries_total", "counter", "Statements above the slow-query threshold");
+        out.append("db_slow_queries_total ").append(queryMetrics.getSlowQueryLog().getTotal()).append('\n');
+    }
+
+    private void writeReportMetrics(StringBuilder out) {
+        Map<String, ReportStats> sorted = new TreeMap<>(reports);
+
+        header(out, "report_size_bytes", "summary", "Generated report sizes by report type");
+        sorted.forEach((report, stats) -> {
+            out.append("report_size_bytes_sum{report=\"").append(escape(report)).append("\"} ")
+                .append(stats.bytes.sum()).append('\n');
+            out.append("report_size_bytes_count{report=\"").append(escape(report)).append("\"} ")
+                .append(stats.count.sum()).append('\n');
+        });
+
+        header(out, "report_size_bytes_max", "gauge", "Largest generated report by report type");
+        sorted.forEach((report, stats) -> out.append("report_size_bytes_max{report=\"").append(escape(report))
+            .append("\"} ").append(stats.maxBytes.get()).append('\n'));
+    }
+
+    private void writeExternalMetrics(StringBuilder out) {
+        external.forEach((name, metric) -> {
+            header(out, name, metric.type(), metric.help());
+            metric.series().forEach((labels, value) -> {
+                out.append(name);
+                if (!labels.isEmpty()) {
+                    out.append('{').append(labels).append('}');
+                }
+                out.append(' ').append(value.getAsLong()).append('\n');
+            });
+        });
+    }
+
+    private void writeJvmMetrics(StringBuilder out) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+
+        header(out, "jvm_memory_bytes_used", "gauge", "Used JVM memory by area");
+        out.append("jvm_memory_bytes_used{area=\"heap\"} ").append(heap.getUsed()).append('\n');
+        out.append("jvm_memory_bytes_used{area=\"nonheap\"} ").append(nonHeap.getUsed()).append('\n');
+        header(out, "jvm_memory_bytes_committed", "gauge", "Committed JVM memory by area");
+        out.append("jvm_memory_bytes_committed{area=\"heap\"} ").append(heap.getCommitted()).append('\n');
+        out.append("jvm_memory_bytes_committed{area=\"nonheap\"} ").append(nonHeap.getCommitted()).append('\n');
+        header(out, "jvm_memory_bytes_max", "gauge", "Maximum JVM memory by area (-1 if undefined)");
+        out.append("jvm_memory_bytes_max{area=\"heap\"} ").append(heap.getMax()).append('\n');
+        out.append("jvm_memory_bytes_max{area=\"nonheap\"} ").append(nonHeap.getMax()).append('\n');
+
+        header(out, "jvm_gc_collection_count_total", "counter", "Garbage collections by collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.append("jvm_gc_collection_count_total{gc=\"").append(escape(gc.getName())).append("\"} ")
+                .append(Math.max(0, gc.getCollectionCount())).append('\n');
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection by collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.append("jvm_gc_collection_seconds_total{gc=\"").append(escape(gc.getName())).append("\"} ")
+                .append(Math.max(0, gc.getCollectionTime()) / 1_000.0).append('\n');
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        header(out, "jvm_threads_current", "gauge", "Current live threads");
+        out.append("jvm_threads_current ").append(threads.getThreadCount()).append('\n');
+        header(out, "jvm_threads_daemon", "gauge", "Current daemon threads");
+        out.append("jvm_threads_daemon ").append(threads.getDaemonThreadCount()).append('\n');
+        header(out, "jvm_threads_peak", "gauge", "Peak live threads since JVM start");
+        out.append("jvm_threads_peak ").append(threads.getPeakThreadCount()).append('\n');
+
+        header(out, "process_uptime_seconds", "gauge", "JVM uptime");
+        out.append("process_uptime_seconds ").append(ManagementFactory.getRuntimeMXBean().getUptime() / 1_000.0).append('\n');
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        for (double bound : LATENCY_BUCKETS_SECONDS) {
+            out.append(name).append("_bucket{").append(labels).append(",le=\"").append(bound).append("\"} ")
+                .append(histogram.countAtOrBelow(bound * 1_000)).append('\n');
+        }
+        long count = histogram.getCount();
+        out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(count).append('\n');
+        out.append(name).append("_sum{").append(labels).append("} ").append(histogram.getSumMillis() / 1_000.0).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(count).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static class RouteStats {
+        final String method;
+        final String route;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        RouteStats(String method, String route) {
+            this.method = method;
+            this.route = route;
+        }
+    }
+
+    private record ExternalMetric(String type, String help, Map<String, LongSupplier> series) {}
+
+    private static class ReportStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final AtomicLong maxBytes = new AtomicLong();
+    }
+}
@@ -0,0 +1,139 @@
+package com.revature.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-statement metrics for the repository layer.
+ * Each repository method gets latency and connection-acquisition histograms plus row counts;
+ * executions above the slow-query threshold are written to the {@link SlowQueryLog}.
+ */
+public class QueryMetrics {
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 200;
+    private static final int DEFAULT_SLOW_QUERY_LOG_SIZE = 100;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final SlowQueryLog slowQueryLog;
+    private final long slowQueryThresholdNanos;
+
+    public QueryMetrics() {
+        this(DEFAULT_SLOW_QUERY_THRESHOLD_MS, DEFAULT_SLOW_QUERY_LOG_SIZE);
+    }
+
+    public QueryMetrics(long slowQueryThresholdMillis, int slowQueryLogSize) {
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000;
+        this.slowQueryLog = new SlowQueryLog(slowQueryLogSize);
+    }
+
+    /**
+     * Start timing a statement.
+     * @param method repository method tag, e.g. "ExpenseRepository.findAllExpensesWithUsers"
+     * @param sql the SQL text (used for EXPLAIN QUERY PLAN if the query turns out slow)
+     * @return a sample to close once the statement and its result set are done
+     */
+    public QuerySample start(String method, String sql) {
+        return new QuerySample(this, method, sql);
+    }
+
+    void record(QuerySample sample, long totalNanos) {
+        StatementStats stats = statements.computeIfAbsent(sample.getMethod(), m -> new StatementStats());
+        stats.latency.recordNanos(totalNanos);
+        if (sample.getConnectionNanos() >= 0) {
+            stats.connectionAcquisition.recordNanos(sample.getConnectionNanos());
+        }
+        if (sample.getRows() >= 0) {
+            stats.rowsTotal.add(sample.getRows());
+            stats.rowsMax.accumulateAndGet(sample.getRows(), Math::max);
+        }
+        if (sample.isFailed()) {
+            stats.errors.increment();
+        }
+
+        if (totalNanos >= slowQueryThresholdNanos) {
+            slowQueryLog.add(sample, totalNanos);
+        }
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdNanos / 1_000_000;
+    }
+
+    /**
+     * Live statement statistics keyed by repository method, sorted by name.
+     */
+    public Map<String, StatementStats> statements() {
+        return new TreeMap<>(statements);
+    }
+
+    /**
+     * Snapshot of all statement metrics, suitable for JSON serialization.
+     * @return map of repository method to its metrics
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        statements.forEach((method, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            long calls = stats.latency.getCount();
+            entry.put("calls", calls);
+            entry.put("errors", stats.errors.sum());
+            entry.put("latencyMs", summarize(stats.latency));
+            entry.put("connectionAcquisitionMs", summarize(stats.connectionAcquisition));
+            entry.put("rows", Map.of(
+                "total", stats.rowsTotal.sum(),
+                "max", stats.rowsMax.get(),
+                "mean", calls == 0 ? 0.0 : (double) stats.rowsTotal.sum() / calls
+            ));
+            result.put(method, entry);
+        });
+        return result;
+    }
+
+    private static Map<String, Object> summarize(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("p50", histogram.percentileMillis(50));
+        summary.put("p95", histogram.percentileMillis(95));
+        summary.put("p99", histogram.percentileMillis(99));
+        summary.put("max", histogram.getMaxMillis());
+        summary.put("mean", histogram.getMeanMillis());
+        return summary;
+    }
+
+    /**
+     * Counters for one repository method.
+     */
+    public static class StatementStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram connectionAcquisition = new LatencyHistogram();
+        private final LongAdder rowsTotal = new LongAdder();
+        private final AtomicLong rowsMax = new AtomicLong();
+        private final LongAdder errors = new LongAdder();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public LatencyHistogram getConnectionAcquisition() {
+            return connectionAcquisition;
+        }
+
+        public long getRowsTotal() {
+            return rowsTotal.sum();
+        }
+
+        public long getRowsMax() {
+            return rowsMax.get();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.revature.monitoring;
+
+import com.revature.monitoring.jfr.QueryEvent;
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.Tracing;
+import com.revature.repository.DatabaseConnection;
+import com.revature.repository.StatementCache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Timing for a single repository statement.
+ * Use in a try-with-resources block ahead of the connection so that closing the
+ * sample happens last and covers statement execution and result-set mapping.
+ * A sample closed without {@link #rows(long)} having been called is counted as an error.
+ * Each sample is also emitted as a {@link QueryEvent} when a JFR recording is running,
+ * and as a span of the current request trace.
+ */
+public class QuerySample implements AutoCloseable {
+    private final QueryMetrics metrics;
+    private final String method;
+    private final String sql;
+    private final long startNanos = System.nanoTime();
+    private final QueryEvent event = new QueryEvent();
+    private final Span span;
+    private DatabaseConnection databaseConnection;
+    private long connectionNanos = -1;
+    private long rows = -1;
+
+    QuerySample(QueryMetrics metrics, String method, String sql) {
+        this.metrics = metrics;
+        this.method = method;
+        this.sql = sql;
+        this.span = Tracing.span(method);
+        event.begin();
+    }
+
+    /**
+     * Open a connection, recording how long acquisition took.
+     * @param databaseConnection the connection source
+     * @return an open connection
+     * @throws SQLException if connection fails
+     */
+    public Connection connect(DatabaseConnection databaseConnection) throws SQLException {
+        this.databaseConnection = databaseConnection;
+        long before = System.nanoTime();
+        try {
+            return databaseConnection.getConnection();
+        } finally {
+            connectionNanos = System.nanoTime() - before;
+        }
+    }
+
+    /**
+     * Lease a connection with cached prepared statements, recording how long acquisition took.
+     * @param statementCache the connection source
+     * @return a lease on an open connection
+     * @throws SQLException if connection fails
+     */
+    public StatementCache.Lease connect(StatementCache statementCache) throws SQLException {
+        this.databaseConnection = statementCache.getDatabaseConnection();
+        long before = System.nanoTime();
+        try {
+            return statementCache.acquire();
+        } finally {
+            connectionNanos = System.nanoTime() - before;
+        }
+    }
+
+    /**
+     * Record the number of rows returned or affected.
+     * @param rows row count
+     */
+    public void rows(long rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void close() {
+        metrics.record(this, System.nanoTime() - startNanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.rows = Math.max(rows, 0);
+            event.connectionNanos = Math.max(connectionNanos, 0);
+            event.failed = isFailed();
+            event.commit();
+        }
+        span.tag("rows", rows).tag("connectionMs", connectionNanos / 1_000_000.0).close();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getConnectionNanos() {
+        return connectionNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isFailed() {
+        return rows < 0;
+    }
+
+    DatabaseConnection getDatabaseConnection() {
+        return databaseConnection;
+    }
+}
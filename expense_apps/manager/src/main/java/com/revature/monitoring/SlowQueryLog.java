@@ -0,0 +1,89 @@
+package com.revature.monitoring;
+
+import com.revature.repository.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of recent slow queries with their SQLite query plans.
+ * Plans are captured with EXPLAIN QUERY PLAN the first time a statement is slow and cached per SQL text.
+ */
+public class SlowQueryLog {
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private final Map<String, List<String>> planCache = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(int capacity) {
+        this.entries = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    void add(QuerySample sample, long durationNanos) {
+        List<String> plan = planCache.get(sample.getSql());
+        if (plan == null && sample.getDatabaseConnection() != null) {
+            plan = explain(sample.getDatabaseConnection(), sample.getSql());
+            planCache.putIfAbsent(sample.getSql(), plan);
+        }
+        if (plan == null) {
+            plan = List.of();
+        }
+
+        Entry entry = new Entry(Instant.now().toString(), sample.getMethod(), sample.getSql(),
+            durationNanos / 1_000_000.0, sample.getRows(), plan);
+        long slot = writeIndex.getAndIncrement();
+        entries.set((int) (slot % entries.length()), entry);
+    }
+
+    /**
+     * Recent slow queries, newest first.
+     * @return list of slow query entries
+     */
+    public List<Entry> recent() {
+        List<Entry> result = new ArrayList<>();
+        long end = writeIndex.get();
+        long start = Math.max(0, end - entries.length());
+        for (long i = end - 1; i >= start; i--) {
+            Entry entry = entries.get((int) (i % entries.length()));
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Total number of slow queries seen since startup.
+     */
+    public long getTotal() {
+        return writeIndex.get();
+    }
+
+    private static List<String> explain(DatabaseConnection databaseConnection, String sql) {
+        List<String> plan = new ArrayList<>();
+        // Unbound parameters are treated as NULL, which is enough for SQLite to choose a plan
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        } catch (SQLException e) {
+            plan.add("EXPLAIN failed: " + e.getMessage());
+        }
+        return plan;
+    }
+
+    /**
+     * A single slow query record.
+     */
+    public record Entry(String timestamp, String method, String sql, double durationMs, long rows, List<String> plan) {}
+}
@@ -0,0 +1,23 @@
+package com.revature.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the manager authentication middleware (JWT verification plus user lookup).
+ */
+@Name("com.revature.Auth")
+@Label("Manager Authentication")
+@Category({"Expense Manager", "Auth"})
+@Description("AuthenticationMiddleware.validateManager: JWT verification and user lookup")
+@StackTrace(false)
+public class AuthEvent extends jdk.jfr.Event {
+    @Label("Result")
+    public String result;
+
+    @Label("User ID")
+    public int userId;
+}
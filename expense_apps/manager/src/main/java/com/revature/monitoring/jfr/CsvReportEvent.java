@@ -0,0 +1,23 @@
+package com.revature.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for CSV report formatting.
+ */
+@Name("com.revature.CsvReport")
+@Label("CSV Report Formatting")
+@Category({"Expense Manager", "Reports"})
+@Description("ExpenseService.generateCsvReport or ParallelReportEngine.generateCsv formatting rows into CSV text")
+@StackTrace(false)
+public class CsvReportEvent extends jdk.jfr.Event {
+    @Label("Rows")
+    public int rows;
+
+    @Label("Characters")
+    public long characters;
+}
@@ -0,0 +1,114 @@
+package com.revature.monitoring.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controls a single on-demand Java Flight Recorder recording.
+ * The recording uses one of the JDK's built-in settings ("default" or "profile") with the
+ * application's custom events enabled, and keeps a bounded window of data in memory/disk.
+ */
+public class FlightRecorderService {
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+    private static final long MAX_SIZE_BYTES = 256L * 1024 * 1024;
+
+    private Recording recording;
+
+    /**
+     * Start a new recording, replacing any recording that is not running.
+     * @param settings name of the JDK settings to use: "default" (low overhead) or "profile"
+     * @return status of the started recording
+     * @throws IllegalStateException if a recording is already running
+     * @throws IllegalArgumentException if the settings name is unknown
+     */
+    public synchronized Map<String, Object> start(String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeRecording();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName("expense-manager");
+        newRecording.setMaxAge(MAX_AGE);
+        newRecording.setMaxSize(MAX_SIZE_BYTES);
+        newRecording.setToDisk(true);
+        for (Class<? extends jdk.jfr.Event> eventType : new Class[] {RequestEvent.class, AuthEvent.class,
+                QueryEvent.class, CsvReportEvent.class, JsonSerializationEvent.class}) {
+            newRecording.enable(eventType).withoutStackTrace();
+        }
+        newRecording.start();
+        recording = newRecording;
+        return status();
+    }
+
+    /**
+     * Stop the running recording. Its data stays available for {@link #dump()} until the next start.
+     * @return status of the stopped recording
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        return status();
+    }
+
+    /**
+     * Write the current recording data to a temporary .jfr file.
+     * Works for both running and stopped recordings.
+     * @return path of the dump file; the caller is responsible for deleting it
+     * @throws IllegalStateException if there is no recording to dump
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No recording to dump");
+        }
+        Path file = Files.createTempFile("expense-manager-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    /**
+     * Describe the current recording.
+     * @return map with state, settings and timing information
+     */
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("name", recording.getName());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("stopTime", String.valueOf(recording.getStopTime()));
+        status.put("maxAgeSeconds", MAX_AGE.toSeconds());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
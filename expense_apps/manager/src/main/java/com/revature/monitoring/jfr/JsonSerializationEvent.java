@@ -0,0 +1,23 @@
+package com.revature.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for serializing an API response body to JSON.
+ */
+@Name("com.revature.JsonSerialization")
+@Label("JSON Serialization")
+@Category({"Expense Manager", "HTTP"})
+@Description("Jackson serialization of an ExpenseController response")
+@StackTrace(false)
+public class JsonSerializationEvent extends jdk.jfr.Event {
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Rows")
+    public int rows;
+}
@@ -0,0 +1,31 @@
+package com.revature.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a single repository statement.
+ */
+@Name("com.revature.Query")
+@Label("Repository Query")
+@Category({"Expense Manager", "Database"})
+@Description("One repository statement including connection acquisition and row mapping")
+@StackTrace(false)
+public class QueryEvent extends jdk.jfr.Event {
+    @Label("Repository Method")
+    public String method;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Connection Acquisition")
+    @Timespan(Timespan.NANOSECONDS)
+    public long connectionNanos;
+
+    @Label("Failed")
+    public boolean failed;
+}
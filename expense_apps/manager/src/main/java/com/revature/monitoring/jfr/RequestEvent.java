@@ -0,0 +1,26 @@
+package com.revature.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a whole HTTP request.
+ */
+@Name("com.revature.Request")
+@Label("HTTP Request")
+@Category({"Expense Manager", "HTTP"})
+@Description("Handling of one HTTP request, from the first before-handler to the last after-handler")
+@StackTrace(false)
+public class RequestEvent extends jdk.jfr.Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,132 @@
+package com.revature.monitoring.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, non-blocking access log.
+ * Request threads only place a record in a lock-free {@link RingBuffer}; a daemon writer thread formats
+ * each record as a JSON line and hands it to a {@link RollingFileAppender}. If the writer falls behind and
+ * the ring fills up, records are dropped and counted rather than slowing requests down.
+ */
+public class AccessLog implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final RingBuffer<AccessLogRecord> buffer;
+    private final RollingFileAppender appender;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * Start the writer thread.
+     * @param appender destination for formatted lines, owned by the writer thread from now on
+     * @param capacity number of records that can be waiting to be written
+     */
+    public AccessLog(RollingFileAppender appender, int capacity) {
+        this.appender = appender;
+        this.buffer = new RingBuffer<>(capacity);
+        this.writer = new Thread(this::writeLoop, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a record for writing. Never blocks.
+     * @param record the access log record
+     */
+    public void log(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Records written to the file so far.
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Records discarded because the ring buffer was full.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stop the writer after it has written everything already queued.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            drain();
+        } catch (IOException e) {
+            System.err.println("Access log writer stopped: " + e.getMessage());
+        } finally {
+            try {
+                appender.close();
+            } catch (IOException e) {
+                // Nothing left to report to
+            }
+        }
+    }
+
+    private int drain() throws IOException {
+        int count = 0;
+        AccessLogRecord record;
+        while ((record = buffer.poll()) != null) {
+            appender.append(format(record));
+            count++;
+        }
+        if (count > 0) {
+            // One flush per batch keeps syscalls down under load
+            appender.flush();
+            written.add(count);
+        }
+        return count;
+    }
+
+    String format(AccessLogRecord record) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("timestamp", Instant.ofEpochMilli(record.epochMillis()).toString());
+        line.put("method", record.method());
+        line.put("route", record.route());
+        line.put("path", record.path());
+        line.put("status", record.status());
+        line.put("latencyMs", record.latencyNanos() / 1_000_000.0);
+        if (record.userId() != null) {
+            line.put("userId", record.userId());
+        } else {
+            line.putNull("userId");
+        }
+        if (record.traceId() != null) {
+            line.put("traceId", record.traceId());
+        }
+        return objectMapper.writeValueAsString(line);
+    }
+}
@@ -0,0 +1,15 @@
+package com.revature.monitoring.logging;
+
+/**
+ * One access log entry. Captured on the request thread with no formatting; the writer thread turns it into JSON.
+ * @param epochMillis request completion time
+ * @param method HTTP method
+ * @param route matched route template, or "unmatched"
+ * @param path request path as received
+ * @param status response status code
+ * @param latencyNanos request duration
+ * @param userId authenticated manager ID, or null for unauthenticated requests
+ * @param traceId request trace ID, or null when tracing is not active
+ */
+public record AccessLogRecord(long epochMillis, String method, String route, String path, int status,
+                              long latencyNanos, Integer userId, String traceId) {}
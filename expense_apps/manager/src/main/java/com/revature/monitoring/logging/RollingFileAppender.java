@@ -0,0 +1,88 @@
+package com.revature.monitoring.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends lines to a file, rolling it over once it reaches a size limit.
+ * On rollover access.log becomes access.log.1, access.log.1 becomes access.log.2, and so on;
+ * files beyond the retention count are deleted. Not thread-safe: meant to be owned by one writer thread.
+ */
+public class RollingFileAppender implements AutoCloseable {
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private BufferedWriter writer;
+    private long size;
+
+    /**
+     * @param file active log file
+     * @param maxBytes roll over once the active file reaches this size
+     * @param maxFiles number of rolled-over files to keep
+     * @throws IOException if the file cannot be opened
+     */
+    public RollingFileAppender(Path file, long maxBytes, int maxFiles) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    /**
+     * Append a line, rolling the file over first if it is full.
+     * @param line the line, without a trailing newline
+     * @throws IOException if writing fails
+     */
+    public void append(String line) throws IOException {
+        if (size >= maxBytes) {
+            rollOver();
+        }
+        writer.write(line);
+        writer.newLine();
+        // Log lines are almost always ASCII; an estimate is enough to decide when to roll
+        size += line.length() + 1;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    private void rollOver() throws IOException {
+        writer.close();
+        Files.deleteIfExists(rolled(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rolled(i))) {
+                Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,56 @@
+package com.revature.monitoring.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable state of the trace for the request currently running on a thread.
+ * Only touched by that thread, so no synchronization is needed.
+ */
+class ActiveTrace {
+    static final int MAX_SPANS = 256;
+
+    private final String traceId;
+    private final String method;
+    private final String path;
+    private final Instant startTime = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<Span> spans = new ArrayList<>();
+    private int depth;
+    private int droppedSpans;
+
+    ActiveTrace(String traceId, String method, String path) {
+        this.traceId = traceId;
+        this.method = method;
+        this.path = path;
+    }
+
+    String getTraceId() {
+        return traceId;
+    }
+
+    Span open(String name) {
+        if (spans.size() >= MAX_SPANS) {
+            droppedSpans++;
+            return Span.NOOP;
+        }
+        Span span = new Span(this, name, depth++);
+        spans.add(span);
+        return span;
+    }
+
+    void closed(Span span) {
+        depth = Math.max(0, depth - 1);
+    }
+
+    TraceRecord finish(String route, int status) {
+        long endNanos = System.nanoTime();
+        List<TraceRecord.SpanRecord> records = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            records.add(span.toRecord(startNanos, endNanos));
+        }
+        return new TraceRecord(traceId, startTime.toString(), method, path, route, status,
+            (endNanos - startNanos) / 1_000_000.0, records, droppedSpans);
+    }
+}
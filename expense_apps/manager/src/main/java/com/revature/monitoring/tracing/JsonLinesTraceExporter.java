@@ -0,0 +1,69 @@
+package com.revature.monitoring.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Appends completed traces to a file, one JSON object per line.
+ * Traces are handed to a daemon writer thread through a bounded queue; when the queue is full
+ * the trace is dropped rather than blocking the request thread.
+ */
+public class JsonLinesTraceExporter implements Consumer<TraceRecord> {
+    private static final int QUEUE_CAPACITY = 4096;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<TraceRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final Path file;
+
+    public JsonLinesTraceExporter(Path file) {
+        this.file = file;
+        Thread writer = new Thread(this::writeLoop, "trace-exporter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void accept(TraceRecord trace) {
+        if (!queue.offer(trace)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Number of traces dropped because the writer could not keep up.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void writeLoop() {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (true) {
+                TraceRecord trace = queue.take();
+                do {
+                    writer.write(objectMapper.writeValueAsString(trace));
+                    writer.newLine();
+                    trace = queue.poll();
+                } while (trace != null);
+                // Flush once the queue is drained so bursts are written in one go
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Trace export to " + file + " stopped: " + e.getMessage());
+        }
+    }
+}
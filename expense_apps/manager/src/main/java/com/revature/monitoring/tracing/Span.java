@@ -0,0 +1,55 @@
+package com.revature.monitoring.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed section of a request, opened with {@link Tracing#span(String)} and closed with try-with-resources.
+ * When no trace is active the shared no-op span is returned, so instrumented code never checks for tracing itself.
+ */
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, null, 0);
+
+    private final ActiveTrace trace;
+    private final String name;
+    private final int depth;
+    private final long startNanos = System.nanoTime();
+    private long endNanos;
+    private Map<String, Object> tags;
+
+    Span(ActiveTrace trace, String name, int depth) {
+        this.trace = trace;
+        this.name = name;
+        this.depth = depth;
+    }
+
+    /**
+     * Attach a small piece of context to the span, e.g. a row count.
+     * @param key tag name
+     * @param value tag value
+     * @return this span
+     */
+    public Span tag(String key, Object value) {
+        if (trace != null) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (trace != null && endNanos == 0) {
+            endNanos = System.nanoTime();
+            trace.closed(this);
+        }
+    }
+
+    TraceRecord.SpanRecord toRecord(long traceStartNanos, long traceEndNanos) {
+        long end = endNanos == 0 ? traceEndNanos : endNanos;
+        return new TraceRecord.SpanRecord(name, depth, (startNanos - traceStartNanos) / 1_000_000.0,
+            (end - startNanos) / 1_000_000.0, tags == null ? Map.of() : tags);
+    }
+}
@@ -0,0 +1,30 @@
+package com.revature.monitoring.tracing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A completed request trace.
+ * @param traceId trace ID, also returned to the client in the X-Trace-Id header
+ * @param timestamp request start time (ISO-8601)
+ * @param method HTTP method
+ * @param path request path as received
+ * @param route matched route template, or "unmatched"
+ * @param status response status code
+ * @param durationMs total request time
+ * @param spans spans in the order they were opened
+ * @param droppedSpans spans not recorded because the per-trace limit was reached
+ */
+public record TraceRecord(String traceId, String timestamp, String method, String path, String route, int status,
+                          double durationMs, List<SpanRecord> spans, int droppedSpans) {
+
+    /**
+     * A completed span.
+     * @param name span name, e.g. "ExpenseService.getAllExpenses"
+     * @param depth nesting level, 0 for spans opened directly under the request
+     * @param startMs offset from the start of the request
+     * @param durationMs span duration
+     * @param tags extra context such as row counts
+     */
+    public record SpanRecord(String name, int depth, double startMs, double durationMs, Map<String, Object> tags) {}
+}
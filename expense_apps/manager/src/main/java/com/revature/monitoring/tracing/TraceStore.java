@@ -0,0 +1,81 @@
+package com.revature.monitoring.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size ring of recently completed traces, with an optional exporter that sees every trace.
+ */
+public class TraceStore {
+    private final AtomicReferenceArray<TraceRecord> traces;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private final Consumer<TraceRecord> exporter;
+
+    public TraceStore(int capacity) {
+        this(capacity, trace -> { });
+    }
+
+    public TraceStore(int capacity, Consumer<TraceRecord> exporter) {
+        this.traces = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.exporter = exporter;
+    }
+
+    /**
+     * Store a completed trace, overwriting the oldest one when the ring is full.
+     * @param trace the completed trace
+     */
+    public void add(TraceRecord trace) {
+        long slot = writeIndex.getAndIncrement();
+        traces.set((int) (slot % traces.length()), trace);
+        exporter.accept(trace);
+    }
+
+    /**
+     * Recent traces matching the filters, newest first.
+     * @param limit maximum number of traces to return
+     * @param minDurationMs only traces at least this slow
+     * @param route only traces for this route template, or null for any
+     * @return matching traces
+     */
+    public List<TraceRecord> recent(int limit, double minDurationMs, String route) {
+        List<TraceRecord> result = new ArrayList<>();
+        long end = writeIndex.get();
+        long start = Math.max(0, end - traces.length());
+        for (long i = end - 1; i >= start && result.size() < limit; i--) {
+            TraceRecord trace = traces.get((int) (i % traces.length()));
+            if (trace != null && trace.durationMs() >= minDurationMs && (route == null || route.equals(trace.route()))) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Look up a trace that is still in the ring.
+     * @param traceId the trace ID
+     * @return the trace, or null if it is unknown or has been overwritten
+     */
+    public TraceRecord find(String traceId) {
+        for (int i = 0; i < traces.length(); i++) {
+            TraceRecord trace = traces.get(i);
+            if (trace != null && trace.traceId().equals(traceId)) {
+                return trace;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Total number of traces recorded since startup.
+     */
+    public long getTotal() {
+        return writeIndex.get();
+    }
+
+    public int getCapacity() {
+        return traces.length();
+    }
+}
@@ -0,0 +1,67 @@
+package com.revature.monitoring.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Entry point for request tracing.
+ * The trace for the current request is kept in a thread-local, so controllers, services and
+ * repositories can open spans without having a tracer passed through every constructor.
+ */
+public final class Tracing {
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    /**
+     * Begin a trace for the request running on this thread, replacing any trace left behind.
+     * @param traceId the trace ID
+     * @param method HTTP method
+     * @param path request path
+     */
+    public static void start(String traceId, String method, String path) {
+        CURRENT.set(new ActiveTrace(traceId, method, path));
+    }
+
+    /**
+     * Open a span under the current trace.
+     * @param name span name, conventionally "Class.method"
+     * @return the span, or a no-op span when no trace is active
+     */
+    public static Span span(String name) {
+        ActiveTrace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : trace.open(name);
+    }
+
+    /**
+     * ID of the trace active on this thread.
+     * @return the trace ID, or null when no trace is active
+     */
+    public static String currentTraceId() {
+        ActiveTrace trace = CURRENT.get();
+        return trace == null ? null : trace.getTraceId();
+    }
+
+    /**
+     * Complete the current trace and detach it from the thread.
+     * @param route matched route template
+     * @param status response status code
+     * @return the completed trace, or null when no trace is active
+     */
+    public static TraceRecord finish(String route, int status) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+        CURRENT.remove();
+        return trace.finish(route, status);
+    }
+
+    /**
+     * Generate a random 128-bit trace ID as 32 lowercase hex characters (W3C trace-context format).
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+}
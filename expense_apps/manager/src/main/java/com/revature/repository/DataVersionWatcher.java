@@ -0,0 +1,125 @@
+package com.revature.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects commits to the SQLite database made through other connections, such as the employee app.
+ * A daemon thread holds one connection open and polls {@code PRAGMA data_version}, which SQLite
+ * changes whenever another connection commits to the file, and runs a callback on every change.
+ * This app opens a connection per statement, so its own writes are reported as well.
+ */
+public class DataVersionWatcher implements AutoCloseable {
+    private final DatabaseConnection databaseConnection;
+    private final long pollMillis;
+    private final Runnable onChange;
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+    private final Thread poller;
+
+    private Connection connection;
+    private long lastVersion = -1;
+    private volatile boolean closed;
+
+    public DataVersionWatcher(DatabaseConnection databaseConnection, long pollMillis, Runnable onChange) {
+        this.databaseConnection = databaseConnection;
+        this.pollMillis = pollMillis;
+        this.onChange = onChange;
+        this.poller = new Thread(this::pollLoop, "data-version-watcher");
+        this.poller.setDaemon(true);
+    }
+
+    /**
+     * Start polling in the background.
+     * @return this watcher
+     */
+    public DataVersionWatcher start() {
+        poller.start();
+        return this;
+    }
+
+    /**
+     * Read the data version once and run the callback if it moved since the previous check.
+     * The first successful check only records the baseline.
+     * @return true if a change was detected
+     * @throws SQLException if the database cannot be read
+     */
+    public synchronized boolean check() throws SQLException {
+        if (connection == null) {
+            connection = databaseConnection.getConnection();
+        }
+        long version;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+            rs.next();
+            version = rs.getLong(1);
+        }
+        checks.incrementAndGet();
+        boolean changed = lastVersion >= 0 && version != lastVersion;
+        lastVersion = version;
+        if (changed) {
+            changes.incrementAndGet();
+            onChange.run();
+        }
+        return changed;
+    }
+
+    public long getChecks() {
+        return checks.get();
+    }
+
+    /**
+     * Number of times the database was seen to change.
+     */
+    public long getChanges() {
+        return changes.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        poller.interrupt();
+        closeConnection();
+    }
+
+    private void pollLoop() {
+        boolean failing = false;
+        while (!closed) {
+            try {
+                check();
+                failing = false;
+            } catch (SQLException e) {
+                if (!failing) {
+                    System.err.println("Data version check failed: " + e.getMessage());
+                }
+                failing = true;
+                synchronized (this) {
+                    // Writes cannot be seen while checks fail, so count each failed poll as a change
+                    // and take a fresh baseline once the connection is reopened
+                    closeConnection();
+                    lastVersion = -1;
+                    onChange.run();
+                }
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // already unusable
+            }
+            connection = null;
+        }
+    }
+}
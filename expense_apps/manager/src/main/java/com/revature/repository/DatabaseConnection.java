@@ -42,6 +42,14 @@ public class DatabaseConnection {
         this.databasePath = databasePath;
     }
     
+    /**
+     * Get the configured SQLite database file path.
+     * @return the database path
+     */
+    public String getDatabasePath() {
+        return databasePath;
+    }
+    
     /**
      * Get a database connection.
      * @return SQLite database connection
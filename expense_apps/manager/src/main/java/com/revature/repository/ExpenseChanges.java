@@ -0,0 +1,51 @@
+package com.revature.repository;
+
+import java.util.List;
+
+/**
+ * ExpenseChanges model: the expenses that changed after a change-log version.
+ * Clients apply {@code changed} and {@code deleted} to their local copy and send
+ * {@code version} as the next {@code since}.
+ */
+public class ExpenseChanges {
+    private final long version;
+    private final List<ExpenseWithUser> changed;
+    private final List<Integer> deleted;
+    private final boolean reset;
+
+    public ExpenseChanges(long version, List<ExpenseWithUser> changed, List<Integer> deleted, boolean reset) {
+        this.version = version;
+        this.changed = changed;
+        this.deleted = deleted;
+        this.reset = reset;
+    }
+
+    /**
+     * The change-log version these changes run up to.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Expenses created, updated or re-reviewed since the requested version, newest first.
+     */
+    public List<ExpenseWithUser> getChanged() {
+        return changed;
+    }
+
+    /**
+     * IDs of expenses removed since the requested version.
+     */
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * True if the requested version was unknown (e.g. ahead of the log) and the changes
+     * contain every expense, so the client should replace its copy rather than merge.
+     */
+    public boolean isReset() {
+        return reset;
+    }
+}
@@ -0,0 +1,104 @@
+package com.revature.repository;
+
+import java.util.Locale;
+
+/**
+ * Criteria for selecting expenses: any combination of employee, category text, inclusive
+ * date range and approval status. Unset criteria (null) match every expense.
+ * Categories match the same way as {@link ExpenseRepository#findExpensesByCategory(String)}:
+ * case-insensitive substring of the description.
+ * Filters that set the same criteria share a {@link #shape()}, so SQL repositories compile and
+ * prepare one statement per shape and bind the values.
+ */
+public final class ExpenseFilter {
+    public static final int EMPLOYEE = 1;
+    public static final int CATEGORY = 1 << 1;
+    public static final int START_DATE = 1 << 2;
+    public static final int END_DATE = 1 << 3;
+    public static final int STATUS = 1 << 4;
+
+    private final Integer employeeId;
+    private final String category;
+    private final String startDate;
+    private final String endDate;
+    private final String status;
+
+    public ExpenseFilter(Integer employeeId, String category, String startDate, String endDate, String status) {
+        this.employeeId = employeeId;
+        this.category = category;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * First date included, YYYY-MM-DD.
+     */
+    public String getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Last date included, YYYY-MM-DD.
+     */
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Which criteria are set, as a combination of {@link #EMPLOYEE}, {@link #CATEGORY},
+     * {@link #START_DATE}, {@link #END_DATE} and {@link #STATUS}.
+     */
+    public int shape() {
+        return (employeeId != null ? EMPLOYEE : 0)
+            | (category != null ? CATEGORY : 0)
+            | (startDate != null ? START_DATE : 0)
+            | (endDate != null ? END_DATE : 0)
+            | (status != null ? STATUS : 0);
+    }
+
+    /**
+     * Whether a joined row meets every set criterion, for repositories that filter in memory.
+     * @param row the joined row
+     * @return true if the row is selected
+     */
+    public boolean matches(ExpenseWithUser row) {
+        Expense expense = row.getExpense();
+        if (employeeId != null && expense.getUserId() != employeeId) {
+            return false;
+        }
+        if (category != null && !expense.getDescription().toLowerCase(Locale.ROOT).contains(category.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        if (startDate != null && expense.getDate().compareTo(startDate) < 0) {
+            return false;
+        }
+        if (endDate != null && expense.getDate().compareTo(endDate) > 0) {
+            return false;
+        }
+        return status == null || status.equals(row.getApproval().getStatus());
+    }
+
+    @Override
+    public String toString() {
+        return "ExpenseFilter{" +
+                "employeeId=" + employeeId +
+                ", category='" + category + '\'' +
+                ", startDate='" + startDate + '\'' +
+                ", endDate='" + endDate + '\'' +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,162 @@
+package com.revature.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A sparse fieldset for expense list queries: the flat columns a client asked for.
+ * Repositories select only these columns, so unused columns are never read, mapped or serialized.
+ */
+public final class ExpenseProjection {
+
+    /**
+     * A column that can be requested, with its JSON name, SQL expression and value in a joined row.
+     */
+    public enum Field {
+        ID("id", "e.id", Type.INTEGER, row -> row.getExpense().getId()),
+        USER_ID("userId", "e.user_id", Type.INTEGER, row -> row.getExpense().getUserId()),
+        USERNAME("username", "u.username", Type.TEXT, row -> row.getUser().getUsername()),
+        ROLE("role", "u.role", Type.TEXT, row -> row.getUser().getRole()),
+        AMOUNT("amount", "e.amount", Type.REAL, row -> row.getExpense().getAmount()),
+        DESCRIPTION("description", "e.description", Type.TEXT, row -> row.getExpense().getDescription()),
+        DATE("date", "e.date", Type.TEXT, row -> row.getExpense().getDate()),
+        APPROVAL_ID("approvalId", "a.id", Type.INTEGER, row -> row.getApproval().getId()),
+        STATUS("status", "a.status", Type.TEXT, row -> row.getApproval().getStatus()),
+        REVIEWER("reviewer", "a.reviewer", Type.NULLABLE_INTEGER, row -> row.getApproval().getReviewer()),
+        COMMENT("comment", "a.comment", Type.TEXT, row -> row.getApproval().getComment()),
+        REVIEW_DATE("reviewDate", "a.review_date", Type.TEXT, row -> row.getApproval().getReviewDate());
+
+        private final String jsonName;
+        private final String column;
+        private final Type type;
+        private final Function<ExpenseWithUser, Object> accessor;
+
+        Field(String jsonName, String column, Type type, Function<ExpenseWithUser, Object> accessor) {
+            this.jsonName = jsonName;
+            this.column = column;
+            this.type = type;
+            this.accessor = accessor;
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public Type getType() {
+            return type;
+        }
+    }
+
+    /**
+     * How a column is read from a result set.
+     */
+    public enum Type { INTEGER, NULLABLE_INTEGER, REAL, TEXT }
+
+    /**
+     * The compact list view: enough to render and act on a row.
+     */
+    public static final ExpenseProjection SUMMARY = new ExpenseProjection(
+        EnumSet.of(Field.ID, Field.USERNAME, Field.AMOUNT, Field.DATE, Field.STATUS));
+
+    private final List<Field> fields;
+
+    private ExpenseProjection(Set<Field> fields) {
+        // EnumSet iteration order keeps the SELECT list, and so the cached SQL, canonical
+        this.fields = Collections.unmodifiableList(new ArrayList<>(EnumSet.copyOf(fields)));
+    }
+
+    /**
+     * Parse a {@code fields=} parameter: comma-separated JSON field names, or {@code summary}.
+     * @param fields the parameter value
+     * @return the projection
+     * @throws IllegalArgumentException if the value is empty or names an unknown field
+     */
+    public static ExpenseProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        if (fields.trim().equals("summary")) {
+            return SUMMARY;
+        }
+        Set<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            selected.add(fieldNamed(name.trim()));
+        }
+        return new ExpenseProjection(selected);
+    }
+
+    /**
+     * The selected fields in canonical order.
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Comma-separated SQL expressions for the selected fields.
+     */
+    public String selectList() {
+        StringBuilder select = new StringBuilder();
+        for (Field field : fields) {
+            if (select.length() > 0) {
+                select.append(", ");
+            }
+            select.append(field.getColumn());
+        }
+        return select.toString();
+    }
+
+    /**
+     * Project a fully joined row, for repositories that already hold whole objects.
+     * @param row the joined row
+     * @return the selected fields keyed by JSON name
+     */
+    public Map<String, Object> project(ExpenseWithUser row) {
+        Map<String, Object> projected = new LinkedHashMap<>(fields.size() * 2);
+        for (Field field : fields) {
+            projected.put(field.getJsonName(), field.accessor.apply(row));
+        }
+        return projected;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ExpenseProjection projection && fields.equals(projection.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder names = new StringBuilder();
+        for (Field field : fields) {
+            if (names.length() > 0) {
+                names.append(',');
+            }
+            names.append(field.getJsonName());
+        }
+        return names.toString();
+    }
+
+    private static Field fieldNamed(String name) {
+        for (Field field : Field.values()) {
+            if (field.getJsonName().equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
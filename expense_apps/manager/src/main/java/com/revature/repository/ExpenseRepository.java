@@ -1,260 +1,136 @@
 package com.revature.repository;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository for expense data access operations.
- * Handles database interactions for expense management and reporting.
+ * Implementations must return expense lists ordered by date, newest first.
  */
-public class ExpenseRepository {
-    private final DatabaseConnection databaseConnection;
-    
-    public ExpenseRepository(DatabaseConnection databaseConnection) {
-        this.databaseConnection = databaseConnection;
-    }
-    
+public interface ExpenseRepository {
+
     /**
      * Find an expense by its ID.
      * @param expenseId the expense ID
      * @return Optional containing the expense if found, empty otherwise
      */
-    public Optional<Expense> findById(int expenseId) {
-        String sql = "SELECT id, user_id, amount, description, date FROM expenses WHERE id = ?";
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, expenseId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapRowToExpense(rs));
-            }
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding expense by ID: " + expenseId, e);
-        }
-        
-        return Optional.empty();
-    }
-    
+    Optional<Expense> findById(int expenseId);
+
     /**
      * Get all expenses with pending approval status along with user information.
      * @return List of ExpenseWithUser objects for pending expenses
      */
-    public List<ExpenseWithUser> findPendingExpensesWithUsers() {
-        String sql = """
-            SELECT e.id, e.user_id, e.amount, e.description, e.date,
-                   u.username, u.role,
-                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
-            FROM expenses e
-            JOIN users u ON e.user_id = u.id
-            JOIN approvals a ON e.id = a.expense_id
-            WHERE a.status = 'pending'
-            ORDER BY e.date DESC
-            """;
-        
-        List<ExpenseWithUser> results = new ArrayList<>();
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                results.add(mapRowToExpenseWithUser(rs));
-            }
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding pending expenses", e);
-        }
-        
-        return results;
-    }
-    
+    List<ExpenseWithUser> findPendingExpensesWithUsers();
+
     /**
      * Get all expenses for a specific user.
      * @param userId the user ID
      * @return List of ExpenseWithUser objects
      */
-    public List<ExpenseWithUser> findExpensesByUser(int userId) {
-        String sql = """
-            SELECT e.id, e.user_id, e.amount, e.description, e.date,
-                   u.username, u.role,
-                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
-            FROM expenses e
-            JOIN users u ON e.user_id = u.id
-            JOIN approvals a ON e.id = a.expense_id
-            WHERE e.user_id = ?
-            ORDER BY e.date DESC
-            """;
-        
-        List<ExpenseWithUser> results = new ArrayList<>();
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                results.add(mapRowToExpenseWithUser(rs));
-            }
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding expenses for user: " + userId, e);
-        }
-        
-        return results;
-    }
-    
+    List<ExpenseWithUser> findExpensesByUser(int userId);
+
     /**
      * Get expenses by date range.
      * @param startDate start date (inclusive)
      * @param endDate end date (inclusive)
      * @return List of ExpenseWithUser objects
      */
-    public List<ExpenseWithUser> findExpensesByDateRange(String startDate, String endDate) {
-        String sql = """
-            SELECT e.id, e.user_id, e.amount, e.description, e.date,
-                   u.username, u.role,
-                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
-            FROM expenses e
-            JOIN users u ON e.user_id = u.id
-            JOIN approvals a ON e.id = a.expense_id
-            WHERE e.date >= ? AND e.date <= ?
-            ORDER BY e.date DESC
-            """;
-        
-        List<ExpenseWithUser> results = new ArrayList<>();
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, startDate);
-            stmt.setString(2, endDate);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                results.add(mapRowToExpenseWithUser(rs));
-            }
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding expenses by date range: " + startDate + " to " + endDate, e);
-        }
-        
-        return results;
-    }
-    
+    List<ExpenseWithUser> findExpensesByDateRange(String startDate, String endDate);
+
+    /**
+     * Get the expenses meeting every criterion set in a filter, in one query.
+     * @param filter the selection criteria
+     * @return List of ExpenseWithUser objects, newest first
+     */
+    List<ExpenseWithUser> findExpenses(ExpenseFilter filter);
+
+    /**
+     * Count the expenses meeting a filter on each date, e.g. to split a report into similar-sized date ranges.
+     * @param filter the selection criteria
+     * @return expense count per date (YYYY-MM-DD), dates ascending
+     */
+    NavigableMap<String, Integer> countExpensesByDate(ExpenseFilter filter);
+
     /**
-     * Get expenses grouped by description (category).
+     * Count the expenses meeting a filter for each employee, e.g. to schedule one report per employee.
+     * @param filter the selection criteria
+     * @return expense count per employee ID, IDs ascending; employees without matching expenses are absent
+     */
+    NavigableMap<Integer, Integer> countExpensesByEmployee(ExpenseFilter filter);
+
+    /**
+     * Get expenses whose description contains the category text.
      * @param category the description/category to filter by
      * @return List of ExpenseWithUser objects
      */
-    public List<ExpenseWithUser> findExpensesByCategory(String category) {
-        String sql = """
-            SELECT e.id, e.user_id, e.amount, e.description, e.date,
-                   u.username, u.role,
-                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
-            FROM expenses e
-            JOIN users u ON e.user_id = u.id
-            JOIN approvals a ON e.id = a.expense_id
-            WHERE e.description LIKE ?
-            ORDER BY e.date DESC
-            """;
-        
-        List<ExpenseWithUser> results = new ArrayList<>();
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, "%" + category + "%");
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                results.add(mapRowToExpenseWithUser(rs));
-            }
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding expenses by category: " + category, e);
-        }
-        
-        return results;
-    }
-    
+    List<ExpenseWithUser> findExpensesByCategory(String category);
+
     /**
      * Get all expenses with their user and approval information.
      * @return List of all ExpenseWithUser objects
      */
-    public List<ExpenseWithUser> findAllExpensesWithUsers() {
-        String sql = """
-            SELECT e.id, e.user_id, e.amount, e.description, e.date,
-                   u.username, u.role,
-                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
-            FROM expenses e
-            JOIN users u ON e.user_id = u.id
-            JOIN approvals a ON e.id = a.expense_id
-            ORDER BY e.date DESC
-            """;
-        
-        List<ExpenseWithUser> results = new ArrayList<>();
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                results.add(mapRowToExpenseWithUser(rs));
-            }
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding all expenses", e);
-        }
-        
-        return results;
-    }
-    
-    private Expense mapRowToExpense(ResultSet rs) throws SQLException {
-        Expense expense = new Expense();
-        expense.setId(rs.getInt("id"));
-        expense.setUserId(rs.getInt("user_id"));
-        expense.setAmount(rs.getDouble("amount"));
-        expense.setDescription(rs.getString("description"));
-        expense.setDate(rs.getString("date"));
-        return expense;
-    }
-    
-    private ExpenseWithUser mapRowToExpenseWithUser(ResultSet rs) throws SQLException {
-        // Map expense
-        Expense expense = new Expense();
-        expense.setId(rs.getInt("id"));
-        expense.setUserId(rs.getInt("user_id"));
-        expense.setAmount(rs.getDouble("amount"));
-        expense.setDescription(rs.getString("description"));
-        expense.setDate(rs.getString("date"));
-        
-        // Map user
-        User user = new User();
-        user.setId(rs.getInt("user_id"));
-        user.setUsername(rs.getString("username"));
-        user.setRole(rs.getString("role"));
-        
-        // Map approval
-        Approval approval = new Approval();
-        approval.setId(rs.getInt("approval_id"));
-        approval.setExpenseId(rs.getInt("id"));
-        approval.setStatus(rs.getString("status"));
-        approval.setReviewer((Integer) rs.getObject("reviewer"));
-        approval.setComment(rs.getString("comment"));
-        approval.setReviewDate(rs.getString("review_date"));
-        
-        return new ExpenseWithUser(expense, user, approval);
-    }
-}
\ No newline at end of file
+    List<ExpenseWithUser> findAllExpensesWithUsers();
+
+    /**
+     * Get the expenses created, updated or deleted, or whose approval changed, after a change-log version.
+     * A version of 0 returns every expense.
+     * @param version the last version the caller has seen
+     * @return the changes and the version they run up to
+     */
+    ExpenseChanges findChangesSince(long version);
+
+    /**
+     * Get all expenses, reading only the projected columns.
+     * @param projection the fields to return
+     * @return rows keyed by JSON field name, newest first
+     */
+    List<Map<String, Object>> findAllExpensesProjected(ExpenseProjection projection);
+
+    /**
+     * Get pending expenses, reading only the projected columns.
+     * @param projection the fields to return
+     * @return rows keyed by JSON field name, newest first
+     */
+    List<Map<String, Object>> findPendingExpensesProjected(ExpenseProjection projection);
+
+    /**
+     * Get a user's expenses, reading only the projected columns.
+     * @param userId the user ID
+     * @param projection the fields to return
+     * @return rows keyed by JSON field name, newest first
+     */
+    List<Map<String, Object>> findExpensesByUserProjected(int userId, ExpenseProjection projection);
+
+    /**
+     * Hand every expense to a consumer as it is read, without collecting a list.
+     * @param consumer receives each row, newest first
+     * @return the number of rows
+     */
+    int streamAllExpensesWithUsers(Consumer<ExpenseWithUser> consumer);
+
+    /**
+     * Hand every pending expense to a consumer as it is read, without collecting a list.
+     * @param consumer receives each row, newest first
+     * @return the number of rows
+     */
+    int streamPendingExpensesWithUsers(Consumer<ExpenseWithUser> consumer);
+
+    /**
+     * Hand a user's expenses to a consumer as they are read, without collecting a list.
+     * @param userId the user ID
+     * @param consumer receives each row, newest first
+     * @return the number of rows
+     */
+    int streamExpensesByUser(int userId, Consumer<ExpenseWithUser> consumer);
+
+    /**
+     * Hand the expenses matching a filter to a consumer as they are read, without collecting a list.
+     * @param filter the selection criteria
+     * @param consumer receives each row, newest first
+     * @return the number of rows
+     */
+    int streamExpenses(ExpenseFilter filter, Consumer<ExpenseWithUser> consumer);
+}
@@ -0,0 +1,45 @@
+package com.revature.repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * In-memory implementation of {@link ApprovalRepository}.
+ * Status updates are applied atomically per expense on the backing {@link InMemoryDataStore}.
+ */
+public class InMemoryApprovalRepository implements ApprovalRepository {
+    private final InMemoryDataStore store;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public InMemoryApprovalRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<Approval> findByExpenseId(int expenseId) {
+        return Optional.ofNullable(store.findApproval(expenseId)).map(InMemoryDataStore::copy);
+    }
+
+    @Override
+    public boolean updateApprovalStatus(int expenseId, String status, int reviewerId, String comment) {
+        String reviewDate = LocalDateTime.now().format(DATE_FORMATTER);
+
+        Approval updated = store.replaceApproval(expenseId, approval -> {
+            approval.setStatus(status);
+            approval.setReviewer(reviewerId);
+            approval.setComment(comment);
+            approval.setReviewDate(reviewDate);
+            return approval;
+        });
+        return updated != null;
+    }
+
+    @Override
+    public Approval createApproval(int expenseId, String status) {
+        Approval approval = new Approval();
+        approval.setExpenseId(expenseId);
+        approval.setStatus(status);
+        return store.saveApproval(approval);
+    }
+}
@@ -0,0 +1,250 @@
+package com.revature.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared in-memory storage backing the in-memory repository implementations.
+ * Rows live in concurrent maps keyed by ID, with a sorted date index and a
+ * per-user index, so list queries read rows in index order without sorting them.
+ * Stored objects are copied on the way in and out so callers cannot mutate shared state.
+ * Every expense or approval write is also appended to a change log, mirroring the
+ * trigger-fed {@code expense_changes} table used with SQLite.
+ */
+public class InMemoryDataStore {
+    private final Map<Integer, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByUsername = new ConcurrentHashMap<>();
+    private final Map<Integer, Expense> expensesById = new ConcurrentHashMap<>();
+    private final Map<Integer, Approval> approvalsByExpenseId = new ConcurrentHashMap<>();
+
+    // date -> expense IDs on that date (newest ID first); date strings sort the same way SQLite compares them
+    private final ConcurrentSkipListMap<String, NavigableSet<Integer>> expensesByDate = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Set<Integer>> expensesByUser = new ConcurrentHashMap<>();
+
+    private final AtomicInteger userIds = new AtomicInteger();
+    private final AtomicInteger expenseIds = new AtomicInteger();
+    private final AtomicInteger approvalIds = new AtomicInteger();
+
+    // change version -> expense ID; versions are assigned under a lock and published through latestChange
+    private final ConcurrentSkipListMap<Long, Integer> changeLog = new ConcurrentSkipListMap<>();
+    private volatile long latestChange;
+
+    /**
+     * Insert or replace a user. An ID of 0 assigns the next available ID.
+     * @param user the user to store
+     * @return a copy of the stored user
+     */
+    public User saveUser(User user) {
+        int id = user.getId() > 0 ? user.getId() : userIds.incrementAndGet();
+        userIds.accumulateAndGet(id, Math::max);
+
+        User stored = copy(user);
+        stored.setId(id);
+        User previous = usersById.put(id, stored);
+        if (previous != null && !previous.getUsername().equals(stored.getUsername())) {
+            usersByUsername.remove(previous.getUsername(), previous);
+        }
+        usersByUsername.put(stored.getUsername(), stored);
+        return copy(stored);
+    }
+
+    /**
+     * Insert or replace an expense and update the date and user indexes.
+     * An ID of 0 assigns the next available ID.
+     * @param expense the expense to store
+     * @return a copy of the stored expense
+     */
+    public Expense saveExpense(Expense expense) {
+        int id = expense.getId() > 0 ? expense.getId() : expenseIds.incrementAndGet();
+        expenseIds.accumulateAndGet(id, Math::max);
+
+        Expense stored = copy(expense);
+        stored.setId(id);
+        Expense previous = expensesById.put(id, stored);
+        if (previous != null) {
+            unindex(previous);
+        }
+        expensesByDate.computeIfAbsent(stored.getDate(), d -> new ConcurrentSkipListSet<>(Comparator.reverseOrder())).add(id);
+        expensesByUser.computeIfAbsent(stored.getUserId(), u -> ConcurrentHashMap.newKeySet()).add(id);
+        recordChange(id);
+        return copy(stored);
+    }
+
+    /**
+     * Insert or replace the approval for an expense. An ID of 0 assigns the next available ID.
+     * @param approval the approval to store
+     * @return a copy of the stored approval
+     */
+    public Approval saveApproval(Approval approval) {
+        int id = approval.getId() > 0 ? approval.getId() : approvalIds.incrementAndGet();
+        approvalIds.accumulateAndGet(id, Math::max);
+
+        Approval stored = copy(approval);
+        stored.setId(id);
+        approvalsByExpenseId.put(stored.getExpenseId(), stored);
+        recordChange(stored.getExpenseId());
+        return copy(stored);
+    }
+
+    /**
+     * Replace the data in this store with a snapshot of a SQLite database.
+     * @param databaseConnection the database to copy from
+     */
+    public void loadFrom(DatabaseConnection databaseConnection) {
+        clear();
+        try (Connection conn = databaseConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id, username, password, role FROM users");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    saveUser(new User(rs.getInt("id"), rs.getString("username"), rs.getString("password"), rs.getString("role")));
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id, user_id, amount, description, date FROM expenses");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    saveExpense(new Expense(rs.getInt("id"), rs.getInt("user_id"), rs.getDouble("amount"),
+                            rs.getString("description"), rs.getString("date")));
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT id, expense_id, status, reviewer, comment, review_date FROM approvals");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    saveApproval(new Approval(rs.getInt("id"), rs.getInt("expense_id"), rs.getString("status"),
+                            (Integer) rs.getObject("reviewer"), rs.getString("comment"), rs.getString("review_date")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading in-memory store from database", e);
+        }
+    }
+
+    /**
+     * Remove all data from the store.
+     */
+    public void clear() {
+        usersById.clear();
+        usersByUsername.clear();
+        expensesById.clear();
+        approvalsByExpenseId.clear();
+        expensesByDate.clear();
+        expensesByUser.clear();
+        synchronized (changeLog) {
+            changeLog.clear();
+            latestChange = 0;
+        }
+        userIds.set(0);
+        expenseIds.set(0);
+        approvalIds.set(0);
+    }
+
+    User findUser(int userId) {
+        return usersById.get(userId);
+    }
+
+    User findUserByUsername(String username) {
+        return usersByUsername.get(username);
+    }
+
+    Expense findExpense(int expenseId) {
+        return expensesById.get(expenseId);
+    }
+
+    Approval findApproval(int expenseId) {
+        return approvalsByExpenseId.get(expenseId);
+    }
+
+    Set<Integer> expenseIdsForUser(int userId) {
+        return expensesByUser.getOrDefault(userId, Set.of());
+    }
+
+    /**
+     * Date index view, newest date first.
+     */
+    NavigableMap<String, NavigableSet<Integer>> expenseIdsByDateDescending() {
+        return expensesByDate.descendingMap();
+    }
+
+    /**
+     * Date index view for an inclusive range, newest date first.
+     */
+    NavigableMap<String, NavigableSet<Integer>> expenseIdsByDateDescending(String startDate, String endDate) {
+        if (startDate.compareTo(endDate) > 0) {
+            return new ConcurrentSkipListMap<>();
+        }
+        return expensesByDate.subMap(startDate, true, endDate, true).descendingMap();
+    }
+
+    /**
+     * Atomically replace the approval for an expense if one exists.
+     * @return the new approval, or null if the expense has no approval
+     */
+    Approval replaceApproval(int expenseId, UnaryOperator<Approval> update) {
+        Approval updated = approvalsByExpenseId.computeIfPresent(expenseId, (id, current) -> update.apply(copy(current)));
+        if (updated == null) {
+            return null;
+        }
+        recordChange(expenseId);
+        return copy(updated);
+    }
+
+    /**
+     * The most recent change-log version, or 0 if nothing has been written.
+     */
+    long latestChangeVersion() {
+        return latestChange;
+    }
+
+    /**
+     * Distinct IDs of expenses changed after one version, up to and including another.
+     */
+    Collection<Integer> expenseIdsChangedBetween(long afterVersion, long upToVersion) {
+        return new LinkedHashSet<>(changeLog.subMap(afterVersion, false, upToVersion, true).values());
+    }
+
+    private void recordChange(int expenseId) {
+        synchronized (changeLog) {
+            long version = latestChange + 1;
+            changeLog.put(version, expenseId);
+            latestChange = version;
+        }
+    }
+
+    private void unindex(Expense expense) {
+        NavigableSet<Integer> sameDate = expensesByDate.get(expense.getDate());
+        if (sameDate != null) {
+            sameDate.remove(expense.getId());
+        }
+        Set<Integer> sameUser = expensesByUser.get(expense.getUserId());
+        if (sameUser != null) {
+            sameUser.remove(expense.getId());
+        }
+    }
+
+    static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    static Expense copy(Expense expense) {
+        return new Expense(expense.getId(), expense.getUserId(), expense.getAmount(), expense.getDescription(), expense.getDate());
+    }
+
+    static Approval copy(Approval approval) {
+        return new Approval(approval.getId(), approval.getExpenseId(), approval.getStatus(),
+                approval.getReviewer(), approval.getComment(), approval.getReviewDate());
+    }
+}
@@ -0,0 +1,219 @@
+package com.revature.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory implementation of {@link ExpenseRepository}.
+ * Walks the sorted date index of an {@link InMemoryDataStore} so results come back
+ * newest first without a sort step, matching the SQLite ORDER BY e.date DESC.
+ */
+public class InMemoryExpenseRepository implements ExpenseRepository {
+    private static final Comparator<ExpenseWithUser> NEWEST_FIRST = Comparator
+            .comparing((ExpenseWithUser e) -> e.getExpense().getDate())
+            .thenComparingInt(e -> e.getExpense().getId())
+            .reversed();
+
+    private final InMemoryDataStore store;
+
+    public InMemoryExpenseRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<Expense> findById(int expenseId) {
+        return Optional.ofNullable(store.findExpense(expenseId)).map(InMemoryDataStore::copy);
+    }
+
+    @Override
+    public List<ExpenseWithUser> findPendingExpensesWithUsers() {
+        return collect(store.expenseIdsByDateDescending(), row -> "pending".equals(row.getApproval().getStatus()));
+    }
+
+    @Override
+    public List<ExpenseWithUser> findExpensesByUser(int userId) {
+        List<ExpenseWithUser> results = new ArrayList<>();
+        streamExpensesByUser(userId, results::add);
+        return results;
+    }
+
+    @Override
+    public List<ExpenseWithUser> findExpensesByDateRange(String startDate, String endDate) {
+        return collect(store.expenseIdsByDateDescending(startDate, endDate), row -> true);
+    }
+
+    @Override
+    public List<ExpenseWithUser> findExpensesByCategory(String category) {
+        // SQLite LIKE is case-insensitive for ASCII, so compare lower-cased text
+        String needle = category.toLowerCase(Locale.ROOT);
+        return collect(store.expenseIdsByDateDescending(),
+                row -> row.getExpense().getDescription().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Override
+    public List<ExpenseWithUser> findAllExpensesWithUsers() {
+        return collect(store.expenseIdsByDateDescending(), row -> true);
+    }
+
+    @Override
+    public int streamAllExpensesWithUsers(Consumer<ExpenseWithUser> consumer) {
+        return walk(store.expenseIdsByDateDescending(), row -> true, consumer);
+    }
+
+    @Override
+    public int streamPendingExpensesWithUsers(Consumer<ExpenseWithUser> consumer) {
+        return walk(store.expenseIdsByDateDescending(), row -> "pending".equals(row.getApproval().getStatus()), consumer);
+    }
+
+    @Override
+    public int streamExpensesByUser(int userId, Consumer<ExpenseWithUser> consumer) {
+        // Order the user's stored expenses rather than joined copies, so only references are held while rows stream
+        List<Expense> expenses = new ArrayList<>();
+        for (int expenseId : store.expenseIdsForUser(userId)) {
+            Expense expense = store.findExpense(expenseId);
+            if (expense != null) {
+                expenses.add(expense);
+            }
+        }
+        expenses.sort(Comparator.comparing(Expense::getDate).thenComparingInt(Expense::getId).reversed());
+        int rows = 0;
+        for (Expense expense : expenses) {
+            ExpenseWithUser row = join(expense.getId());
+            if (row != null) {
+                consumer.accept(row);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<ExpenseWithUser> findExpenses(ExpenseFilter filter) {
+        return collect(dateIndex(filter), filter::matches);
+    }
+
+    @Override
+    public NavigableMap<String, Integer> countExpensesByDate(ExpenseFilter filter) {
+        NavigableMap<String, Integer> counts = new TreeMap<>();
+        walk(dateIndex(filter), filter::matches, row -> counts.merge(row.getExpense().getDate(), 1, Integer::sum));
+        return counts;
+    }
+
+    @Override
+    public NavigableMap<Integer, Integer> countExpensesByEmployee(ExpenseFilter filter) {
+        NavigableMap<Integer, Integer> counts = new TreeMap<>();
+        walk(dateIndex(filter), filter::matches, row -> counts.merge(row.getExpense().getUserId(), 1, Integer::sum));
+        return counts;
+    }
+
+    @Override
+    public int streamExpenses(ExpenseFilter filter, Consumer<ExpenseWithUser> consumer) {
+        return walk(dateIndex(filter), filter::matches, consumer);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllExpensesProjected(ExpenseProjection projection) {
+        return project(findAllExpensesWithUsers(), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> findPendingExpensesProjected(ExpenseProjection projection) {
+        return project(findPendingExpensesWithUsers(), projection);
+    }
+
+    @Override
+    public List<Map<String, Object>> findExpensesByUserProjected(int userId, ExpenseProjection projection) {
+        return project(findExpensesByUser(userId), projection);
+    }
+
+    @Override
+    public ExpenseChanges findChangesSince(long version) {
+        long latest = store.latestChangeVersion();
+        boolean reset = version > latest;
+        List<ExpenseWithUser> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        for (int expenseId : store.expenseIdsChangedBetween(reset ? 0 : version, latest)) {
+            ExpenseWithUser row = join(expenseId);
+            if (row != null) {
+                changed.add(row);
+            } else {
+                deleted.add(expenseId);
+            }
+        }
+        changed.sort(NEWEST_FIRST);
+        return new ExpenseChanges(latest, changed, deleted, reset);
+    }
+
+    private static List<Map<String, Object>> project(List<ExpenseWithUser> rows, ExpenseProjection projection) {
+        List<Map<String, Object>> results = new ArrayList<>(rows.size());
+        for (ExpenseWithUser row : rows) {
+            results.add(projection.project(row));
+        }
+        return results;
+    }
+
+    private NavigableMap<String, NavigableSet<Integer>> dateIndex(ExpenseFilter filter) {
+        return filter.getStartDate() != null && filter.getEndDate() != null
+                ? store.expenseIdsByDateDescending(filter.getStartDate(), filter.getEndDate())
+                : store.expenseIdsByDateDescending();
+    }
+
+    private List<ExpenseWithUser> collect(NavigableMap<String, NavigableSet<Integer>> dateIndex, Predicate<ExpenseWithUser> filter) {
+        List<ExpenseWithUser> results = new ArrayList<>();
+        walk(dateIndex, filter, results::add);
+        return results;
+    }
+
+    /**
+     * Join and pass on each matching row while walking the date index, newest first.
+     * The index is a concurrent skip list, so the walk holds no lock and only the current row is in memory.
+     * @return the number of rows passed to the consumer
+     */
+    private int walk(NavigableMap<String, NavigableSet<Integer>> dateIndex, Predicate<ExpenseWithUser> filter,
+                     Consumer<ExpenseWithUser> consumer) {
+        int rows = 0;
+        for (NavigableSet<Integer> expenseIds : dateIndex.values()) {
+            for (int expenseId : expenseIds) {
+                ExpenseWithUser row = join(expenseId);
+                if (row != null && filter.test(row)) {
+                    consumer.accept(row);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Inner join of expense, user and approval, mirroring the SQL query.
+     * @return the joined row, or null if the user or approval is missing
+     */
+    private ExpenseWithUser join(int expenseId) {
+        Expense expense = store.findExpense(expenseId);
+        if (expense == null) {
+            return null;
+        }
+        User storedUser = store.findUser(expense.getUserId());
+        Approval approval = store.findApproval(expenseId);
+        if (storedUser == null || approval == null) {
+            return null;
+        }
+
+        // The joined user never carries the password, same as the SQL projection
+        User user = new User();
+        user.setId(storedUser.getId());
+        user.setUsername(storedUser.getUsername());
+        user.setRole(storedUser.getRole());
+
+        return new ExpenseWithUser(InMemoryDataStore.copy(expense), user, InMemoryDataStore.copy(approval));
+    }
+}
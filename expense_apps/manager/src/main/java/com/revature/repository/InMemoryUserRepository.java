@@ -0,0 +1,27 @@
+package com.revature.repository;
+
+import java.util.Optional;
+
+/**
+ * In-memory implementation of {@link UserRepository}.
+ */
+public class InMemoryUserRepository implements UserRepository {
+    private final InMemoryDataStore store;
+
+    public InMemoryUserRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<User> findById(int userId) {
+        return Optional.ofNullable(store.findUser(userId)).map(InMemoryDataStore::copy);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(store.findUserByUsername(username)).map(InMemoryDataStore::copy);
+    }
+}
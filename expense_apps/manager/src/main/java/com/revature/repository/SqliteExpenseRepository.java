@@ -0,0 +1,766 @@
+package com.revature.repository;
+
+import com.revature.monitoring.QueryMetrics;
+import com.revature.monitoring.QuerySample;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * SQLite implementation of {@link ExpenseRepository}.
+ * Handles database interactions for expense management and reporting.
+ * Change tracking reads the {@code expense_changes} table, which triggers on {@code expenses}
+ * and {@code approvals} fill for every writer, including the employee app; see {@link #installChangeLog()}.
+ */
+public class SqliteExpenseRepository implements ExpenseRepository {
+    private final DatabaseConnection databaseConnection;
+    private final QueryMetrics queryMetrics;
+    private final StatementCache statementCache;
+    // "where|projection" -> SQL, so each fieldset's statement text is built once
+    private final Map<String, String> projectedSql = new ConcurrentHashMap<>();
+    // ExpenseFilter shape -> SQL, so each combination of criteria is compiled once
+    private final Map<Integer, String> filterSql = new ConcurrentHashMap<>();
+    private final Map<Integer, String> dateCountSql = new ConcurrentHashMap<>();
+    private final Map<Integer, String> employeeCountSql = new ConcurrentHashMap<>();
+    
+    public SqliteExpenseRepository(DatabaseConnection databaseConnection) {
+        this(databaseConnection, new QueryMetrics());
+    }
+    
+    public SqliteExpenseRepository(DatabaseConnection databaseConnection, QueryMetrics queryMetrics) {
+        this(databaseConnection, queryMetrics, new StatementCache(databaseConnection));
+    }
+    
+    /**
+     * @param statementCache connections whose prepared filter statements are reused across calls
+     */
+    public SqliteExpenseRepository(DatabaseConnection databaseConnection, QueryMetrics queryMetrics,
+                                   StatementCache statementCache) {
+        this.databaseConnection = databaseConnection;
+        this.queryMetrics = queryMetrics;
+        this.statementCache = statementCache;
+    }
+    
+    /**
+     * Find an expense by its ID.
+     * @param expenseId the expense ID
+     * @return Optional containing the expense if found, empty otherwise
+     */
+    @Override
+    public Optional<Expense> findById(int expenseId) {
+        String sql = "SELECT id, user_id, amount, description, date FROM expenses WHERE id = ?";
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findById", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, expenseId);
+            ResultSet rs = stmt.executeQuery();
+            
+            if (rs.next()) {
+                sample.rows(1);
+                return Optional.of(mapRowToExpense(rs));
+            }
+            sample.rows(0);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding expense by ID: " + expenseId, e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Get all expenses with pending approval status along with user information.
+     * @return List of ExpenseWithUser objects for pending expenses
+     */
+    @Override
+    public List<ExpenseWithUser> findPendingExpensesWithUsers() {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE a.status = 'pending'
+            ORDER BY e.date DESC
+            """;
+        
+        List<ExpenseWithUser> results = new ArrayList<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findPendingExpensesWithUsers", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                results.add(mapRowToExpenseWithUser(rs));
+            }
+            sample.rows(results.size());
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding pending expenses", e);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Get all expenses for a specific user.
+     * @param userId the user ID
+     * @return List of ExpenseWithUser objects
+     */
+    @Override
+    public List<ExpenseWithUser> findExpensesByUser(int userId) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE e.user_id = ?
+            ORDER BY e.date DESC
+            """;
+        
+        List<ExpenseWithUser> results = new ArrayList<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findExpensesByUser", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                results.add(mapRowToExpenseWithUser(rs));
+            }
+            sample.rows(results.size());
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding expenses for user: " + userId, e);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Get expenses by date range.
+     * @param startDate start date (inclusive)
+     * @param endDate end date (inclusive)
+     * @return List of ExpenseWithUser objects
+     */
+    @Override
+    public List<ExpenseWithUser> findExpensesByDateRange(String startDate, String endDate) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE e.date >= ? AND e.date <= ?
+            ORDER BY e.date DESC
+            """;
+        
+        List<ExpenseWithUser> results = new ArrayList<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findExpensesByDateRange", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, startDate);
+            stmt.setString(2, endDate);
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                results.add(mapRowToExpenseWithUser(rs));
+            }
+            sample.rows(results.size());
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding expenses by date range: " + startDate + " to " + endDate, e);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Get expenses grouped by description (category).
+     * @param category the description/category to filter by
+     * @return List of ExpenseWithUser objects
+     */
+    @Override
+    public List<ExpenseWithUser> findExpensesByCategory(String category) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE e.description LIKE ?
+            ORDER BY e.date DESC
+            """;
+        
+        List<ExpenseWithUser> results = new ArrayList<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findExpensesByCategory", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, "%" + category + "%");
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                results.add(mapRowToExpenseWithUser(rs));
+            }
+            sample.rows(results.size());
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding expenses by category: " + category, e);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Get all expenses with their user and approval information.
+     * @return List of all ExpenseWithUser objects
+     */
+    @Override
+    public List<ExpenseWithUser> findAllExpensesWithUsers() {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            ORDER BY e.date DESC
+            """;
+        
+        List<ExpenseWithUser> results = new ArrayList<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findAllExpensesWithUsers", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                results.add(mapRowToExpenseWithUser(rs));
+            }
+            sample.rows(results.size());
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding all expenses", e);
+        }
+        
+        return results;
+    }
+    
+    @Override
+    public int streamAllExpensesWithUsers(Consumer<ExpenseWithUser> consumer) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            ORDER BY e.date DESC
+            """;
+        return streamRows("ExpenseRepository.streamAllExpensesWithUsers", sql, List.of(), consumer);
+    }
+    
+    @Override
+    public int streamPendingExpensesWithUsers(Consumer<ExpenseWithUser> consumer) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE a.status = 'pending'
+            ORDER BY e.date DESC
+            """;
+        return streamRows("ExpenseRepository.streamPendingExpensesWithUsers", sql, List.of(), consumer);
+    }
+    
+    @Override
+    public int streamExpensesByUser(int userId, Consumer<ExpenseWithUser> consumer) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE e.user_id = ?
+            ORDER BY e.date DESC
+            """;
+        return streamRows("ExpenseRepository.streamExpensesByUser", sql, List.of(userId), consumer);
+    }
+    
+    @Override
+    public List<ExpenseWithUser> findExpenses(ExpenseFilter filter) {
+        List<ExpenseWithUser> expenses = new ArrayList<>();
+        queryFilter("ExpenseRepository.findExpenses", filter, expenses::add);
+        return expenses;
+    }
+    
+    @Override
+    public int streamExpenses(ExpenseFilter filter, Consumer<ExpenseWithUser> consumer) {
+        return queryFilter("ExpenseRepository.streamExpenses", filter, consumer);
+    }
+    
+    /**
+     * Run a filter as one parameterized statement: the SQL is compiled once per filter shape and
+     * its prepared statement is reused from the statement cache, so only the values are bound per call.
+     */
+    private int queryFilter(String method, ExpenseFilter filter, Consumer<ExpenseWithUser> consumer) {
+        String sql = filterSql.computeIfAbsent(filter.shape(), SqliteExpenseRepository::compileFilter);
+        
+        try (QuerySample sample = queryMetrics.start(method, sql);
+             StatementCache.Lease lease = sample.connect(statementCache)) {
+            try {
+                PreparedStatement stmt = lease.prepare(sql);
+                bindFilter(stmt, filter);
+                int rows = 0;
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(mapRowToExpenseWithUser(rs));
+                        rows++;
+                    }
+                }
+                sample.rows(rows);
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                // The connection may be mid-statement or broken, so don't hand it to the next caller
+                lease.discard();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding expenses matching " + filter, e);
+        }
+    }
+    
+    @Override
+    public NavigableMap<String, Integer> countExpensesByDate(ExpenseFilter filter) {
+        String sql = dateCountSql.computeIfAbsent(filter.shape(), shape -> """
+            SELECT e.date, COUNT(*)
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            """ + filterWhere(shape) + "GROUP BY e.date\n");
+        NavigableMap<String, Integer> counts = new TreeMap<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.countExpensesByDate", sql);
+             StatementCache.Lease lease = sample.connect(statementCache)) {
+            try {
+                PreparedStatement stmt = lease.prepare(sql);
+                bindFilter(stmt, filter);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getString(1), rs.getInt(2));
+                    }
+                }
+                sample.rows(counts.size());
+                return counts;
+            } catch (SQLException | RuntimeException e) {
+                lease.discard();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting expenses by date matching " + filter, e);
+        }
+    }
+    
+    @Override
+    public NavigableMap<Integer, Integer> countExpensesByEmployee(ExpenseFilter filter) {
+        String sql = employeeCountSql.computeIfAbsent(filter.shape(), shape -> """
+            SELECT e.user_id, COUNT(*)
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            """ + filterWhere(shape) + "GROUP BY e.user_id\n");
+        NavigableMap<Integer, Integer> counts = new TreeMap<>();
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.countExpensesByEmployee", sql);
+             StatementCache.Lease lease = sample.connect(statementCache)) {
+            try {
+                PreparedStatement stmt = lease.prepare(sql);
+                bindFilter(stmt, filter);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getInt(1), rs.getInt(2));
+                    }
+                }
+                sample.rows(counts.size());
+                return counts;
+            } catch (SQLException | RuntimeException e) {
+                lease.discard();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting expenses by employee matching " + filter, e);
+        }
+    }
+    
+    /**
+     * SQL for a filter shape. Every predicate compares a bare column with a parameter, so the
+     * employee, date and status criteria can use the indexes from {@link #installFilterIndexes()};
+     * the category is a substring match and is checked on the rows those leave.
+     * @param shape combination of {@link ExpenseFilter} criteria flags
+     */
+    static String compileFilter(int shape) {
+        return """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            """
+            + filterWhere(shape)
+            + "ORDER BY e.date DESC\n";
+    }
+    
+    /**
+     * WHERE clause, with its trailing newline, for a filter shape; empty when no criteria are set.
+     */
+    private static String filterWhere(int shape) {
+        List<String> conditions = new ArrayList<>();
+        if ((shape & ExpenseFilter.EMPLOYEE) != 0) {
+            conditions.add("e.user_id = ?");
+        }
+        if ((shape & ExpenseFilter.CATEGORY) != 0) {
+            conditions.add("e.description LIKE ?");
+        }
+        if ((shape & ExpenseFilter.START_DATE) != 0) {
+            conditions.add("e.date >= ?");
+        }
+        if ((shape & ExpenseFilter.END_DATE) != 0) {
+            conditions.add("e.date <= ?");
+        }
+        if ((shape & ExpenseFilter.STATUS) != 0) {
+            conditions.add("a.status = ?");
+        }
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n";
+    }
+    
+    /**
+     * Bind a filter's values in the order {@link #compileFilter(int)} placed its parameters.
+     */
+    private static void bindFilter(PreparedStatement stmt, ExpenseFilter filter) throws SQLException {
+        int index = 1;
+        if (filter.getEmployeeId() != null) {
+            stmt.setInt(index++, filter.getEmployeeId());
+        }
+        if (filter.getCategory() != null) {
+            stmt.setString(index++, "%" + filter.getCategory() + "%");
+        }
+        if (filter.getStartDate() != null) {
+            stmt.setString(index++, filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            stmt.setString(index++, filter.getEndDate());
+        }
+        if (filter.getStatus() != null) {
+            stmt.setString(index, filter.getStatus());
+        }
+    }
+    
+    /**
+     * Map rows one at a time and pass each to the consumer while the result set is still open.
+     * The query's timing therefore includes the consumer's work, e.g. writing to the client.
+     */
+    private int streamRows(String method, String sql, List<Object> parameters, Consumer<ExpenseWithUser> consumer) {
+        try (QuerySample sample = queryMetrics.start(method, sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            ResultSet rs = stmt.executeQuery();
+            
+            int rows = 0;
+            while (rs.next()) {
+                consumer.accept(mapRowToExpenseWithUser(rs));
+                rows++;
+            }
+            sample.rows(rows);
+            return rows;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming expenses", e);
+        }
+    }
+    
+    @Override
+    public List<Map<String, Object>> findAllExpensesProjected(ExpenseProjection projection) {
+        return findProjected("ExpenseRepository.findAllExpensesProjected", projection, "", null);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findPendingExpensesProjected(ExpenseProjection projection) {
+        return findProjected("ExpenseRepository.findPendingExpensesProjected", projection, "WHERE a.status = 'pending'", null);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findExpensesByUserProjected(int userId, ExpenseProjection projection) {
+        return findProjected("ExpenseRepository.findExpensesByUserProjected", projection, "WHERE e.user_id = ?", userId);
+    }
+    
+    /**
+     * Run a list query selecting only the projected columns.
+     * The joins stay in place so the rows match the full list queries exactly.
+     */
+    private List<Map<String, Object>> findProjected(String method, ExpenseProjection projection, String where, Integer parameter) {
+        String sql = projectedSql.computeIfAbsent(where + "|" + projection, key -> """
+            SELECT %s
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            %s
+            ORDER BY e.date DESC
+            """.formatted(projection.selectList(), where));
+        List<ExpenseProjection.Field> fields = projection.getFields();
+        List<Map<String, Object>> results = new ArrayList<>();
+        
+        try (QuerySample sample = queryMetrics.start(method, sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            if (parameter != null) {
+                stmt.setInt(1, parameter);
+            }
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+                for (int i = 0; i < fields.size(); i++) {
+                    ExpenseProjection.Field field = fields.get(i);
+                    row.put(field.getJsonName(), switch (field.getType()) {
+                        case INTEGER -> rs.getInt(i + 1);
+                        case NULLABLE_INTEGER -> (Integer) rs.getObject(i + 1);
+                        case REAL -> rs.getDouble(i + 1);
+                        case TEXT -> rs.getString(i + 1);
+                    });
+                }
+                results.add(row);
+            }
+            sample.rows(results.size());
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding projected expenses (" + projection + ")", e);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Create the indexes filtered report queries rely on, if they do not exist yet:
+     * expenses by employee and date, expenses by date, and approvals by expense and by status.
+     * Without them every filter, and every join to approvals, scans the whole table.
+     */
+    public void installFilterIndexes() {
+        String[] indexes = {
+            "CREATE INDEX IF NOT EXISTS idx_expenses_user_date ON expenses (user_id, date)",
+            "CREATE INDEX IF NOT EXISTS idx_expenses_date ON expenses (date)",
+            "CREATE INDEX IF NOT EXISTS idx_approvals_expense ON approvals (expense_id)",
+            "CREATE INDEX IF NOT EXISTS idx_approvals_status ON approvals (status, expense_id)"
+        };
+        
+        try (Connection conn = databaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String index : indexes) {
+                stmt.execute(index);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error installing expense filter indexes", e);
+        }
+    }
+    
+    /**
+     * Create the expense change log and the triggers that feed it, if they do not exist yet.
+     * When the log is first created every existing expense is recorded once, so a client
+     * syncing from version 0 receives the whole table.
+     */
+    public void installChangeLog() {
+        String[] triggers = {
+            "CREATE TRIGGER IF NOT EXISTS expense_changes_expense_insert AFTER INSERT ON expenses "
+                + "BEGIN INSERT INTO expense_changes (expense_id, change) VALUES (NEW.id, 'created'); END",
+            "CREATE TRIGGER IF NOT EXISTS expense_changes_expense_update AFTER UPDATE ON expenses "
+                + "BEGIN INSERT INTO expense_changes (expense_id, change) VALUES (NEW.id, 'updated'); END",
+            "CREATE TRIGGER IF NOT EXISTS expense_changes_expense_delete AFTER DELETE ON expenses "
+                + "BEGIN INSERT INTO expense_changes (expense_id, change) VALUES (OLD.id, 'deleted'); END",
+            "CREATE TRIGGER IF NOT EXISTS expense_changes_approval_insert AFTER INSERT ON approvals "
+                + "BEGIN INSERT INTO expense_changes (expense_id, change) VALUES (NEW.expense_id, 'approval'); END",
+            "CREATE TRIGGER IF NOT EXISTS expense_changes_approval_update AFTER UPDATE ON approvals "
+                + "BEGIN INSERT INTO expense_changes (expense_id, change) VALUES (NEW.expense_id, 'approval'); END",
+            "CREATE TRIGGER IF NOT EXISTS expense_changes_approval_delete AFTER DELETE ON approvals "
+                + "BEGIN INSERT INTO expense_changes (expense_id, change) VALUES (OLD.expense_id, 'approval'); END"
+        };
+        
+        try (Connection conn = databaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean exists;
+                try (ResultSet rs = stmt.executeQuery(
+                        "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'expense_changes'")) {
+                    exists = rs.next();
+                }
+                if (!exists) {
+                    stmt.execute("""
+                        CREATE TABLE expense_changes (
+                            version INTEGER PRIMARY KEY AUTOINCREMENT,
+                            expense_id INTEGER NOT NULL,
+                            change TEXT NOT NULL,
+                            changed_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                        )
+                        """);
+                    stmt.execute("INSERT INTO expense_changes (expense_id, change) SELECT id, 'created' FROM expenses ORDER BY id");
+                }
+                for (String trigger : triggers) {
+                    stmt.execute(trigger);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error installing expense change log", e);
+        }
+    }
+    
+    /**
+     * Get the expenses created, updated or deleted, or whose approval changed, after a change-log version.
+     * All statements run in one read transaction so the rows match the returned version.
+     * @param version the last version the caller has seen
+     * @return the changes and the version they run up to
+     */
+    @Override
+    public ExpenseChanges findChangesSince(long version) {
+        String sql = """
+            SELECT e.id, e.user_id, e.amount, e.description, e.date,
+                   u.username, u.role,
+                   a.id as approval_id, a.status, a.reviewer, a.comment, a.review_date
+            FROM expenses e
+            JOIN users u ON e.user_id = u.id
+            JOIN approvals a ON e.id = a.expense_id
+            WHERE e.id IN (SELECT expense_id FROM expense_changes WHERE version > ? AND version <= ?)
+            ORDER BY e.date DESC
+            """;
+        
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findChangesSince", sql);
+             Connection conn = sample.connect(databaseConnection)) {
+            conn.setAutoCommit(false);
+            try {
+                long latest;
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT COALESCE(MAX(version), 0) FROM expense_changes");
+                     ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    latest = rs.getLong(1);
+                }
+                boolean reset = version > latest;
+                long since = reset ? 0 : version;
+                
+                Set<Integer> changedIds = new LinkedHashSet<>();
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT DISTINCT expense_id FROM expense_changes WHERE version > ? AND version <= ?")) {
+                    stmt.setLong(1, since);
+                    stmt.setLong(2, latest);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        changedIds.add(rs.getInt(1));
+                    }
+                }
+                
+                List<ExpenseWithUser> changed = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setLong(1, since);
+                    stmt.setLong(2, latest);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        ExpenseWithUser row = mapRowToExpenseWithUser(rs);
+                        changedIds.remove(row.getExpense().getId());
+                        changed.add(row);
+                    }
+                }
+                conn.commit();
+                
+                // Logged IDs that no longer join to a user and approval are gone from every list
+                List<Integer> deleted = new ArrayList<>(changedIds);
+                sample.rows(changed.size() + deleted.size());
+                return new ExpenseChanges(latest, changed, deleted, reset);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding expense changes since version: " + version, e);
+        }
+    }
+    
+    private Expense mapRowToExpense(ResultSet rs) throws SQLException {
+        Expense expense = new Expense();
+        expense.setId(rs.getInt("id"));
+        expense.setUserId(rs.getInt("user_id"));
+        expense.setAmount(rs.getDouble("amount"));
+        expense.setDescription(rs.getString("description"));
+        expense.setDate(rs.getString("date"));
+        return expense;
+    }
+    
+    private ExpenseWithUser mapRowToExpenseWithUser(ResultSet rs) throws SQLException {
+        // Map expense
+        Expense expense = new Expense();
+        expense.setId(rs.getInt("id"));
+        expense.setUserId(rs.getInt("user_id"));
+        expense.setAmount(rs.getDouble("amount"));
+        expense.setDescription(rs.getString("description"));
+        expense.setDate(rs.getString("date"));
+        
+        // Map user
+        User user = new User();
+        user.setId(rs.getInt("user_id"));
+        user.setUsername(rs.getString("username"));
+        user.setRole(rs.getString("role"));
+        
+        // Map approval
+        Approval approval = new Approval();
+        approval.setId(rs.getInt("approval_id"));
+        approval.setExpenseId(rs.getInt("id"));
+        approval.setStatus(rs.getString("status"));
+        approval.setReviewer((Integer) rs.getObject("reviewer"));
+        approval.setComment(rs.getString("comment"));
+        approval.setReviewDate(rs.getString("review_date"));
+        
+        return new ExpenseWithUser(expense, user, approval);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.revature.repository;
+
+import com.revature.monitoring.QueryMetrics;
+import com.revature.monitoring.QuerySample;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * SQLite implementation of {@link UserRepository}.
+ * Handles database interactions for user authentication and information retrieval.
+ */
+public class SqliteUserRepository implements UserRepository {
+    private final DatabaseConnection databaseConnection;
+    private final QueryMetrics queryMetrics;
+    
+    public SqliteUserRepository(DatabaseConnection databaseConnection) {
+        this(databaseConnection, new QueryMetrics());
+    }
+    
+    public SqliteUserRepository(DatabaseConnection databaseConnection, QueryMetrics queryMetrics) {
+        this.databaseConnection = databaseConnection;
+        this.queryMetrics = queryMetrics;
+    }
+    
+    /**
+     * Find a user by their ID.
+     * @param userId the user ID
+     * @return Optional containing the user if found, empty otherwise
+     */
+    @Override
+    public Optional<User> findById(int userId) {
+        String sql = "SELECT id, username, password, role FROM users WHERE id = ?";
+        
+        try (QuerySample sample = queryMetrics.start("UserRepository.findById", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            
+            if (rs.next()) {
+                User user = new User();
+                user.setId(rs.getInt("id"));
+                user.setUsername(rs.getString("username"));
+                user.setPassword(rs.getString("password"));
+                user.setRole(rs.getString("role"));
+                sample.rows(1);
+                return Optional.of(user);
+            }
+            sample.rows(0);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding user by ID: " + userId, e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Find a user by their username.
+     * @param username the username
+     * @return Optional containing the user if found, empty otherwise
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        String sql = "SELECT id, username, password, role FROM users WHERE username = ?";
+        
+        try (QuerySample sample = queryMetrics.start("UserRepository.findByUsername", sql);
+             Connection conn = sample.connect(databaseConnection);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, username);
+            ResultSet rs = stmt.executeQuery();
+            
+            if (rs.next()) {
+                User user = new User();
+                user.setId(rs.getInt("id"));
+                user.setUsername(rs.getString("username"));
+                user.setPassword(rs.getString("password"));
+                user.setRole(rs.getString("role"));
+                sample.rows(1);
+                return Optional.of(user);
+            }
+            sample.rows(0);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding user by username: " + username, e);
+        }
+        
+        return Optional.empty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.revature.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived read connections that keep their prepared statements.
+ * Repositories normally open a connection per call, which also means parsing and planning the
+ * statement every time. Leasing a connection from this cache instead reuses a statement that was
+ * prepared for the same SQL earlier, so a query shape is compiled once per connection.
+ * At most {@code idleConnections} connections are kept between leases; leases beyond that open a
+ * connection as usual and close it afterwards. Each connection keeps its most recently used
+ * statements, up to {@code statementsPerConnection}.
+ * SQLite connections in auto-commit mode see every committed write, and SQLite re-prepares a
+ * statement by itself if the schema changes, so cached statements never return stale rows.
+ */
+public class StatementCache {
+    public static final int DEFAULT_IDLE_CONNECTIONS = 4;
+    public static final int DEFAULT_STATEMENTS_PER_CONNECTION = 64;
+
+    private final DatabaseConnection databaseConnection;
+    private final int idleConnections;
+    private final int statementsPerConnection;
+    private final Deque<CachedConnection> idle = new ArrayDeque<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public StatementCache(DatabaseConnection databaseConnection) {
+        this(databaseConnection, DEFAULT_IDLE_CONNECTIONS, DEFAULT_STATEMENTS_PER_CONNECTION);
+    }
+
+    public StatementCache(DatabaseConnection databaseConnection, int idleConnections, int statementsPerConnection) {
+        this.databaseConnection = databaseConnection;
+        this.idleConnections = idleConnections;
+        this.statementsPerConnection = statementsPerConnection;
+    }
+
+    public DatabaseConnection getDatabaseConnection() {
+        return databaseConnection;
+    }
+
+    /**
+     * Borrow a connection until the lease is closed.
+     * @return a lease on an idle or newly opened connection
+     * @throws SQLException if a new connection cannot be opened
+     */
+    public Lease acquire() throws SQLException {
+        CachedConnection connection;
+        synchronized (idle) {
+            connection = idle.pollFirst();
+        }
+        return new Lease(connection != null ? connection : new CachedConnection(databaseConnection.getConnection()));
+    }
+
+    /**
+     * Statements found already prepared.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Statements that had to be prepared.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Connections currently kept between leases.
+     */
+    public int getIdleConnections() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * Close every idle connection. Leased connections are closed when their leases are.
+     */
+    public void clear() {
+        synchronized (idle) {
+            while (!idle.isEmpty()) {
+                idle.pollFirst().close();
+            }
+        }
+    }
+
+    private void release(CachedConnection connection) {
+        synchronized (idle) {
+            if (idle.size() < idleConnections) {
+                idle.addFirst(connection);
+                return;
+            }
+        }
+        connection.close();
+    }
+
+    /**
+     * A borrowed connection. Statements from {@link #prepare(String)} belong to the cache and
+     * must not be closed by the caller; their result sets must be.
+     * Call {@link #discard()} after a failure so the connection is not reused.
+     */
+    public class Lease implements AutoCloseable {
+        private final CachedConnection connection;
+        private boolean discarded;
+
+        private Lease(CachedConnection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * The cached statement for some SQL, prepared on first use, with its parameters cleared.
+         * @param sql statement text
+         * @return a statement ready for binding
+         * @throws SQLException if the statement cannot be prepared
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = connection.statements.get(sql);
+            if (statement != null) {
+                hits.incrementAndGet();
+                statement.clearParameters();
+                return statement;
+            }
+            misses.incrementAndGet();
+            statement = connection.connection.prepareStatement(sql);
+            connection.statements.put(sql, statement);
+            return statement;
+        }
+
+        /**
+         * Close the connection when the lease ends instead of keeping it.
+         */
+        public void discard() {
+            discarded = true;
+        }
+
+        @Override
+        public void close() {
+            if (discarded) {
+                connection.close();
+            } else {
+                release(connection);
+            }
+        }
+    }
+
+    private final class CachedConnection {
+        private final Connection connection;
+        // Access-ordered, so the least recently used statement is evicted and closed
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= statementsPerConnection) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+
+        private CachedConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        private void close() {
+            statements.values().forEach(StatementCache::closeQuietly);
+            statements.clear();
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // already unusable; nothing else to release
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.revature.server;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive admission control in front of the API.
+ * Tracks requests in flight against a concurrency limit that is continuously re-estimated from measured
+ * latency with a gradient algorithm: while recent latency stays close to the long-term average the limit
+ * grows by roughly sqrt(limit) per window, and when latency rises (requests start queueing for the database
+ * or CPU) the limit shrinks in proportion. Requests over the limit are shed immediately instead of being queued.
+ * <p>
+ * {@link Priority#CRITICAL} requests (login, health) are never shed; {@link Priority#SHEDDABLE} requests
+ * (reports) only get a share of the limit so they are the first to go under overload.
+ */
+public class AdmissionController {
+    public enum Priority { CRITICAL, NORMAL, SHEDDABLE }
+
+    private static final double SHEDDABLE_SHARE = 0.75;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSamples;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, LongAdder> admitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+    private volatile double limit;
+
+    // Sample window and long-term RTT; guarded by this
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private double longRttNanos;
+
+    /**
+     * @param initialLimit starting concurrency limit
+     * @param minLimit the limit never drops below this
+     * @param maxLimit the limit never grows above this
+     * @param windowSamples completed requests averaged per limit update
+     */
+    public AdmissionController(int initialLimit, int minLimit, int maxLimit, int windowSamples) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.windowSamples = Math.max(1, windowSamples);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        for (Priority priority : Priority.values()) {
+            admitted.put(priority, new LongAdder());
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Priority of a request: login, auth status and health are critical, reports and exports are sheddable.
+     * @param path request path
+     * @return the request priority
+     */
+    public static Priority priorityOf(String path) {
+        if (path.startsWith("/api/auth/") || path.equals("/health")) {
+            return Priority.CRITICAL;
+        }
+        if (path.startsWith("/api/reports/") || path.startsWith("/api/exports/")) {
+            return Priority.SHEDDABLE;
+        }
+        return Priority.NORMAL;
+    }
+
+    /**
+     * Admit or shed a request. Never blocks.
+     * Every admitted request must be paired with {@link #release(long, boolean)}.
+     * @param priority request priority
+     * @return true if admitted
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (priority == Priority.CRITICAL) {
+            inFlight.incrementAndGet();
+            admitted.get(priority).increment();
+            return true;
+        }
+        int cap = (int) (priority == Priority.SHEDDABLE ? Math.max(1, limit * SHEDDABLE_SHARE) : limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                shed.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.get(priority).increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request.
+     * @param latencyNanos how long the request took
+     * @param sample whether the latency reflects real work; failed or rejected requests should not move the limit
+     */
+    public void release(long latencyNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(latencyNanos, current);
+        }
+    }
+
+    synchronized void onSample(long latencyNanos, int inFlightAtCompletion) {
+        windowRttSum += latencyNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (windowCount < windowSamples) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+        // After a long overload the long-term average lags far behind; let it recover quickly
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+        // Only grow the limit if the current one is actually being used; rising latency shrinks it regardless
+        if (maxInFlight < limit / 2) {
+            smoothed = Math.min(limit, smoothed);
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAdmitted(Priority priority) {
+        return admitted.get(priority).sum();
+    }
+
+    public long getShed(Priority priority) {
+        return shed.get(priority).sum();
+    }
+}
@@ -0,0 +1,60 @@
+package com.revature.server;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route-class concurrency isolation.
+ * Reports, reads and writes each get their own {@link ConcurrencyLimiter}, so a burst of full-history
+ * CSV reports can only fill the report bulkhead and approvals keep their own slots.
+ */
+public class Bulkheads {
+    public static final String REPORTS = "reports";
+    public static final String READS = "reads";
+    public static final String WRITES = "writes";
+
+    private final Map<String, ConcurrencyLimiter> limiters = new LinkedHashMap<>();
+
+    /**
+     * @param reports limiter for /api/reports/... and /api/exports/...
+     * @param reads limiter for GET /api/expenses...
+     * @param writes limiter for other /api/expenses... methods (approve, deny)
+     */
+    public Bulkheads(ConcurrencyLimiter reports, ConcurrencyLimiter reads, ConcurrencyLimiter writes) {
+        limiters.put(REPORTS, reports);
+        limiters.put(READS, reads);
+        limiters.put(WRITES, writes);
+    }
+
+    /**
+     * Route class of a request.
+     * @param method HTTP method
+     * @param path request path
+     * @return {@link #REPORTS}, {@link #READS}, {@link #WRITES}, or null for routes outside any bulkhead
+     */
+    public static String classify(String method, String path) {
+        if (path.startsWith("/api/reports/") || path.startsWith("/api/exports/")) {
+            return REPORTS;
+        }
+        if (path.equals("/api/expenses") || path.startsWith("/api/expenses/")) {
+            return "GET".equals(method) || "HEAD".equals(method) ? READS : WRITES;
+        }
+        return null;
+    }
+
+    /**
+     * Limiter for a request.
+     * @param method HTTP method
+     * @param path request path
+     * @return the bulkhead's limiter, or null if the request is not isolated
+     */
+    public ConcurrencyLimiter forRequest(String method, String path) {
+        String routeClass = classify(method, path);
+        return routeClass == null ? null : limiters.get(routeClass);
+    }
+
+    public Collection<ConcurrencyLimiter> all() {
+        return limiters.values();
+    }
+}
@@ -0,0 +1,100 @@
+package com.revature.server;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many requests execute at once, with a bounded wait queue in front.
+ * A request that finds every slot taken waits up to the queue timeout; if the queue is already full,
+ * or the timeout passes, it is rejected so the caller can answer 503 instead of piling up work.
+ * Waiting blocks the calling thread, which is cheap when requests run on virtual threads.
+ */
+public class ConcurrencyLimiter {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name limiter name used in metrics
+     * @param maxConcurrent requests allowed to execute at once
+     * @param maxQueued requests allowed to wait for a slot
+     * @param queueTimeoutMillis maximum time to wait for a slot
+     */
+    public ConcurrencyLimiter(String name, int maxConcurrent, int maxQueued, long queueTimeoutMillis) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, queueTimeoutMillis));
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Take an execution slot, waiting in the queue if necessary.
+     * Every successful call must be paired with {@link #release()}.
+     * @return true if a slot was acquired, false if the request should be rejected
+     */
+    public boolean tryAcquire() {
+        if (queued.get() == 0 && permits.tryAcquire()) {
+            admitted.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                admitted.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queued.decrementAndGet();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Give back a slot taken by {@link #tryAcquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
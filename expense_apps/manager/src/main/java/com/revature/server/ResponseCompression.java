@@ -0,0 +1,48 @@
+package com.revature.server;
+
+import io.javalin.compression.Brotli;
+import io.javalin.compression.CompressionStrategy;
+import io.javalin.compression.Gzip;
+
+/**
+ * Builds the Javalin compression strategy for API and report responses.
+ */
+public final class ResponseCompression {
+
+    private ResponseCompression() {
+    }
+
+    /**
+     * Create the compression strategy. Javalin picks the encoding from the request's Accept-Encoding
+     * and leaves bodies below the threshold uncompressed, where the framing overhead outweighs the saving.
+     * @param mode "auto" (brotli and gzip when the native brotli4j library is on the classpath, otherwise gzip),
+     *             "gzip" or "off"
+     * @param minBytes smallest body that is compressed
+     * @return the strategy to install with config.http.customCompression
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    public static CompressionStrategy create(String mode, int minBytes) {
+        CompressionStrategy strategy = switch (mode.toLowerCase()) {
+            case "off" -> CompressionStrategy.NONE;
+            case "gzip" -> new CompressionStrategy(null, new Gzip());
+            case "auto" -> isBrotliAvailable()
+                ? new CompressionStrategy(new Brotli(), new Gzip())
+                : new CompressionStrategy(null, new Gzip());
+            default -> throw new IllegalArgumentException("Unknown response compression mode: " + mode);
+        };
+        strategy.setDefaultMinSizeForCompression(minBytes);
+        return strategy;
+    }
+
+    /**
+     * Whether Javalin's brotli compressor can be used.
+     */
+    public static boolean isBrotliAvailable() {
+        try {
+            Class.forName("com.aayushatharva.brotli4j.Brotli4jLoader");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.revature.server;
+
+/**
+ * Request-execution settings for the embedded Jetty server.
+ * @param threadMode "platform" to run handlers on Jetty's bounded thread pool, or "virtual" to run each
+ *                   blocking handler on its own virtual thread
+ * @param minThreads minimum platform threads kept in the pool
+ * @param maxThreads maximum platform threads; in virtual mode these only run selectors and acceptors
+ * @param maxConcurrentRequests API requests allowed to execute at once, 0 for no limit
+ * @param maxQueuedRequests API requests allowed to wait for a slot before being rejected with 503
+ * @param queueTimeoutMillis how long a queued request waits for a slot before being rejected with 503
+ */
+public record ServerSettings(String threadMode, int minThreads, int maxThreads, int maxConcurrentRequests,
+                             int maxQueuedRequests, long queueTimeoutMillis) {
+
+    public boolean isVirtual() {
+        return "virtual".equalsIgnoreCase(threadMode);
+    }
+}
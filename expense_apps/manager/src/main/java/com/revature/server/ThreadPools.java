@@ -0,0 +1,33 @@
+package com.revature.server;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Builds the Jetty thread pool for a {@link ServerSettings}.
+ */
+public final class ThreadPools {
+
+    private ThreadPools() {
+    }
+
+    /**
+     * Create the server thread pool.
+     * In virtual mode Jetty keeps a small platform pool for its selectors and acceptors and hands every
+     * blocking request (all of our handlers do JDBC) to a new virtual thread, so slow requests no longer
+     * hold one of a fixed number of platform threads.
+     * @param settings server settings
+     * @return the thread pool to install as config.jetty.threadPool
+     */
+    public static ThreadPool create(ServerSettings settings) {
+        QueuedThreadPool pool = new QueuedThreadPool(settings.maxThreads(), settings.minThreads());
+        pool.setName("jetty-" + (settings.isVirtual() ? "virtual" : "platform"));
+        if (settings.isVirtual()) {
+            pool.setVirtualThreadsExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("request-", 0).factory()));
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,170 @@
+package com.revature.service;
+
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.Tracing;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseRepository;
+import com.revature.repository.ExpenseWithUser;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a ZIP of per-employee CSV reports, one entry per employee with matching expenses.
+ * Each employee's report is queried and formatted as a task on a fixed pool, largest first so the
+ * long reports don't finish last; entries are written in the order the tasks complete, while the
+ * others are still running. At most twice the pool size of reports are submitted ahead of the writer,
+ * so a slow client holds back the queries instead of letting finished reports pile up in memory.
+ * Only those in-flight reports are held; the archive itself is streamed.
+ * The ZIP's central directory is written only after every entry, so a bundle cut short by a failed
+ * report is an unreadable archive rather than one that silently lacks employees.
+ */
+public class EmployeeReportBundler {
+    private final ExpenseRepository expenseRepository;
+    private final ExecutorService pool;
+    private final int parallelism;
+    private final AtomicLong bundles = new AtomicLong();
+    private final AtomicLong employeeReports = new AtomicLong();
+
+    public EmployeeReportBundler(ExpenseRepository expenseRepository, int parallelism) {
+        this(expenseRepository, Executors.newFixedThreadPool(parallelism,
+            Thread.ofPlatform().name("report-bundle-", 0).daemon(true).factory()), parallelism);
+    }
+
+    /**
+     * @param expenseRepository source of the rows and per-employee counts
+     * @param pool runs the per-employee report tasks
+     * @param parallelism the pool's size; bounds the reports in flight per bundle
+     */
+    public EmployeeReportBundler(ExpenseRepository expenseRepository, ExecutorService pool, int parallelism) {
+        this.expenseRepository = expenseRepository;
+        this.pool = pool;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Write the bundle for the expenses matching a filter.
+     * @param filter the selection; each entry narrows it to one employee
+     * @param out destination for the ZIP; left open
+     * @return the number of employee reports written
+     * @throws IOException if a report fails or the ZIP cannot be written
+     */
+    public int writeZip(ExpenseFilter filter, OutputStream out) throws IOException {
+        try (Span span = Tracing.span("EmployeeReportBundler.writeZip")) {
+            NavigableMap<Integer, Integer> counts = expenseRepository.countExpensesByEmployee(filter);
+            List<Integer> employees = new ArrayList<>(counts.keySet());
+            employees.sort(Comparator.comparing(counts::get, Comparator.reverseOrder()));
+            span.tag("employees", employees.size());
+
+            CompletionService<EmployeeReport> completed = new ExecutorCompletionService<>(pool);
+            List<Future<EmployeeReport>> tasks = new ArrayList<>(employees.size());
+            int window = parallelism * 2;
+            UnfinishedZipOutputStream zip = new UnfinishedZipOutputStream(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            });
+            boolean complete = false;
+            try {
+                while (tasks.size() < employees.size() && tasks.size() < window) {
+                    int employeeId = employees.get(tasks.size());
+                    tasks.add(completed.submit(() -> render(filter, employeeId)));
+                }
+                for (int written = 0; written < employees.size(); written++) {
+                    EmployeeReport report = completed.take().get();
+                    if (tasks.size() < employees.size()) {
+                        int employeeId = employees.get(tasks.size());
+                        tasks.add(completed.submit(() -> render(filter, employeeId)));
+                    }
+                    zip.putNextEntry(new ZipEntry("employee_" + report.employeeId() + "_expenses_report.csv"));
+                    zip.write(report.csv());
+                    zip.closeEntry();
+                    employeeReports.incrementAndGet();
+                }
+                // Writes the central directory; not reached on failure, which leaves the archive unterminated
+                zip.close();
+                complete = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while bundling employee reports");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IOException("Employee report failed", e.getCause());
+            } finally {
+                if (!complete) {
+                    // Free the deflater's native memory now rather than at GC, still without a central directory
+                    zip.release();
+                }
+                // The bundle has finished or failed; don't leave queued reports holding connections
+                tasks.forEach(task -> task.cancel(false));
+            }
+            bundles.incrementAndGet();
+            return employees.size();
+        }
+    }
+
+    /**
+     * Bundles written completely.
+     */
+    public long getBundles() {
+        return bundles.get();
+    }
+
+    /**
+     * Employee reports written into bundles.
+     */
+    public long getEmployeeReports() {
+        return employeeReports.get();
+    }
+
+    private EmployeeReport render(ExpenseFilter filter, int employeeId) {
+        List<ExpenseWithUser> rows = expenseRepository.findExpenses(new ExpenseFilter(employeeId, filter.getCategory(),
+            filter.getStartDate(), filter.getEndDate(), filter.getStatus()));
+        StringBuilder csv = new StringBuilder(ExpenseService.CSV_HEADER.length() + rows.size() * 96)
+            .append(ExpenseService.CSV_HEADER);
+        for (ExpenseWithUser row : rows) {
+            ExpenseService.appendCsvRow(csv, row);
+        }
+        return new EmployeeReport(employeeId, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record EmployeeReport(int employeeId, byte[] csv) {
+    }
+
+    /**
+     * A ZIP stream whose deflater can be released without writing the central directory.
+     */
+    private static final class UnfinishedZipOutputStream extends ZipOutputStream {
+        UnfinishedZipOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        void release() {
+            def.end();
+        }
+    }
+}
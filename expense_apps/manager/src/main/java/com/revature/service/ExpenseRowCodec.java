@@ -0,0 +1,89 @@
+package com.revature.service;
+
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Run file format for report rows spilled by {@link ExternalSorter}.
+ * Writes the fields the report query fills in; the user's password is never written to disk.
+ * Strings are length-prefixed UTF-8, with a length of -1 for null.
+ */
+final class ExpenseRowCodec implements ExternalSorter.Codec<ExpenseWithUser> {
+    static final ExpenseRowCodec INSTANCE = new ExpenseRowCodec();
+
+    private ExpenseRowCodec() {
+    }
+
+    @Override
+    public void write(DataOutputStream out, ExpenseWithUser row) throws IOException {
+        Expense expense = row.getExpense();
+        out.writeInt(expense.getId());
+        out.writeInt(expense.getUserId());
+        out.writeDouble(expense.getAmount());
+        writeString(out, expense.getDescription());
+        writeString(out, expense.getDate());
+
+        User user = row.getUser();
+        out.writeInt(user.getId());
+        writeString(out, user.getUsername());
+        writeString(out, user.getRole());
+
+        Approval approval = row.getApproval();
+        out.writeInt(approval.getId());
+        out.writeInt(approval.getExpenseId());
+        writeString(out, approval.getStatus());
+        out.writeBoolean(approval.getReviewer() != null);
+        if (approval.getReviewer() != null) {
+            out.writeInt(approval.getReviewer());
+        }
+        writeString(out, approval.getComment());
+        writeString(out, approval.getReviewDate());
+    }
+
+    @Override
+    public ExpenseWithUser read(DataInputStream in) throws IOException {
+        Expense expense = new Expense(in.readInt(), in.readInt(), in.readDouble(), readString(in), readString(in));
+
+        User user = new User();
+        user.setId(in.readInt());
+        user.setUsername(readString(in));
+        user.setRole(readString(in));
+
+        Approval approval = new Approval();
+        approval.setId(in.readInt());
+        approval.setExpenseId(in.readInt());
+        approval.setStatus(readString(in));
+        approval.setReviewer(in.readBoolean() ? in.readInt() : null);
+        approval.setComment(readString(in));
+        approval.setReviewDate(readString(in));
+
+        return new ExpenseWithUser(expense, user, approval);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
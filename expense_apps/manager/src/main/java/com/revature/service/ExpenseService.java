@@ -1,25 +1,92 @@
 package com.revature.service;
 
+import com.revature.monitoring.jfr.CsvReportEvent;
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.Tracing;
 import com.revature.repository.ApprovalRepository;
+import com.revature.repository.ExpenseChanges;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseProjection;
 import com.revature.repository.ExpenseRepository;
 import com.revature.repository.ExpenseWithUser;
 import com.revature.repository.User;
 
-import java.io.StringWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Service for expense management business logic.
  * Handles expense approvals, reporting, and related operations.
+ * Concurrent identical list queries share one repository call through a {@link SingleFlight};
+ * keys include the data generation, so a read that starts after an approval never joins a pre-approval query.
+ * Sorted file reports go through an {@link ExternalSorter}, which holds at most {@link #setSortMemoryRows} rows
+ * in memory and spills the rest to disk.
  */
 public class ExpenseService {
+    static final String CSV_HEADER = "Expense ID,Employee,Amount,Description,Date,Status,Reviewer,Comment,Review Date\n";
+    public static final int DEFAULT_SORT_MEMORY_ROWS = 100_000;
+    
     private final ExpenseRepository expenseRepository;
     private final ApprovalRepository approvalRepository;
+    private final SingleFlight<String, List<ExpenseWithUser>> readFlights;
+    private volatile int sortMemoryRows = DEFAULT_SORT_MEMORY_ROWS;
+    private final AtomicLong dataGeneration = new AtomicLong();
+    private final AtomicLong sortSpilledRuns = new AtomicLong();
     
     public ExpenseService(ExpenseRepository expenseRepository, ApprovalRepository approvalRepository) {
+        this(expenseRepository, approvalRepository, new SingleFlight<>("reads"));
+    }
+    
+    public ExpenseService(ExpenseRepository expenseRepository, ApprovalRepository approvalRepository,
+                          SingleFlight<String, List<ExpenseWithUser>> readFlights) {
         this.expenseRepository = expenseRepository;
         this.approvalRepository = approvalRepository;
+        // constructor injection in tests may pass null for the flight group
+        this.readFlights = readFlights != null ? readFlights : new SingleFlight<>("reads");
+    }
+    
+    /**
+     * Set how many rows a sorted report holds in memory before spilling sorted runs to disk.
+     * A setter rather than a constructor argument, so mock injection still finds a constructor it can fill.
+     * @param sortMemoryRows the row budget, at least 1
+     */
+    public void setSortMemoryRows(int sortMemoryRows) {
+        this.sortMemoryRows = Math.max(1, sortMemoryRows);
+    }
+    
+    /**
+     * Counter advanced by every successful approval or denial made through this service
+     * and by every write detected outside it.
+     * @return the current data generation
+     */
+    public long getDataGeneration() {
+        return dataGeneration.get();
+    }
+    
+    /**
+     * Record a write made outside this service, such as a commit by the employee app.
+     * @return the new data generation
+     */
+    public long advanceDataGeneration() {
+        return dataGeneration.incrementAndGet();
+    }
+    
+    /**
+     * Runs spilled to disk by sorted reports.
+     */
+    public long getSortSpilledRuns() {
+        return sortSpilledRuns.get();
     }
     
     /**
@@ -27,7 +94,9 @@ public class ExpenseService {
      * @return List of pending expenses with user information
      */
     public List<ExpenseWithUser> getPendingExpenses() {
-        return expenseRepository.findPendingExpensesWithUsers();
+        try (Span span = Tracing.span("ExpenseService.getPendingExpenses")) {
+            return readFlights.execute(flightKey("pending"), expenseRepository::findPendingExpensesWithUsers);
+        }
     }
     
     /**
@@ -38,7 +107,9 @@ public class ExpenseService {
      * @return true if approval was successful
      */
     public boolean approveExpense(int expenseId, int managerId, String comment) {
-        return approvalRepository.updateApprovalStatus(expenseId, "approved", managerId, comment);
+        try (Span span = Tracing.span("ExpenseService.approveExpense")) {
+            return advanceGenerationIf(approvalRepository.updateApprovalStatus(expenseId, "approved", managerId, comment));
+        }
     }
     
     /**
@@ -49,7 +120,9 @@ public class ExpenseService {
      * @return true if denial was successful
      */
     public boolean denyExpense(int expenseId, int managerId, String comment) {
-        return approvalRepository.updateApprovalStatus(expenseId, "denied", managerId, comment);
+        try (Span span = Tracing.span("ExpenseService.denyExpense")) {
+            return advanceGenerationIf(approvalRepository.updateApprovalStatus(expenseId, "denied", managerId, comment));
+        }
     }
     
     /**
@@ -58,7 +131,10 @@ public class ExpenseService {
      * @return List of expenses for the employee
      */
     public List<ExpenseWithUser> getExpensesByEmployee(int employeeId) {
-        return expenseRepository.findExpensesByUser(employeeId);
+        try (Span span = Tracing.span("ExpenseService.getExpensesByEmployee")) {
+            return readFlights.execute(flightKey("employee", String.valueOf(employeeId)),
+                () -> expenseRepository.findExpensesByUser(employeeId));
+        }
     }
     
     /**
@@ -67,7 +143,10 @@ public class ExpenseService {
      * @return List of expenses matching the category
      */
     public List<ExpenseWithUser> getExpensesByCategory(String category) {
-        return expenseRepository.findExpensesByCategory(category);
+        try (Span span = Tracing.span("ExpenseService.getExpensesByCategory")) {
+            return readFlights.execute(flightKey("category", asciiLowerCase(category)),
+                () -> expenseRepository.findExpensesByCategory(category));
+        }
     }
     
     /**
@@ -77,7 +156,29 @@ public class ExpenseService {
      * @return List of expenses within the date range
      */
     public List<ExpenseWithUser> getExpensesByDateRange(String startDate, String endDate) {
-        return expenseRepository.findExpensesByDateRange(startDate, endDate);
+        try (Span span = Tracing.span("ExpenseService.getExpensesByDateRange")) {
+            return readFlights.execute(flightKey("daterange", startDate, endDate),
+                () -> expenseRepository.findExpensesByDateRange(startDate, endDate));
+        }
+    }
+    
+    /**
+     * Get the expenses meeting every criterion set in a filter, read with a single query.
+     * @param filter the selection criteria; unset criteria match everything
+     * @return List of matching expenses, newest first
+     */
+    public List<ExpenseWithUser> searchExpenses(ExpenseFilter filter) {
+        try (Span span = Tracing.span("ExpenseService.searchExpenses")) {
+            // Unset criteria key as empty strings; the API rejects empty values, and the key parts are
+            // length-prefixed, so a value containing the separator cannot stand in for another criterion
+            return readFlights.execute(flightKey("search",
+                    filter.getEmployeeId() == null ? "" : String.valueOf(filter.getEmployeeId()),
+                    filter.getCategory() == null ? "" : asciiLowerCase(filter.getCategory()),
+                    Objects.toString(filter.getStartDate(), ""),
+                    Objects.toString(filter.getEndDate(), ""),
+                    Objects.toString(filter.getStatus(), "")),
+                () -> expenseRepository.findExpenses(filter));
+        }
     }
     
     /**
@@ -85,7 +186,227 @@ public class ExpenseService {
      * @return List of all expenses with user information
      */
     public List<ExpenseWithUser> getAllExpenses() {
-        return expenseRepository.findAllExpensesWithUsers();
+        try (Span span = Tracing.span("ExpenseService.getAllExpenses")) {
+            return readFlights.execute(flightKey("all"), expenseRepository::findAllExpensesWithUsers);
+        }
+    }
+    
+    /**
+     * Pass all expenses to a consumer as they are read from the repository.
+     * Streamed reads are not coalesced, since each caller consumes its own rows.
+     * @param consumer receives each expense, newest first
+     * @return the number of expenses
+     */
+    public int streamAllExpenses(Consumer<ExpenseWithUser> consumer) {
+        try (Span span = Tracing.span("ExpenseService.streamAllExpenses")) {
+            return expenseRepository.streamAllExpensesWithUsers(consumer);
+        }
+    }
+    
+    /**
+     * Pass pending expenses to a consumer as they are read from the repository.
+     * @param consumer receives each expense, newest first
+     * @return the number of expenses
+     */
+    public int streamPendingExpenses(Consumer<ExpenseWithUser> consumer) {
+        try (Span span = Tracing.span("ExpenseService.streamPendingExpenses")) {
+            return expenseRepository.streamPendingExpensesWithUsers(consumer);
+        }
+    }
+    
+    /**
+     * Pass an employee's expenses to a consumer as they are read from the repository.
+     * @param employeeId the employee's user ID
+     * @param consumer receives each expense, newest first
+     * @return the number of expenses
+     */
+    public int streamExpensesByEmployee(int employeeId, Consumer<ExpenseWithUser> consumer) {
+        try (Span span = Tracing.span("ExpenseService.streamExpensesByEmployee")) {
+            return expenseRepository.streamExpensesByUser(employeeId, consumer);
+        }
+    }
+    
+    /**
+     * Pass the expenses matching a filter to a consumer as they are read from the repository.
+     * @param filter the selection criteria
+     * @param consumer receives each expense, newest first
+     * @return the number of expenses
+     */
+    public int streamExpenses(ExpenseFilter filter, Consumer<ExpenseWithUser> consumer) {
+        try (Span span = Tracing.span("ExpenseService.streamExpenses")) {
+            return expenseRepository.streamExpenses(filter, consumer);
+        }
+    }
+    
+    /**
+     * Get all expenses, returning only the projected fields.
+     * @param projection the fields to return
+     * @return flat rows keyed by field name
+     */
+    public List<Map<String, Object>> getAllExpenses(ExpenseProjection projection) {
+        try (Span span = Tracing.span("ExpenseService.getAllExpenses")) {
+            return expenseRepository.findAllExpensesProjected(projection);
+        }
+    }
+    
+    /**
+     * Get pending expenses, returning only the projected fields.
+     * @param projection the fields to return
+     * @return flat rows keyed by field name
+     */
+    public List<Map<String, Object>> getPendingExpenses(ExpenseProjection projection) {
+        try (Span span = Tracing.span("ExpenseService.getPendingExpenses")) {
+            return expenseRepository.findPendingExpensesProjected(projection);
+        }
+    }
+    
+    /**
+     * Get expenses for a specific employee, returning only the projected fields.
+     * @param employeeId the employee's user ID
+     * @param projection the fields to return
+     * @return flat rows keyed by field name
+     */
+    public List<Map<String, Object>> getExpensesByEmployee(int employeeId, ExpenseProjection projection) {
+        try (Span span = Tracing.span("ExpenseService.getExpensesByEmployee")) {
+            return expenseRepository.findExpensesByUserProjected(employeeId, projection);
+        }
+    }
+    
+    /**
+     * Get the expenses that changed after a change-log version, for clients keeping a local copy in sync.
+     * @param version the last version the client has seen, or 0 for everything
+     * @return the changed and deleted expenses and the version to ask from next
+     */
+    public ExpenseChanges getChangesSince(long version) {
+        try (Span span = Tracing.span("ExpenseService.getChangesSince")) {
+            return expenseRepository.findChangesSince(version);
+        }
+    }
+    
+    /**
+     * Write the expenses matching a filter as a Parquet file, streaming rows from the repository
+     * so that only one row group is held in memory.
+     * @param filter the selection criteria
+     * @param out destination for the file; left open
+     * @return the number of expenses written
+     * @throws IOException if the file cannot be written
+     */
+    public long writeParquetReport(ExpenseFilter filter, OutputStream out) throws IOException {
+        return writeParquetReport(filter, null, out);
+    }
+    
+    /**
+     * Write the expenses matching a filter as a Parquet file in a given order.
+     * @param filter the selection criteria
+     * @param sort row order, or null for newest first
+     * @param out destination for the file; left open
+     * @return the number of expenses written
+     * @throws IOException if the file cannot be written
+     */
+    public long writeParquetReport(ExpenseFilter filter, ReportSort sort, OutputStream out) throws IOException {
+        try (Span span = Tracing.span("ExpenseService.writeParquetReport");
+             ParquetExpenseWriter writer = new ParquetExpenseWriter(out)) {
+            streamInto(filter, sort, writer::write);
+            span.tag("rows", writer.getRows());
+            return writer.getRows();
+        }
+    }
+    
+    /**
+     * Write the expenses matching a filter as an XLSX workbook, streaming rows from the repository
+     * so that only one window of rows is held in memory.
+     * @param filter the selection criteria
+     * @param out destination for the file; left open
+     * @return the number of expenses written
+     * @throws IOException if the file cannot be written or has too many rows for a sheet
+     */
+    public long writeXlsxReport(ExpenseFilter filter, OutputStream out) throws IOException {
+        return writeXlsxReport(filter, null, out);
+    }
+    
+    /**
+     * Write the expenses matching a filter as an XLSX workbook in a given order.
+     * @param filter the selection criteria
+     * @param sort row order, or null for newest first
+     * @param out destination for the file; left open
+     * @return the number of expenses written
+     * @throws IOException if the file cannot be written or has too many rows for a sheet
+     */
+    public long writeXlsxReport(ExpenseFilter filter, ReportSort sort, OutputStream out) throws IOException {
+        try (Span span = Tracing.span("ExpenseService.writeXlsxReport");
+             XlsxExpenseWriter writer = new XlsxExpenseWriter(out)) {
+            streamInto(filter, sort, writer::write);
+            span.tag("rows", writer.getRows());
+            return writer.getRows();
+        }
+    }
+    
+    /**
+     * Write the CSV report of the expenses matching a filter in a given order, streaming rows
+     * instead of building the report in memory.
+     * @param filter the selection criteria
+     * @param sort row order, or null for newest first
+     * @param out destination for the report; flushed and left open
+     * @return the number of expenses written
+     * @throws IOException if the report cannot be written
+     */
+    public long writeCsvReport(ExpenseFilter filter, ReportSort sort, OutputStream out) throws IOException {
+        try (Span span = Tracing.span("ExpenseService.writeCsvReport")) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            StringBuilder line = new StringBuilder(128);
+            long[] rows = new long[1];
+            streamInto(filter, sort, row -> {
+                line.setLength(0);
+                appendCsvRow(line, row);
+                writer.append(line);
+                rows[0]++;
+            });
+            writer.flush();
+            span.tag("rows", rows[0]);
+            return rows[0];
+        }
+    }
+    
+    /**
+     * Stream matching rows into a file writer, rethrowing its I/O failures as checked exceptions.
+     * With a sort, rows pass through an {@link ExternalSorter} first.
+     */
+    private void streamInto(ExpenseFilter filter, ReportSort sort, RowWriter writer) throws IOException {
+        if (sort == null) {
+            streamInto(filter, writer);
+            return;
+        }
+        try (Span span = Tracing.span("ExpenseService.sortReport").tag("sort", sort.toString());
+             ExternalSorter<ExpenseWithUser> sorter =
+                 new ExternalSorter<>(sort.comparator(), ExpenseRowCodec.INSTANCE, sortMemoryRows)) {
+            try {
+                streamInto(filter, sorter::add);
+                sorter.forEachSorted(writer::write);
+            } finally {
+                sortSpilledRuns.addAndGet(sorter.getSpilledRuns());
+                span.tag("rows", sorter.getRows()).tag("spilledRuns", sorter.getSpilledRuns());
+            }
+        }
+    }
+    
+    private void streamInto(ExpenseFilter filter, RowWriter writer) throws IOException {
+        try {
+            expenseRepository.streamExpenses(filter, row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ExpenseWithUser row) throws IOException;
     }
     
     /**
@@ -94,44 +415,112 @@ public class ExpenseService {
      * @return CSV string representation of the expenses
      */
     public String generateCsvReport(List<ExpenseWithUser> expenses) {
-        StringWriter csvWriter = new StringWriter();
-        
-        // CSV Header
-        csvWriter.append("Expense ID,Employee,Amount,Description,Date,Status,Reviewer,Comment,Review Date\n");
-        
-        // CSV Data
-        for (ExpenseWithUser expenseWithUser : expenses) {
-            csvWriter.append(String.valueOf(expenseWithUser.getExpense().getId())).append(",");
-            csvWriter.append(escapeCsvValue(expenseWithUser.getUser().getUsername())).append(",");
-            csvWriter.append(String.valueOf(expenseWithUser.getExpense().getAmount())).append(",");
-            csvWriter.append(escapeCsvValue(expenseWithUser.getExpense().getDescription())).append(",");
-            csvWriter.append(expenseWithUser.getExpense().getDate()).append(",");
-            csvWriter.append(expenseWithUser.getApproval().getStatus()).append(",");
-            
-            // Reviewer (might be null for pending expenses)
-            Integer reviewerId = expenseWithUser.getApproval().getReviewer();
-            if (reviewerId != null) {
-                csvWriter.append(String.valueOf(reviewerId));
+        try (Span span = Tracing.span("ExpenseService.generateCsvReport")) {
+            span.tag("rows", expenses.size());
+            CsvReportEvent event = new CsvReportEvent();
+            event.begin();
+            String csv = null;
+            try {
+                StringBuilder csvWriter = new StringBuilder();
+                
+                // CSV Header
+                csvWriter.append(CSV_HEADER);
+                
+                // CSV Data
+                for (ExpenseWithUser expenseWithUser : expenses) {
+                    appendCsvRow(csvWriter, expenseWithUser);
+                }
+                
+                csv = csvWriter.toString();
+                return csv;
+            } finally {
+                // Committed on failure too, with the characters left at 0
+                event.end();
+                if (event.shouldCommit()) {
+                    event.rows = expenses.size();
+                    event.characters = csv == null ? 0 : csv.length();
+                    event.commit();
+                }
             }
-            csvWriter.append(",");
-            
-            // Comment (might be null)
-            String comment = expenseWithUser.getApproval().getComment();
-            if (comment != null) {
-                csvWriter.append(escapeCsvValue(comment));
+        }
+    }
+    
+    /**
+     * Single-flight key for a query: data generation plus the normalized query parameters.
+     * Each parameter is length-prefixed (null keys as {@code -}), so values containing the separator can't collide.
+     * @param query query name
+     * @param parameters normalized parameters
+     * @return the key
+     */
+    public String flightKey(String query, String... parameters) {
+        StringBuilder key = new StringBuilder().append(dataGeneration.get()).append('|').append(query);
+        for (String parameter : parameters) {
+            if (parameter == null) {
+                key.append("|-");
+            } else {
+                key.append('|').append(parameter.length()).append(':').append(parameter);
             }
-            csvWriter.append(",");
-            
-            // Review Date (might be null for pending expenses)
-            String reviewDate = expenseWithUser.getApproval().getReviewDate();
-            if (reviewDate != null) {
-                csvWriter.append(reviewDate);
+        }
+        return key.toString();
+    }
+    
+    private boolean advanceGenerationIf(boolean updated) {
+        if (updated) {
+            dataGeneration.incrementAndGet();
+        }
+        return updated;
+    }
+    
+    /**
+     * Lower-case ASCII letters only, matching how SQLite's LIKE compares text.
+     */
+    private static String asciiLowerCase(String value) {
+        if (value == null) {
+            return null;
+        }
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
             }
-            
-            csvWriter.append("\n");
+        }
+        return new String(chars);
+    }
+    
+    /**
+     * Append one expense as a CSV line, in {@link #CSV_HEADER} column order.
+     * @param csvWriter the report being built
+     * @param expenseWithUser the expense row
+     */
+    static void appendCsvRow(StringBuilder csvWriter, ExpenseWithUser expenseWithUser) {
+        csvWriter.append(expenseWithUser.getExpense().getId()).append(",");
+        csvWriter.append(escapeCsvValue(expenseWithUser.getUser().getUsername())).append(",");
+        csvWriter.append(expenseWithUser.getExpense().getAmount()).append(",");
+        csvWriter.append(escapeCsvValue(expenseWithUser.getExpense().getDescription())).append(",");
+        csvWriter.append(expenseWithUser.getExpense().getDate()).append(",");
+        csvWriter.append(expenseWithUser.getApproval().getStatus()).append(",");
+        
+        // Reviewer (might be null for pending expenses)
+        Integer reviewerId = expenseWithUser.getApproval().getReviewer();
+        if (reviewerId != null) {
+            csvWriter.append(reviewerId.intValue());
+        }
+        csvWriter.append(",");
+        
+        // Comment (might be null)
+        String comment = expenseWithUser.getApproval().getComment();
+        if (comment != null) {
+            csvWriter.append(escapeCsvValue(comment));
+        }
+        csvWriter.append(",");
+        
+        // Review Date (might be null for pending expenses)
+        String reviewDate = expenseWithUser.getApproval().getReviewDate();
+        if (reviewDate != null) {
+            csvWriter.append(reviewDate);
         }
         
-        return csvWriter.toString();
+        csvWriter.append("\n");
     }
     
     /**
@@ -139,7 +528,7 @@ public class ExpenseService {
      * @param value the value to escape
      * @return escaped CSV value
      */
-    private String escapeCsvValue(String value) {
+    private static String escapeCsvValue(String value) {
         if (value == null) {
             return "";
         }
@@ -0,0 +1,262 @@
+package com.revature.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts a stream of rows with bounded memory.
+ * Rows are buffered up to {@code maxRowsInMemory}; if the input fits, it is sorted in memory.
+ * Otherwise each full buffer is sorted and spilled to a temp file as a run, and the runs are
+ * merged with a priority queue holding one row per run, so the output is streamed and memory stays
+ * at one buffer plus one row and one read buffer per run. At most {@link #MAX_MERGE_WIDTH} runs are
+ * merged at once; beyond that runs are merged level by level, each group of that many consecutive
+ * runs into one, until a single merge can take them all.
+ * The sort is stable: rows that compare equal come out in the order they were added.
+ * @param <T> row type
+ */
+public class ExternalSorter<T> implements Closeable {
+    public static final int MAX_MERGE_WIDTH = 64;
+    private static final int IO_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * Writes rows to run files and reads them back.
+     */
+    public interface Codec<T> {
+        void write(DataOutputStream out, T row) throws IOException;
+
+        T read(DataInputStream in) throws IOException;
+    }
+
+    /**
+     * Receives sorted rows.
+     */
+    @FunctionalInterface
+    public interface Sink<T> {
+        void accept(T row) throws IOException;
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Codec<T> codec;
+    private final int maxRowsInMemory;
+    private final Path tempDirectory;
+    private final List<T> buffer = new ArrayList<>();
+    private final List<Run> runs = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+    private long rows;
+    private int spilledRuns;
+
+    public ExternalSorter(Comparator<? super T> comparator, Codec<T> codec, int maxRowsInMemory) {
+        this(comparator, codec, maxRowsInMemory, null);
+    }
+
+    /**
+     * @param comparator row order
+     * @param codec run file format
+     * @param maxRowsInMemory rows buffered before a run is spilled
+     * @param tempDirectory where runs are written, or null for the default temp directory
+     */
+    public ExternalSorter(Comparator<? super T> comparator, Codec<T> codec, int maxRowsInMemory, Path tempDirectory) {
+        if (maxRowsInMemory <= 0) {
+            throw new IllegalArgumentException("maxRowsInMemory must be positive");
+        }
+        this.comparator = comparator;
+        this.codec = codec;
+        this.maxRowsInMemory = maxRowsInMemory;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Add a row, spilling the buffer as a sorted run if it is full.
+     * @param row the row
+     * @throws IOException if a run cannot be written
+     */
+    public void add(T row) throws IOException {
+        buffer.add(row);
+        rows++;
+        if (buffer.size() >= maxRowsInMemory) {
+            runs.add(spill(buffer));
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Pass every added row to a sink in sorted order. Call once, after the last {@link #add}.
+     * @param sink receives the rows
+     * @throws IOException if a run cannot be read or written, or the sink fails
+     */
+    public void forEachSorted(Sink<? super T> sink) throws IOException {
+        if (runs.isEmpty()) {
+            buffer.sort(comparator);
+            for (T row : buffer) {
+                sink.accept(row);
+            }
+            return;
+        }
+        if (!buffer.isEmpty()) {
+            runs.add(spill(buffer));
+            buffer.clear();
+        }
+        while (runs.size() > MAX_MERGE_WIDTH) {
+            // Merge one level: each group of consecutive runs becomes one run in its place, which
+            // keeps the sort stable and reads every row once per level
+            List<Run> level = new ArrayList<>();
+            for (int start = 0; start < runs.size(); start += MAX_MERGE_WIDTH) {
+                List<Run> group = runs.subList(start, Math.min(start + MAX_MERGE_WIDTH, runs.size()));
+                level.add(group.size() == 1 ? group.get(0) : mergeIntoRun(group));
+            }
+            runs.clear();
+            runs.addAll(level);
+        }
+        merge(runs, sink);
+    }
+
+    /**
+     * Rows added so far.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Runs written to disk, counting runs created by intermediate merges.
+     */
+    public int getSpilledRuns() {
+        return spilledRuns;
+    }
+
+    /**
+     * Delete the run files.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.clear();
+        IOException failure = null;
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        files.clear();
+        runs.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Run mergeIntoRun(List<Run> sources) throws IOException {
+        Run merged = newRun();
+        try (DataOutputStream out = output(merged)) {
+            merge(sources, row -> {
+                codec.write(out, row);
+                merged.rows++;
+            });
+        }
+        for (Run run : sources) {
+            Files.deleteIfExists(run.path);
+            files.remove(run.path);
+        }
+        return merged;
+    }
+
+    private Run spill(List<T> rows) throws IOException {
+        rows.sort(comparator);
+        Run run = newRun();
+        try (DataOutputStream out = output(run)) {
+            for (T row : rows) {
+                codec.write(out, row);
+            }
+        }
+        run.rows = rows.size();
+        return run;
+    }
+
+    private Run newRun() throws IOException {
+        Path path = tempDirectory == null
+            ? Files.createTempFile("expense-sort-", ".run")
+            : Files.createTempFile(tempDirectory, "expense-sort-", ".run");
+        // Tracked before it is written, so close() deletes it even if writing fails
+        files.add(path);
+        spilledRuns++;
+        return new Run(path);
+    }
+
+    private DataOutputStream output(Run run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.path), IO_BUFFER_BYTES));
+    }
+
+    /**
+     * K-way merge: repeatedly emit the smallest head row, ties going to the earlier run.
+     */
+    private void merge(List<Run> sources, Sink<? super T> sink) throws IOException {
+        List<RunReader> readers = new ArrayList<>(sources.size());
+        try {
+            PriorityQueue<RunReader> heads = new PriorityQueue<>(sources.size(),
+                (a, b) -> {
+                    int order = comparator.compare(a.head, b.head);
+                    return order != 0 ? order : Integer.compare(a.index, b.index);
+                });
+            for (int i = 0; i < sources.size(); i++) {
+                RunReader reader = new RunReader(sources.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                sink.accept(reader.head);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+        }
+    }
+
+    private static final class Run {
+        private final Path path;
+        private long rows;
+
+        private Run(Path path) {
+            this.path = path;
+        }
+    }
+
+    private final class RunReader {
+        private final DataInputStream in;
+        private final int index;
+        private long remaining;
+        private T head;
+
+        private RunReader(Run run, int index) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.path), IO_BUFFER_BYTES));
+            this.index = index;
+            this.remaining = run.rows;
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            remaining--;
+            head = codec.read(in);
+            return true;
+        }
+    }
+}
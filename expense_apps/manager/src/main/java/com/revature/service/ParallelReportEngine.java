@@ -0,0 +1,229 @@
+package com.revature.service;
+
+import com.revature.monitoring.jfr.CsvReportEvent;
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.Tracing;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseRepository;
+import com.revature.repository.ExpenseWithUser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds CSV reports by splitting them into date partitions that are queried and formatted in parallel.
+ * A per-date count of the matching rows picks partition boundaries that give each partition about
+ * the same number of rows. Each partition is one task on a dedicated fork-join pool: it runs the
+ * report's filter narrowed to its dates on its own connection and formats its rows into a chunk.
+ * Partitions are newest first and never share a date, so joining the chunks in partition order
+ * gives the same ORDER BY date DESC as a single query.
+ * Reports that are small by their filter alone, one employee's or a date range shorter than
+ * {@code minPartitionDays}, are built with a single query on the calling thread without counting first;
+ * counted reports smaller than two partitions' worth of rows are also built on the calling thread.
+ * Both paths record the same {@link CsvReportEvent} as {@link ExpenseService#generateCsvReport(List)}.
+ * Partitions are separate reads: a write committed while a report is built may appear in one
+ * partition's rows and not another's, and rows on a date first added by that write can be missed.
+ */
+public class ParallelReportEngine {
+    public static final int DEFAULT_MIN_PARTITION_ROWS = 5_000;
+    public static final int DEFAULT_MIN_PARTITION_DAYS = 31;
+
+    private final ExpenseRepository expenseRepository;
+    private final ForkJoinPool pool;
+    private final int minPartitionRows;
+    private final int minPartitionDays;
+    private final AtomicLong parallelReports = new AtomicLong();
+    private final AtomicLong partitionsRun = new AtomicLong();
+
+    public ParallelReportEngine(ExpenseRepository expenseRepository, int parallelism) {
+        this(expenseRepository, new ForkJoinPool(parallelism), DEFAULT_MIN_PARTITION_ROWS);
+    }
+
+    /**
+     * @param expenseRepository source of the rows and date counts
+     * @param pool runs the partition tasks; its parallelism is the most partitions a report is split into
+     * @param minPartitionRows fewest rows worth a partition of their own
+     */
+    public ParallelReportEngine(ExpenseRepository expenseRepository, ForkJoinPool pool, int minPartitionRows) {
+        this(expenseRepository, pool, minPartitionRows, DEFAULT_MIN_PARTITION_DAYS);
+    }
+
+    /**
+     * @param expenseRepository source of the rows and date counts
+     * @param pool runs the partition tasks; its parallelism is the most partitions a report is split into
+     * @param minPartitionRows fewest rows worth a partition of their own
+     * @param minPartitionDays shortest date range worth counting for partitions
+     */
+    public ParallelReportEngine(ExpenseRepository expenseRepository, ForkJoinPool pool, int minPartitionRows,
+                                int minPartitionDays) {
+        this.expenseRepository = expenseRepository;
+        this.pool = pool;
+        this.minPartitionRows = Math.max(1, minPartitionRows);
+        this.minPartitionDays = Math.max(1, minPartitionDays);
+    }
+
+    /**
+     * Generate the CSV report of the expenses matching a filter, newest first.
+     * @param filter the report's selection
+     * @return the same CSV as {@link ExpenseService#generateCsvReport(List)} over the same rows
+     */
+    public String generateCsv(ExpenseFilter filter) {
+        try (Span span = Tracing.span("ParallelReportEngine.generateCsv")) {
+            CsvReportEvent event = new CsvReportEvent();
+            event.begin();
+            int rows = 0;
+            String csv = null;
+            try {
+                List<Chunk> chunks = new ArrayList<>();
+                if (!worthCounting(filter)) {
+                    span.tag("partitions", 1);
+                    chunks.add(formatChunk(filter));
+                } else {
+                    NavigableMap<String, Integer> counts = expenseRepository.countExpensesByDate(filter);
+                    List<ExpenseFilter> partitions = partition(filter, counts, pool.getParallelism(), minPartitionRows);
+                    span.tag("partitions", partitions.size());
+                    if (partitions.size() == 1) {
+                        chunks.add(formatChunk(partitions.get(0)));
+                    } else {
+                        chunks.addAll(formatInParallel(partitions));
+                    }
+                }
+
+                int length = ExpenseService.CSV_HEADER.length();
+                for (Chunk chunk : chunks) {
+                    length += chunk.csv().length();
+                    rows += chunk.rows();
+                }
+                StringBuilder csvWriter = new StringBuilder(length).append(ExpenseService.CSV_HEADER);
+                for (Chunk chunk : chunks) {
+                    csvWriter.append(chunk.csv());
+                }
+                csv = csvWriter.toString();
+                span.tag("rows", rows);
+                return csv;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.rows = rows;
+                    event.characters = csv == null ? 0 : csv.length();
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports split across more than one partition.
+     */
+    public long getParallelReports() {
+        return parallelReports.get();
+    }
+
+    /**
+     * Partitions queried by parallel reports.
+     */
+    public long getPartitionsRun() {
+        return partitionsRun.get();
+    }
+
+    /**
+     * Whether a report could be large enough to partition. One employee's expenses, or a date range
+     * shorter than {@code minPartitionDays}, are left to a single query rather than paying for a count first.
+     */
+    boolean worthCounting(ExpenseFilter filter) {
+        if (filter.getEmployeeId() != null) {
+            return false;
+        }
+        if (filter.getStartDate() == null || filter.getEndDate() == null) {
+            return true;
+        }
+        try {
+            long days = ChronoUnit.DAYS.between(LocalDate.parse(filter.getStartDate()), LocalDate.parse(filter.getEndDate()));
+            return days + 1 >= minPartitionDays;
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    private List<Chunk> formatInParallel(List<ExpenseFilter> partitions) {
+        parallelReports.incrementAndGet();
+        partitionsRun.addAndGet(partitions.size());
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(partitions.size());
+        for (ExpenseFilter partition : partitions) {
+            tasks.add(pool.submit(() -> formatChunk(partition)));
+        }
+        List<Chunk> chunks = new ArrayList<>(partitions.size());
+        try {
+            for (ForkJoinTask<Chunk> task : tasks) {
+                chunks.add(task.join());
+            }
+        } catch (RuntimeException e) {
+            // The report has failed; don't leave the other partitions holding connections
+            tasks.forEach(task -> task.cancel(false));
+            throw e;
+        }
+        return chunks;
+    }
+
+    private Chunk formatChunk(ExpenseFilter partition) {
+        List<ExpenseWithUser> rows = expenseRepository.findExpenses(partition);
+        StringBuilder chunk = new StringBuilder(rows.size() * 96);
+        for (ExpenseWithUser row : rows) {
+            ExpenseService.appendCsvRow(chunk, row);
+        }
+        return new Chunk(chunk, rows.size());
+    }
+
+    /**
+     * Split a filter into newest-first date partitions of roughly equal row counts.
+     * The first partition keeps the filter's end date and the last its start date, so rows outside
+     * the counted dates still fall into a partition; every other boundary is a counted date.
+     * @param filter the report's selection
+     * @param counts matching rows per date, ascending
+     * @param maxPartitions most partitions to create
+     * @param minPartitionRows fewest rows worth a partition of their own
+     * @return filters covering the report, newest dates first
+     */
+    static List<ExpenseFilter> partition(ExpenseFilter filter, NavigableMap<String, Integer> counts,
+                                         int maxPartitions, int minPartitionRows) {
+        long total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        int partitions = (int) Math.min(Math.min(maxPartitions, counts.size()), total / minPartitionRows);
+        if (partitions <= 1) {
+            return List.of(filter);
+        }
+
+        long target = (total + partitions - 1) / partitions;
+        List<ExpenseFilter> result = new ArrayList<>(partitions);
+        String newest = filter.getEndDate();
+        long rows = 0;
+        for (Map.Entry<String, Integer> day : counts.descendingMap().entrySet()) {
+            rows += day.getValue();
+            String older = counts.lowerKey(day.getKey());
+            if (rows >= target && older != null && result.size() < partitions - 1) {
+                result.add(withDates(filter, day.getKey(), newest));
+                newest = older;
+                rows = 0;
+            }
+        }
+        result.add(withDates(filter, filter.getStartDate(), newest));
+        return result;
+    }
+
+    private static ExpenseFilter withDates(ExpenseFilter filter, String startDate, String endDate) {
+        return new ExpenseFilter(filter.getEmployeeId(), filter.getCategory(), startDate, endDate, filter.getStatus());
+    }
+
+    private record Chunk(StringBuilder csv, int rows) {
+    }
+}
@@ -0,0 +1,437 @@
+package com.revature.service;
+
+import com.revature.repository.ExpenseWithUser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes expense report rows as an uncompressed Parquet file.
+ * Rows are buffered one row group at a time and each group is written as one page per column,
+ * so memory is bounded by the row group size however many rows the report has.
+ * Columns are typed: int IDs, the amount as a DECIMAL(18,2) long of cents, the date as a DATE,
+ * and username and status dictionary-encoded, since both repeat across almost every row.
+ * The file is written sequentially, so the output need not be seekable; callers spool it to a
+ * temp file when they need its length before sending it.
+ */
+public class ParquetExpenseWriter implements Closeable {
+    public static final int DEFAULT_ROW_GROUP_ROWS = 50_000;
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    // Parquet enum values from parquet.thrift
+    private static final int INT32 = 1;
+    private static final int INT64 = 2;
+    private static final int BYTE_ARRAY = 6;
+    private static final int REQUIRED = 0;
+    private static final int OPTIONAL = 1;
+    private static final int PLAIN = 0;
+    private static final int PLAIN_DICTIONARY = 2;
+    private static final int RLE = 3;
+    private static final int DATA_PAGE = 0;
+    private static final int DICTIONARY_PAGE = 2;
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_DECIMAL = 5;
+    private static final int CONVERTED_DATE = 6;
+
+    private final CountingOutputStream out;
+    private final int rowGroupRows;
+    private final Column expenseId = new Column("expense_id", INT32, false, Logical.NONE, false);
+    private final Column employeeId = new Column("employee_id", INT32, false, Logical.NONE, false);
+    private final Column username = new Column("username", BYTE_ARRAY, true, Logical.STRING, true);
+    private final Column amount = new Column("amount", INT64, true, Logical.CENTS, false);
+    private final Column description = new Column("description", BYTE_ARRAY, true, Logical.STRING, false);
+    private final Column date = new Column("date", INT32, true, Logical.DATE, false);
+    private final Column status = new Column("status", BYTE_ARRAY, true, Logical.STRING, true);
+    private final Column reviewer = new Column("reviewer", INT32, true, Logical.NONE, false);
+    private final Column comment = new Column("comment", BYTE_ARRAY, true, Logical.STRING, false);
+    private final Column reviewDate = new Column("review_date", BYTE_ARRAY, true, Logical.STRING, false);
+    private final List<Column> columns = List.of(expenseId, employeeId, username, amount, description,
+        date, status, reviewer, comment, reviewDate);
+    private final List<byte[]> rowGroups = new ArrayList<>();
+    private int bufferedRows;
+    private long rows;
+    private boolean closed;
+
+    public ParquetExpenseWriter(OutputStream out) throws IOException {
+        this(out, DEFAULT_ROW_GROUP_ROWS);
+    }
+
+    /**
+     * @param out destination; not closed by {@link #close()}
+     * @param rowGroupRows rows buffered before a row group is written
+     * @throws IOException if the header cannot be written
+     */
+    public ParquetExpenseWriter(OutputStream out, int rowGroupRows) throws IOException {
+        if (rowGroupRows <= 0) {
+            throw new IllegalArgumentException("rowGroupRows must be positive");
+        }
+        this.out = new CountingOutputStream(out);
+        this.rowGroupRows = rowGroupRows;
+        this.out.write(MAGIC);
+    }
+
+    /**
+     * Add a row, writing a row group if the buffer is full.
+     * @param row the joined expense row
+     * @throws IOException if a row group cannot be written
+     */
+    public void write(ExpenseWithUser row) throws IOException {
+        expenseId.addInt(row.getExpense().getId());
+        employeeId.addInt(row.getExpense().getUserId());
+        username.addString(row.getUser().getUsername());
+        Long cents = cents(row.getExpense().getAmount());
+        if (cents == null) {
+            amount.addNull();
+        } else {
+            amount.addLong(cents);
+        }
+        description.addString(row.getExpense().getDescription());
+        Integer epochDay = epochDay(row.getExpense().getDate());
+        if (epochDay == null) {
+            date.addNull();
+        } else {
+            date.addInt(epochDay);
+        }
+        status.addString(row.getApproval().getStatus());
+        if (row.getApproval().getReviewer() == null) {
+            reviewer.addNull();
+        } else {
+            reviewer.addInt(row.getApproval().getReviewer());
+        }
+        comment.addString(row.getApproval().getComment());
+        reviewDate.addString(row.getApproval().getReviewDate());
+        rows++;
+        if (++bufferedRows == rowGroupRows) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Number of rows written so far.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Write the last row group and the footer, and flush. The underlying stream is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (bufferedRows > 0) {
+            writeRowGroup();
+        }
+        byte[] footer = fileMetaData();
+        out.write(footer);
+        out.write(littleEndianInt(footer.length));
+        out.write(MAGIC);
+        out.flush();
+    }
+
+    private void writeRowGroup() throws IOException {
+        long start = out.count;
+        List<byte[]> chunks = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            chunks.add(column.writeChunk(out, bufferedRows));
+        }
+        ThriftCompactWriter rowGroup = new ThriftCompactWriter().beginElement();
+        rowGroup.structList(1, chunks.size());
+        for (byte[] chunk : chunks) {
+            rowGroup.raw(chunk);
+        }
+        rowGroup.i64(2, out.count - start)
+            .i64(3, bufferedRows)
+            .endStruct();
+        rowGroups.add(rowGroup.toByteArray());
+        bufferedRows = 0;
+    }
+
+    private byte[] fileMetaData() {
+        ThriftCompactWriter meta = new ThriftCompactWriter().beginElement()
+            .i32(1, 1)
+            .structList(2, columns.size() + 1);
+        meta.beginElement().string(4, "expense").i32(5, columns.size()).endStruct();
+        for (Column column : columns) {
+            column.writeSchema(meta);
+        }
+        meta.i64(3, rows).structList(4, rowGroups.size());
+        for (byte[] rowGroup : rowGroups) {
+            meta.raw(rowGroup);
+        }
+        return meta.string(6, "expense-manager").endStruct().toByteArray();
+    }
+
+    /**
+     * Amount in whole cents, or null if it does not fit the column's 18 digits of precision.
+     */
+    static Long cents(double amount) {
+        if (!Double.isFinite(amount)) {
+            return null;
+        }
+        BigDecimal cents = BigDecimal.valueOf(amount).movePointRight(2).setScale(0, RoundingMode.HALF_UP);
+        return cents.precision() <= 18 ? cents.longValueExact() : null;
+    }
+
+    /**
+     * Days since 1970-01-01 for a YYYY-MM-DD date, or null if the text is not a date.
+     */
+    static Integer epochDay(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static byte[] littleEndianInt(int value) {
+        return new byte[] {(byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)};
+    }
+
+    private enum Logical { NONE, STRING, DATE, CENTS }
+
+    /**
+     * One column's buffered values for the current row group.
+     */
+    private static final class Column {
+        private final String name;
+        private final int type;
+        private final boolean optional;
+        private final Logical logical;
+        private final boolean dictionaryEncoded;
+        private final LevelBuffer definitionLevels = new LevelBuffer();
+        private final LevelBuffer dictionaryIndexes = new LevelBuffer();
+        private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+        private final ByteArrayOutputStream plainValues = new ByteArrayOutputStream();
+
+        Column(String name, int type, boolean optional, Logical logical, boolean dictionaryEncoded) {
+            this.name = name;
+            this.type = type;
+            this.optional = optional;
+            this.logical = logical;
+            this.dictionaryEncoded = dictionaryEncoded;
+        }
+
+        void addNull() {
+            definitionLevels.add(0);
+        }
+
+        void addInt(int value) {
+            present();
+            writeLittleEndian(plainValues, value, 4);
+        }
+
+        void addLong(long value) {
+            present();
+            writeLittleEndian(plainValues, value, 8);
+        }
+
+        void addString(String value) {
+            if (value == null) {
+                addNull();
+                return;
+            }
+            present();
+            if (dictionaryEncoded) {
+                dictionaryIndexes.add(dictionary.computeIfAbsent(value, key -> dictionary.size()));
+            } else {
+                writeByteArray(plainValues, value);
+            }
+        }
+
+        private void present() {
+            if (optional) {
+                definitionLevels.add(1);
+            }
+        }
+
+        /**
+         * Write this row group's pages and reset the buffers.
+         * @return the encoded ColumnChunk struct
+         */
+        byte[] writeChunk(CountingOutputStream out, int rowCount) throws IOException {
+            long chunkStart = out.count;
+            Long dictionaryPageOffset = null;
+            boolean useDictionary = dictionaryEncoded && !dictionary.isEmpty();
+            ByteArrayOutputStream page = new ByteArrayOutputStream();
+            if (optional) {
+                byte[] levels = definitionLevels.encode(1);
+                writeLittleEndian(page, levels.length, 4);
+                page.write(levels);
+            }
+            if (useDictionary) {
+                ByteArrayOutputStream entries = new ByteArrayOutputStream();
+                for (String value : dictionary.keySet()) {
+                    writeByteArray(entries, value);
+                }
+                dictionaryPageOffset = out.count;
+                writePage(out, DICTIONARY_PAGE, entries.toByteArray(), dictionary.size(), PLAIN_DICTIONARY);
+                int bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1));
+                page.write(bitWidth);
+                page.write(dictionaryIndexes.encode(bitWidth));
+            } else {
+                plainValues.writeTo(page);
+            }
+            long dataPageOffset = out.count;
+            writePage(out, DATA_PAGE, page.toByteArray(), rowCount, useDictionary ? PLAIN_DICTIONARY : PLAIN);
+            long chunkSize = out.count - chunkStart;
+
+            ThriftCompactWriter chunk = new ThriftCompactWriter().beginElement()
+                .i64(2, chunkStart)
+                .beginStruct(3)
+                .i32(1, type)
+                .i32List(2, useDictionary ? List.of(PLAIN_DICTIONARY, RLE) : List.of(PLAIN, RLE))
+                .stringList(3, List.of(name))
+                .i32(4, 0)
+                .i64(5, rowCount)
+                .i64(6, chunkSize)
+                .i64(7, chunkSize)
+                .i64(9, dataPageOffset);
+            if (dictionaryPageOffset != null) {
+                chunk.i64(11, dictionaryPageOffset);
+            }
+            chunk.endStruct().endStruct();
+
+            definitionLevels.clear();
+            dictionaryIndexes.clear();
+            dictionary.clear();
+            plainValues.reset();
+            return chunk.toByteArray();
+        }
+
+        void writeSchema(ThriftCompactWriter meta) {
+            meta.beginElement()
+                .i32(1, type)
+                .i32(3, optional ? OPTIONAL : REQUIRED)
+                .string(4, name);
+            switch (logical) {
+                case STRING -> meta.i32(6, CONVERTED_UTF8).beginStruct(10).beginStruct(1).endStruct().endStruct();
+                case DATE -> meta.i32(6, CONVERTED_DATE).beginStruct(10).beginStruct(6).endStruct().endStruct();
+                case CENTS -> meta.i32(6, CONVERTED_DECIMAL).i32(7, 2).i32(8, 18)
+                    .beginStruct(10).beginStruct(5).i32(1, 2).i32(2, 18).endStruct().endStruct();
+                case NONE -> { }
+            }
+            meta.endStruct();
+        }
+
+        private static void writePage(CountingOutputStream out, int pageType, byte[] body, int valueCount, int encoding)
+                throws IOException {
+            ThriftCompactWriter header = new ThriftCompactWriter().beginElement()
+                .i32(1, pageType)
+                .i32(2, body.length)
+                .i32(3, body.length);
+            if (pageType == DATA_PAGE) {
+                header.beginStruct(5).i32(1, valueCount).i32(2, encoding).i32(3, RLE).i32(4, RLE).endStruct();
+            } else {
+                header.beginStruct(7).i32(1, valueCount).i32(2, encoding).endStruct();
+            }
+            out.write(header.endStruct().toByteArray());
+            out.write(body);
+        }
+    }
+
+    /**
+     * Growable int buffer for definition levels and dictionary indexes.
+     */
+    private static final class LevelBuffer {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * RLE/bit-packing hybrid encoding as a single bit-packed run of groups of eight values.
+         */
+        byte[] encode(int bitWidth) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            int groups = (size + 7) / 8;
+            long header = (long) groups << 1 | 1;
+            while ((header & ~0x7FL) != 0) {
+                encoded.write((int) (header & 0x7F) | 0x80);
+                header >>>= 7;
+            }
+            encoded.write((int) header);
+            long buffer = 0;
+            int bits = 0;
+            for (int i = 0; i < groups * 8; i++) {
+                long value = i < size ? values[i] : 0;
+                buffer |= value << bits;
+                bits += bitWidth;
+                while (bits >= 8) {
+                    encoded.write((int) (buffer & 0xFF));
+                    buffer >>>= 8;
+                    bits -= 8;
+                }
+            }
+            return encoded.toByteArray();
+        }
+    }
+
+    private static void writeByteArray(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeLittleEndian(out, bytes.length, 4);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeLittleEndian(ByteArrayOutputStream out, long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            out.write((int) (value >>> (8 * i)));
+        }
+    }
+
+    /**
+     * Tracks the file offset, which column metadata records for every page.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.revature.service;
+
+import com.revature.monitoring.tracing.Span;
+import com.revature.monitoring.tracing.Tracing;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rendered report files kept on disk, so a report that is asked for again is sent from its file
+ * instead of being queried and formatted again.
+ * Entries are keyed by the report's description and the data generation it was rendered at; when the
+ * generation advances (an approval or a detected external write), every older entry is deleted.
+ * Entries are evicted least recently used first once their total size is over {@code maxBytes};
+ * the newest entry is always kept, so one report larger than the budget still holds until the next one.
+ * Concurrent misses for the same report share one rendering.
+ * Files are handed out as open channels: an entry evicted while it is being sent is unlinked, and
+ * the open channel still reads it to the end.
+ * Each cache keeps its files in its own subdirectory, locked for the life of the process, so several
+ * instances can share a parent directory; subdirectories whose lock is free were left by a process
+ * that has exited and are deleted at startup.
+ */
+public class ReportFileCache {
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    private static final String SUFFIX = ".report";
+    private static final String INSTANCE_PREFIX = "reports-";
+    private static final String LOCK_FILE = ".lock";
+
+    private final Path directory;
+    // Held open for the life of the cache; its lock marks the directory as in use
+    private final FileChannel lockChannel;
+    private final long maxBytes;
+    private final LongSupplier dataGeneration;
+    private final SingleFlight<String, Entry> renders = new SingleFlight<>("report-cache");
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by this
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long generation;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param parent directory under which this cache creates its own locked subdirectory; subdirectories
+     *               left by exited processes are deleted
+     * @param maxBytes total size of the kept files
+     * @param dataGeneration current data generation; entries from older generations are dropped
+     * @throws IOException if the directory cannot be created or locked
+     */
+    public ReportFileCache(Path parent, long maxBytes, LongSupplier dataGeneration) throws IOException {
+        Files.createDirectories(parent);
+        Path instance;
+        FileChannel lock;
+        while (true) {
+            instance = Files.createTempDirectory(parent, INSTANCE_PREFIX);
+            lock = FileChannel.open(instance.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                lock.lock();
+                // Another cache starting at the same moment may have taken it for abandoned before it was locked
+                if (Files.exists(instance.resolve(LOCK_FILE))) {
+                    break;
+                }
+            } catch (OverlappingFileLockException e) {
+                // Being deleted by another cache in this process
+            }
+            lock.close();
+        }
+        this.directory = instance;
+        this.lockChannel = lock;
+        this.maxBytes = maxBytes;
+        this.dataGeneration = dataGeneration;
+        // Generations restart with the process, so files from an earlier run can't be matched to data
+        deleteAbandoned(parent);
+    }
+
+    /**
+     * Open a report's file, rendering it first if no current copy is cached.
+     * @param key the report's description: type, parameters, format and encoding
+     * @param renderer writes the report; called only on a miss
+     * @return the open file, to be closed after sending
+     * @throws IOException if the report cannot be rendered or opened
+     */
+    public CachedReport open(String key, Renderer renderer) throws IOException {
+        try (Span span = Tracing.span("ReportFileCache.open")) {
+            // Read before rendering, so an entry never claims newer data than its file holds
+            long current = dataGeneration.getAsLong();
+            String entryKey = current + "|" + key;
+            CachedReport cached = openCurrent(entryKey, current);
+            if (cached != null) {
+                hits.incrementAndGet();
+                span.tag("hit", true);
+                return cached;
+            }
+            misses.incrementAndGet();
+            span.tag("hit", false);
+            Entry entry;
+            try {
+                entry = renders.execute(entryKey, () -> render(entryKey, current, renderer));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            cached = openEntry(entry);
+            if (cached == null) {
+                // Evicted between rendering and opening; send a private copy that is unlinked once open
+                Entry uncached = render(null, current, renderer);
+                cached = openEntry(uncached);
+                Files.deleteIfExists(uncached.path);
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Reports sent from a cached file.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Reports that had to be rendered.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Files deleted to stay within the size budget or because their data generation passed.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Total size of the cached files.
+     */
+    public synchronized long getBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Number of cached files.
+     */
+    public synchronized int getEntries() {
+        return entries.size();
+    }
+
+    /**
+     * Delete every cached file.
+     */
+    public synchronized void clear() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            delete(it.next());
+            it.remove();
+        }
+    }
+
+    private synchronized CachedReport openCurrent(String entryKey, long current) throws IOException {
+        if (current > generation) {
+            generation = current;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.generation < current) {
+                    delete(entry);
+                    it.remove();
+                }
+            }
+        }
+        Entry entry = entries.get(entryKey);
+        return entry == null ? null : openEntry(entry);
+    }
+
+    /**
+     * Write a report to a new file and, given a key, add it as the most recently used entry.
+     */
+    private Entry render(String entryKey, long entryGeneration, Renderer renderer) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(directory, "report-", SUFFIX);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                renderer.render(out);
+            }
+            Entry entry = new Entry(entryKey, file, Files.size(file), entryGeneration);
+            if (entryKey != null) {
+                add(entry);
+            }
+            return entry;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private synchronized void add(Entry entry) {
+        Entry replaced = entries.put(entry.key, entry);
+        if (replaced != null) {
+            totalBytes -= replaced.size;
+            delete(replaced);
+        }
+        totalBytes += entry.size;
+        if (entry.generation < generation) {
+            // The data changed while rendering; nobody will ask for this generation again
+            entries.remove(entry.key);
+            totalBytes -= entry.size;
+            delete(entry);
+            return;
+        }
+        for (Iterator<Entry> it = entries.values().iterator(); totalBytes > maxBytes && entries.size() > 1; ) {
+            Entry eldest = it.next();
+            delete(eldest);
+            it.remove();
+            totalBytes -= eldest.size;
+        }
+    }
+
+    /**
+     * Open an entry's file, or return null if it has been deleted. Deletion happens under the same lock,
+     * so a file is either opened before it is unlinked or not at all.
+     */
+    private synchronized CachedReport openEntry(Entry entry) throws IOException {
+        if (entry.deleted) {
+            return null;
+        }
+        return new CachedReport(FileChannel.open(entry.path, StandardOpenOption.READ), entry.size);
+    }
+
+    private void delete(Entry entry) {
+        if (entry.key != null) {
+            evictions.incrementAndGet();
+        }
+        entry.deleted = true;
+        deleteQuietly(entry.path);
+    }
+
+    /**
+     * Delete the subdirectories of other caches whose lock is free: their process has exited.
+     * A subdirectory without a lock file yet is still being created and is left alone.
+     */
+    private void deleteAbandoned(Path parent) throws IOException {
+        try (DirectoryStream<Path> instances = Files.newDirectoryStream(parent, INSTANCE_PREFIX + "*")) {
+            for (Path instance : instances) {
+                if (instance.equals(directory) || !Files.isDirectory(instance)) {
+                    continue;
+                }
+                try (FileChannel lock = FileChannel.open(instance.resolve(LOCK_FILE), StandardOpenOption.WRITE)) {
+                    if (lock.tryLock() == null) {
+                        continue;
+                    }
+                    try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(instance, "*" + SUFFIX)) {
+                        for (Path leftover : leftovers) {
+                            deleteQuietly(leftover);
+                        }
+                    }
+                    deleteQuietly(instance.resolve(LOCK_FILE));
+                    deleteQuietly(instance);
+                } catch (NoSuchFileException | OverlappingFileLockException e) {
+                    // Not locked yet, or in use by another cache in this process
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // an undeletable file only costs disk space until a later start cleans the directory
+        }
+    }
+
+    /**
+     * Writes a report into the file being cached.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * An open report file. Positional reads only, so the channel can be sent in any way.
+     */
+    public static final class CachedReport implements Closeable {
+        private final FileChannel channel;
+        private final long size;
+
+        private CachedReport(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        public FileChannel getChannel() {
+            return channel;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final Path path;
+        private final long size;
+        private final long generation;
+        private boolean deleted;
+
+        private Entry(String key, Path path, long size, long generation) {
+            this.key = key;
+            this.path = path;
+            this.size = size;
+            this.generation = generation;
+        }
+    }
+}
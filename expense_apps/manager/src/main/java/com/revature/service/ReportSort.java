@@ -0,0 +1,70 @@
+package com.revature.service;
+
+import com.revature.repository.ExpenseWithUser;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Order for report rows, parsed from a {@code sort} parameter such as {@code amount} or {@code -reviewDate}.
+ * A leading {@code -} sorts descending. Missing values (e.g. the review date of a pending expense)
+ * sort last in either direction. The sort is stable, so rows with equal keys keep the reports'
+ * usual newest-first order.
+ */
+public final class ReportSort {
+    private final Key key;
+    private final boolean descending;
+
+    private ReportSort(Key key, boolean descending) {
+        this.key = key;
+        this.descending = descending;
+    }
+
+    /**
+     * @param value a key name, optionally prefixed with {@code -}
+     * @return the sort
+     * @throws IllegalArgumentException if the key is unknown
+     */
+    public static ReportSort parse(String value) {
+        boolean descending = value.startsWith("-");
+        String name = descending ? value.substring(1) : value;
+        for (Key key : Key.values()) {
+            if (key.parameter.equals(name)) {
+                return new ReportSort(key, descending);
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort key: " + name);
+    }
+
+    public Comparator<ExpenseWithUser> comparator() {
+        return key.comparator(descending);
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + key.parameter;
+    }
+
+    private enum Key {
+        ID("id", row -> row.getExpense().getId()),
+        DATE("date", row -> row.getExpense().getDate()),
+        AMOUNT("amount", row -> row.getExpense().getAmount()),
+        EMPLOYEE("employee", row -> row.getUser().getUsername()),
+        STATUS("status", row -> row.getApproval().getStatus()),
+        REVIEW_DATE("reviewDate", row -> row.getApproval().getReviewDate());
+
+        private final String parameter;
+        private final Function<ExpenseWithUser, Comparable<Object>> extractor;
+
+        @SuppressWarnings("unchecked")
+        Key(String parameter, Function<ExpenseWithUser, ? extends Comparable<?>> extractor) {
+            this.parameter = parameter;
+            this.extractor = (Function<ExpenseWithUser, Comparable<Object>>) extractor;
+        }
+
+        Comparator<ExpenseWithUser> comparator(boolean descending) {
+            Comparator<Comparable<Object>> order = Comparator.naturalOrder();
+            return Comparator.comparing(extractor, Comparator.nullsLast(descending ? order.reversed() : order));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.revature.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Minimal Thrift compact-protocol encoder, enough to write Parquet page headers and file metadata.
+ * Fields must be written in increasing ID order within each struct.
+ */
+class ThriftCompactWriter {
+    private static final int BOOLEAN_TRUE = 1;
+    private static final int BOOLEAN_FALSE = 2;
+    private static final int I32 = 5;
+    private static final int I64 = 6;
+    private static final int BINARY = 8;
+    private static final int LIST = 9;
+    private static final int STRUCT = 12;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Deque<Integer> lastFieldIds = new ArrayDeque<>();
+    private int lastFieldId;
+
+    ThriftCompactWriter i32(int fieldId, int value) {
+        fieldHeader(fieldId, I32);
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter i64(int fieldId, long value) {
+        fieldHeader(fieldId, I64);
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter bool(int fieldId, boolean value) {
+        fieldHeader(fieldId, value ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+        return this;
+    }
+
+    ThriftCompactWriter string(int fieldId, String value) {
+        fieldHeader(fieldId, BINARY);
+        binary(value);
+        return this;
+    }
+
+    ThriftCompactWriter i32List(int fieldId, List<Integer> values) {
+        fieldHeader(fieldId, LIST);
+        listHeader(values.size(), I32);
+        for (int value : values) {
+            varint(zigzag(value));
+        }
+        return this;
+    }
+
+    ThriftCompactWriter stringList(int fieldId, List<String> values) {
+        fieldHeader(fieldId, LIST);
+        listHeader(values.size(), BINARY);
+        for (String value : values) {
+            binary(value);
+        }
+        return this;
+    }
+
+    /**
+     * Start a list of structs; write each element with {@link #beginElement()} and {@link #endStruct()}.
+     */
+    ThriftCompactWriter structList(int fieldId, int size) {
+        fieldHeader(fieldId, LIST);
+        listHeader(size, STRUCT);
+        return this;
+    }
+
+    /**
+     * Start a struct-valued field.
+     */
+    ThriftCompactWriter beginStruct(int fieldId) {
+        fieldHeader(fieldId, STRUCT);
+        return beginElement();
+    }
+
+    /**
+     * Start a struct that is a list element, or the top-level struct.
+     */
+    ThriftCompactWriter beginElement() {
+        lastFieldIds.push(lastFieldId);
+        lastFieldId = 0;
+        return this;
+    }
+
+    ThriftCompactWriter endStruct() {
+        out.write(0);
+        lastFieldId = lastFieldIds.pop();
+        return this;
+    }
+
+    /**
+     * Append an element encoded by another writer, e.g. a struct built before its list header.
+     */
+    ThriftCompactWriter raw(byte[] encoded) {
+        out.write(encoded, 0, encoded.length);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    private void fieldHeader(int fieldId, int type) {
+        int delta = fieldId - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write(delta << 4 | type);
+        } else {
+            out.write(type);
+            varint(zigzag(fieldId));
+        }
+        lastFieldId = fieldId;
+    }
+
+    private void listHeader(int size, int elementType) {
+        if (size < 15) {
+            out.write(size << 4 | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            varint(size);
+        }
+    }
+
+    private void binary(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        varint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private void varint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
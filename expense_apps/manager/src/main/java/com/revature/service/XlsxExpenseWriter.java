@@ -0,0 +1,323 @@
+package com.revature.service;
+
+import com.revature.repository.ExpenseWithUser;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes expense report rows as a single-sheet XLSX workbook.
+ * The fixed workbook parts are written first and the sheet is streamed last, so rows go straight
+ * into the zip entry: at most one window of rendered rows is held in memory, however many rows
+ * the report has. Strings are written inline rather than to a shared string table, which would
+ * have to be kept in memory until the end.
+ * IDs and amounts are numeric cells and dates are date-formatted serial numbers, so spreadsheet
+ * tools sort and sum them without converting text first.
+ */
+public class XlsxExpenseWriter implements Closeable {
+    public static final int DEFAULT_WINDOW_ROWS = 1_000;
+    /** Rows per sheet allowed by Excel, including the header. */
+    static final int MAX_ROWS = 1_048_576;
+    private static final String[] HEADERS = {
+        "Expense ID", "Employee", "Amount", "Description", "Date", "Status", "Reviewer", "Comment", "Review Date"
+    };
+    private static final int[] WIDTHS = {12, 18, 12, 40, 12, 12, 10, 40, 20};
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    /** Days from the spreadsheet epoch (1899-12-30) to 1970-01-01. */
+    private static final long EPOCH_SERIAL = 25_569;
+
+    // Cell style indexes into cellXfs in styles.xml
+    private static final int STYLE_HEADER = 1;
+    private static final int STYLE_AMOUNT = 2;
+    private static final int STYLE_DATE = 3;
+    private static final int STYLE_DATE_TIME = 4;
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+    private final int windowRows;
+    private final StringBuilder window = new StringBuilder(8192);
+    private int windowed;
+    private long rows;
+    private boolean closed;
+
+    public XlsxExpenseWriter(OutputStream out) throws IOException {
+        this(out, DEFAULT_WINDOW_ROWS);
+    }
+
+    /**
+     * @param out destination; not closed by {@link #close()}
+     * @param windowRows rendered rows held before they are compressed into the sheet
+     * @throws IOException if the workbook parts cannot be written
+     */
+    public XlsxExpenseWriter(OutputStream out, int windowRows) throws IOException {
+        if (windowRows <= 0) {
+            throw new IllegalArgumentException("windowRows must be positive");
+        }
+        this.windowRows = windowRows;
+        this.zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        writePart("[Content_Types].xml", CONTENT_TYPES);
+        writePart("_rels/.rels", ROOT_RELS);
+        writePart("xl/workbook.xml", WORKBOOK);
+        writePart("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        writePart("xl/styles.xml", STYLES);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        this.sheet = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        window.append(SHEET_START);
+        for (int i = 0; i < WIDTHS.length; i++) {
+            window.append("<col min=\"").append(i + 1).append("\" max=\"").append(i + 1)
+                .append("\" width=\"").append(WIDTHS[i]).append("\" customWidth=\"1\"/>");
+        }
+        window.append("</cols><sheetData><row r=\"1\">");
+        for (String header : HEADERS) {
+            stringCell(header, STYLE_HEADER);
+        }
+        window.append("</row>");
+    }
+
+    /**
+     * Add a row, compressing the window into the sheet if it is full.
+     * @param row the joined expense row
+     * @throws IOException if the window cannot be written, or the sheet is full
+     */
+    public void write(ExpenseWithUser row) throws IOException {
+        if (rows + 1 >= MAX_ROWS) {
+            throw new IOException("Report exceeds the " + MAX_ROWS + " row limit of an XLSX sheet");
+        }
+        rows++;
+        window.append("<row r=\"").append(rows + 1).append("\">");
+        numberCell(row.getExpense().getId(), 0);
+        stringCell(row.getUser().getUsername(), 0);
+        double amount = row.getExpense().getAmount();
+        if (Double.isFinite(amount)) {
+            numberCell(amount, STYLE_AMOUNT);
+        } else {
+            window.append("<c/>");
+        }
+        stringCell(row.getExpense().getDescription(), 0);
+        dateCell(row.getExpense().getDate());
+        stringCell(row.getApproval().getStatus(), 0);
+        Integer reviewer = row.getApproval().getReviewer();
+        if (reviewer == null) {
+            window.append("<c/>");
+        } else {
+            numberCell(reviewer, 0);
+        }
+        stringCell(row.getApproval().getComment(), 0);
+        dateCell(row.getApproval().getReviewDate());
+        window.append("</row>");
+        if (++windowed == windowRows) {
+            flushWindow();
+        }
+    }
+
+    /**
+     * Number of expense rows written so far, excluding the header.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Finish the sheet and the zip directory, and flush. The underlying stream is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        window.append("</sheetData></worksheet>");
+        flushWindow();
+        sheet.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Spreadsheet serial day for a YYYY-MM-DD date, or null if it does not parse.
+     */
+    static Long serialDay(String date) {
+        try {
+            return LocalDate.parse(date).toEpochDay() + EPOCH_SERIAL;
+        } catch (DateTimeParseException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Spreadsheet serial date-time for a YYYY-MM-DD HH:MM:SS timestamp, or null if it does not parse.
+     */
+    static Double serialDateTime(String dateTime) {
+        try {
+            LocalDateTime parsed = LocalDateTime.parse(dateTime, DATE_TIME);
+            return parsed.toLocalDate().toEpochDay() + EPOCH_SERIAL
+                + parsed.get(ChronoField.SECOND_OF_DAY) / 86_400.0;
+        } catch (DateTimeParseException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private void flushWindow() throws IOException {
+        sheet.append(window);
+        window.setLength(0);
+        windowed = 0;
+    }
+
+    private void numberCell(long value, int style) {
+        window.append("<c");
+        styleAttribute(style);
+        window.append("><v>").append(value).append("</v></c>");
+    }
+
+    private void numberCell(double value, int style) {
+        window.append("<c");
+        styleAttribute(style);
+        window.append("><v>").append(value).append("</v></c>");
+    }
+
+    /**
+     * Dates become serial numbers with a date style; anything else that is not a recognised
+     * date is kept as text so no information is lost.
+     */
+    private void dateCell(String value) {
+        if (value == null) {
+            window.append("<c/>");
+            return;
+        }
+        Long day = serialDay(value);
+        if (day != null) {
+            numberCell(day, STYLE_DATE);
+            return;
+        }
+        Double dateTime = serialDateTime(value);
+        if (dateTime != null) {
+            numberCell(dateTime, STYLE_DATE_TIME);
+            return;
+        }
+        stringCell(value, 0);
+    }
+
+    private void stringCell(String value, int style) {
+        if (value == null) {
+            window.append("<c/>");
+            return;
+        }
+        window.append("<c t=\"inlineStr\"");
+        styleAttribute(style);
+        window.append("><is><t xml:space=\"preserve\">");
+        escape(value);
+        window.append("</t></is></c>");
+    }
+
+    private void styleAttribute(int style) {
+        if (style != 0) {
+            window.append(" s=\"").append(style).append('"');
+        }
+    }
+
+    /**
+     * Append text escaped for XML, dropping control characters XML 1.0 cannot represent.
+     */
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> window.append("&lt;");
+                case '>' -> window.append("&gt;");
+                case '&' -> window.append("&amp;");
+                case '\t', '\n', '\r' -> window.append(c);
+                default -> {
+                    if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF) {
+                        window.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writePart(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String CONTENT_TYPES = XML_DECLARATION
+        + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+        + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+        + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+        + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+        + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+        + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+        + "</Types>";
+
+    private static final String ROOT_RELS = XML_DECLARATION
+        + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+        + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+        + "</Relationships>";
+
+    private static final String WORKBOOK = XML_DECLARATION
+        + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+        + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+        + "<sheets><sheet name=\"Expenses\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+        + "</workbook>";
+
+    private static final String WORKBOOK_RELS = XML_DECLARATION
+        + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+        + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+        + "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>"
+        + "</Relationships>";
+
+    private static final String STYLES = XML_DECLARATION
+        + "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+        + "<numFmts count=\"2\">"
+        + "<numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd\"/>"
+        + "<numFmt numFmtId=\"165\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/>"
+        + "</numFmts>"
+        + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+        + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+        + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+        + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+        + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+        + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+        + "<cellXfs count=\"5\">"
+        + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+        + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+        + "<xf numFmtId=\"4\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+        + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+        + "<xf numFmtId=\"165\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+        + "</cellXfs>"
+        + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+        + "</styleSheet>";
+
+    private static final String SHEET_START = XML_DECLARATION
+        + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+        + "<sheetViews><sheetView workbookViewId=\"0\">"
+        + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+        + "</sheetView></sheetViews>"
+        + "<cols>";
+}
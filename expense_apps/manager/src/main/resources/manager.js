@@ -4,6 +4,9 @@ class ManagerDashboard {
     constructor() {
         this.currentUser = null;
         this.currentExpenseId = null;
+        // Local copy of all expenses, kept in sync through /api/expenses/changes
+        this.expenseCache = new Map();
+        this.expensesVersion = 0;
         this.init();
     }
 
@@ -194,30 +197,23 @@ class ManagerDashboard {
 
     async loadPendingExpenses() {
         try {
-            const response = await fetch('/api/expenses/pending', this.getFetchOptions());
+            // Flat projection of just the columns the pending table shows
+            const response = await fetch('/api/expenses/pending?fields=id,userId,username,amount,description,date,status',
+                this.getFetchOptions());
             console.log('Pending expenses response received:', response);
             const data = await response.json();
             console.log('Pending expenses data:', data);
 
             if (data && data.success) {
-                // Map server shape { expense, user, approval } -> flat shape expected by displayPendingExpenses
-                const expenses = Array.isArray(data.data) ? data.data.map(item => {
-                    const e = item.expense || {};
-                    const u = item.user || {};
-                    const a = item.approval || {};
-                    return {
-                        id: e.id,
-                        userId: e.userId ?? u.id,
-                        username: u.username ?? 'Unknown',
-                        amount: e.amount ?? 0,
-                        description: e.description ?? '',
-                        date: e.date ?? '',
-                        // include approval fields if you want to reuse displayAllExpenses later
-                        status: a.status,
-                        reviewerUsername: a.reviewer,
-                        comment: a.comment
-                    };
-                }) : [];
+                const expenses = Array.isArray(data.data) ? data.data.map(row => ({
+                    id: row.id,
+                    userId: row.userId,
+                    username: row.username ?? 'Unknown',
+                    amount: row.amount ?? 0,
+                    description: row.description ?? '',
+                    date: row.date ?? '',
+                    status: row.status
+                })) : [];
 
                 this.displayPendingExpenses(expenses);
             } else {
@@ -230,12 +226,13 @@ class ManagerDashboard {
 
     async loadAllExpenses() {
         try {
-            const response = await fetch('/api/expenses', this.getFetchOptions());
+            // Only expenses changed since the last load are downloaded
+            const response = await fetch(`/api/expenses/changes?since=${this.expensesVersion}`, this.getFetchOptions());
             const data = await response.json();
 
             if (data && data.success) {
                 // Map server shape { expense, user, approval } -> flat shape expected by displayAllExpenses
-                const expenses = Array.isArray(data.data) ? data.data.map(item => {
+                const changed = Array.isArray(data.data) ? data.data.map(item => {
                     const e = item.expense || {};
                     const u = item.user || {};
                     const a = item.approval || {};
@@ -252,6 +249,15 @@ class ManagerDashboard {
                     };
                 }) : [];
 
+                if (data.reset) {
+                    this.expenseCache.clear();
+                }
+                changed.forEach(expense => this.expenseCache.set(expense.id, expense));
+                (data.deleted || []).forEach(id => this.expenseCache.delete(id));
+                this.expensesVersion = data.version;
+
+                const expenses = [...this.expenseCache.values()]
+                    .sort((a, b) => b.date.localeCompare(a.date) || b.id - a.id);
                 this.displayAllExpenses(expenses);
             } else {
                 this.showMessage('all-expenses-list', data.error || 'Failed to load expenses', 'error');
@@ -0,0 +1,48 @@
+package com.revature.api;
+
+import com.revature.server.ConcurrencyLimiter;
+import io.javalin.http.Context;
+import io.javalin.http.ServiceUnavailableResponse;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Request Execution")
+public class ConcurrencyLimitMiddlewareTest {
+
+    @Test
+    @Story("Bulkheads")
+    @Description("A saturated limiter answers 503 with Retry-After and the permit is released after the request")
+    void acquire_rejectsWithRetryAfterWhenSaturated() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("reports", 1, 0, 0);
+        ConcurrencyLimitMiddleware middleware = new ConcurrencyLimitMiddleware(limiter);
+        Context first = mock(Context.class);
+        Context second = mock(Context.class);
+
+        middleware.acquire(first);
+        verify(first).attribute("concurrency.permit.reports", limiter);
+        assertThrows(ServiceUnavailableResponse.class, () -> middleware.acquire(second));
+        verify(second).header("Retry-After", "1");
+        assertEquals(1, limiter.getRejected());
+
+        when(first.attribute("concurrency.permit.reports")).thenReturn(limiter);
+        middleware.release(first);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @Story("Bulkheads")
+    @Description("Requests outside every bulkhead pass through untouched")
+    void acquire_skipsUnclassifiedRequests() {
+        ConcurrencyLimitMiddleware middleware = new ConcurrencyLimitMiddleware("bulkhead", ctx -> null);
+        Context ctx = mock(Context.class);
+
+        middleware.acquire(ctx);
+        middleware.release(ctx);
+
+        verify(ctx, never()).header(anyString(), anyString());
+    }
+}
@@ -0,0 +1,135 @@
+package com.revature.api;
+
+import com.revature.service.ExpenseService;
+import io.javalin.http.BadRequestResponse;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.HttpStatus;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Conditional Requests")
+public class ConditionalGetMiddlewareTest {
+
+    @Test
+    @Story("ETag")
+    @Description("A current If-None-Match is answered 304 without running the route handler")
+    void wrap_answersNotModifiedWithoutCallingHandler() throws Exception {
+        ConditionalGetMiddleware middleware = new ConditionalGetMiddleware(() -> 7, "e");
+        Handler route = mock(Handler.class);
+        Context ctx = mock(Context.class);
+        when(ctx.header("If-None-Match")).thenReturn("\"other\", W/\"e-7\"");
+
+        middleware.wrap(route).handle(ctx);
+
+        verify(ctx).header("ETag", "W/\"e-7\"");
+        verify(ctx).status(HttpStatus.NOT_MODIFIED);
+        verify(route, never()).handle(ctx);
+        assertEquals(1, middleware.getNotModified());
+    }
+
+    @Test
+    @Story("ETag")
+    @Description("A write advances the generation, so the old tag no longer matches and the handler runs")
+    void wrap_runsHandlerAfterGenerationAdvances() throws Exception {
+        AtomicLong generation = new AtomicLong(7);
+        ConditionalGetMiddleware middleware = new ConditionalGetMiddleware(generation::get, "e");
+        Handler route = mock(Handler.class);
+        Context ctx = mock(Context.class);
+        when(ctx.header("If-None-Match")).thenReturn("W/\"e-7\"");
+        generation.incrementAndGet();
+
+        middleware.wrap(route).handle(ctx);
+
+        verify(ctx).header("ETag", "W/\"e-8\"");
+        verify(ctx, never()).status(HttpStatus.NOT_MODIFIED);
+        verify(route).handle(ctx);
+        assertEquals(0, middleware.getNotModified());
+    }
+
+    @Test
+    @Story("ETag")
+    @Description("The tag names the negotiated media type and the offered codings, so another representation is not answered 304")
+    void wrap_tagsEachRepresentationSeparately() throws Exception {
+        ConditionalGetMiddleware middleware = new ConditionalGetMiddleware(() -> 7, "e");
+        Handler route = mock(Handler.class);
+        Context json = mock(Context.class);
+        when(json.header("Accept-Encoding")).thenReturn("gzip, deflate, br");
+        Context cbor = mock(Context.class);
+        when(cbor.header("Accept")).thenReturn("application/cbor");
+        when(cbor.header("If-None-Match")).thenReturn("W/\"e-7-json-br-gzip\"");
+        Context identity = mock(Context.class);
+        when(identity.header("If-None-Match")).thenReturn("W/\"e-7-json-br-gzip\"");
+
+        middleware.wrap(route, ContentNegotiation.JSON, ContentNegotiation.CBOR).handle(json);
+        middleware.wrap(route, ContentNegotiation.JSON, ContentNegotiation.CBOR).handle(cbor);
+        middleware.wrap(route, ContentNegotiation.JSON, ContentNegotiation.CBOR).handle(identity);
+
+        verify(json).header("ETag", "W/\"e-7-json-br-gzip\"");
+        verify(cbor).header("ETag", "W/\"e-7-cbor\"");
+        verify(identity).header("ETag", "W/\"e-7-json\"");
+        verify(route).handle(cbor);
+        verify(route).handle(identity);
+        assertEquals(0, middleware.getNotModified());
+    }
+
+    @Test
+    @Story("ETag")
+    @Description("A successful response keeps its tag")
+    void wrap_keepsTagOnSuccess() throws Exception {
+        ConditionalGetMiddleware middleware = new ConditionalGetMiddleware(() -> 7, "e");
+        Context ctx = mock(Context.class);
+        when(ctx.statusCode()).thenReturn(200);
+
+        middleware.wrap(c -> { }).handle(ctx);
+
+        verify(ctx).header("ETag", "W/\"e-7\"");
+        verify(ctx, never()).removeHeader("ETag");
+    }
+
+    @Test
+    @Story("ETag")
+    @Description("An invalid report parameter is answered 400 without the data generation's tag")
+    void wrap_removesTagFromErrorResponses() {
+        ConditionalGetMiddleware middleware = new ConditionalGetMiddleware(() -> 7, "e");
+        ReportController reportController = new ReportController(mock(ExpenseService.class));
+        Context ctx = mock(Context.class);
+        when(ctx.queryParam("startDate")).thenReturn("2026-13-45");
+        when(ctx.queryParam("endDate")).thenReturn("2026-12-31");
+
+        assertThrows(BadRequestResponse.class,
+            () -> middleware.wrap(reportController::generateDateRangeExpensesReport).handle(ctx));
+
+        verify(ctx).removeHeader("ETag");
+        verify(ctx).removeHeader("Cache-Control");
+    }
+
+    @Test
+    @Story("ETag")
+    @Description("A handler that sets an error status itself also loses the tag")
+    void wrap_removesTagWhenHandlerSetsErrorStatus() throws Exception {
+        ConditionalGetMiddleware middleware = new ConditionalGetMiddleware(() -> 7, "e");
+        Context ctx = mock(Context.class);
+        when(ctx.statusCode()).thenReturn(404);
+
+        middleware.wrap(c -> c.status(404)).handle(ctx);
+
+        verify(ctx).removeHeader("ETag");
+    }
+
+    @Test
+    @Story("ETag")
+    @Description("If-None-Match uses weak comparison and accepts the wildcard")
+    void matches_usesWeakComparison() {
+        assertTrue(ConditionalGetMiddleware.matches("\"e-1\"", "W/\"e-1\""));
+        assertTrue(ConditionalGetMiddleware.matches("*", "W/\"e-1\""));
+        assertFalse(ConditionalGetMiddleware.matches("W/\"e-10\"", "W/\"e-1\""));
+        assertFalse(ConditionalGetMiddleware.matches(null, "W/\"e-1\""));
+    }
+}
@@ -0,0 +1,101 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.monitoring.MetricsRegistry;
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import com.revature.service.ExpenseService;
+import com.revature.service.SingleFlight;
+import io.javalin.http.Context;
+import io.javalin.json.JavalinJackson;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Content Negotiation")
+public class ContentNegotiationTest {
+
+    private final ObjectMapper jsonMapper = JavalinJackson.defaultMapper().registerModule(new ModelJsonModule());
+    private final ObjectMapper cborMapper = ContentNegotiation.cborMapper();
+    private final ContentNegotiation negotiation = new ContentNegotiation(jsonMapper, cborMapper);
+
+    @Test
+    @Story("Accept header")
+    @Description("The highest-quality offered type wins; specific ranges override wildcards; ties keep server order")
+    void select_honoursQualityAndSpecificity() {
+        String json = ContentNegotiation.JSON;
+        String cbor = ContentNegotiation.CBOR;
+        assertEquals(json, ContentNegotiation.select(null, json, cbor));
+        assertEquals(json, ContentNegotiation.select("*/*", json, cbor));
+        assertEquals(cbor, ContentNegotiation.select("application/cbor", json, cbor));
+        assertEquals(cbor, ContentNegotiation.select("application/json;q=0.5, application/cbor", json, cbor));
+        assertEquals(json, ContentNegotiation.select("application/*, application/cbor;q=0", json, cbor));
+        assertEquals(json, ContentNegotiation.select("text/xml", json, cbor));
+        assertEquals("text/csv", ContentNegotiation.select(
+            "text/html,application/xhtml+xml,*/*;q=0.8", "text/csv", json, cbor));
+    }
+
+    @Test
+    @Story("CBOR")
+    @Description("CBOR responses decode to the same document as the JSON response")
+    void send_cborCarriesSameEnvelopeAsJson() throws Exception {
+        Map<String, Object> body = Map.of("success", true, "data", List.of(row()), "count", 1);
+        Context ctx = mock(Context.class);
+        when(ctx.header("Accept")).thenReturn("application/cbor");
+
+        negotiation.send(ctx, body);
+
+        ArgumentCaptor<byte[]> encoded = ArgumentCaptor.forClass(byte[].class);
+        verify(ctx).contentType(ContentNegotiation.CBOR);
+        verify(ctx).header("Vary", "Accept");
+        verify(ctx).result(encoded.capture());
+        verify(ctx, never()).json(any());
+        JsonNode decoded = cborMapper.readTree(encoded.getValue());
+        assertEquals(jsonMapper.readTree(jsonMapper.writeValueAsString(body)), decoded);
+        assertFalse(decoded.get("data").get(0).get("user").has("password"));
+        assertEquals(1, negotiation.getCborResponses());
+    }
+
+    @Test
+    @Story("Reports")
+    @Description("Reports stay CSV by default and return the list envelope when CBOR is preferred")
+    void reports_negotiateCsvOrCbor() throws Exception {
+        ExpenseService expenseService = mock(ExpenseService.class);
+        when(expenseService.getPendingExpenses()).thenReturn(List.of(row()));
+        when(expenseService.generateCsvReport(any())).thenReturn("Expense ID\n1\n");
+        ReportController reportController = new ReportController(expenseService,
+            new MetricsRegistry(), new SingleFlight<>("reports"), negotiation);
+
+        Context csv = mock(Context.class);
+        reportController.generatePendingExpensesReport(csv);
+        verify(csv).contentType("text/csv");
+        verify(csv).result("Expense ID\n1\n");
+
+        Context cbor = mock(Context.class);
+        when(cbor.header("Accept")).thenReturn("application/cbor");
+        reportController.generatePendingExpensesReport(cbor);
+        ArgumentCaptor<byte[]> encoded = ArgumentCaptor.forClass(byte[].class);
+        verify(cbor).result(encoded.capture());
+        JsonNode decoded = cborMapper.readTree(encoded.getValue());
+        assertEquals(1, decoded.get("count").asInt());
+        assertEquals("pending", decoded.get("data").get(0).get("approval").get("status").asText());
+        verify(expenseService, times(1)).generateCsvReport(any());
+    }
+
+    private static ExpenseWithUser row() {
+        return new ExpenseWithUser(new Expense(1, 2, 12.5, "Taxi", "2026-01-01"),
+            new User(2, "employee1", "hash", "Employee"),
+            new Approval(1, 1, "pending", null, null, null));
+    }
+}
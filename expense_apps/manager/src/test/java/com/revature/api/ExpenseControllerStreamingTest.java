@@ -0,0 +1,105 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import com.revature.service.ExpenseService;
+import io.javalin.http.Context;
+import io.javalin.json.JavalinJackson;
+import io.qameta.allure.*;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Expense Lists")
+public class ExpenseControllerStreamingTest {
+
+    private final ObjectMapper objectMapper = JavalinJackson.defaultMapper();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private ExpenseService expenseService;
+    private Context ctx;
+
+    @BeforeEach
+    void setUp() {
+        expenseService = mock(ExpenseService.class);
+        ctx = mock(Context.class);
+        when(ctx.outputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+    }
+
+    @Test
+    @Story("Streaming")
+    @Description("Rows are written as the repository reads them, with count trailing the data array")
+    @SuppressWarnings("unchecked")
+    void getAllExpenses_streamsRowsWithTrailingCount() throws Exception {
+        List<ExpenseWithUser> rows = List.of(row(2, "pending"), row(1, "approved"));
+        when(expenseService.streamAllExpenses(any())).thenAnswer(invocation -> {
+            rows.forEach(invocation.<Consumer<ExpenseWithUser>>getArgument(0));
+            return rows.size();
+        });
+
+        new ExpenseController(expenseService, objectMapper, true).getAllExpenses(ctx);
+
+        JsonNode json = objectMapper.readTree(body.toByteArray());
+        Iterator<String> names = json.fieldNames();
+        assertEquals(List.of("success", "data", "count"), List.of(names.next(), names.next(), names.next()));
+        assertEquals(2, json.get("count").asInt());
+        assertEquals(2, json.get("data").get(0).get("expense").get("id").asInt());
+        assertEquals("approved", json.get("data").get(1).get("approval").get("status").asText());
+        verify(expenseService, never()).getAllExpenses();
+        verify(ctx, never()).json(any());
+    }
+
+    @Test
+    @Story("Streaming")
+    @Description("Streamed responses parse to the same document as the buffered response")
+    @SuppressWarnings("unchecked")
+    void getPendingExpenses_streamedMatchesBuffered() throws Exception {
+        List<ExpenseWithUser> rows = List.of(row(3, "pending"));
+        when(expenseService.streamPendingExpenses(any())).thenAnswer(invocation -> {
+            rows.forEach(invocation.<Consumer<ExpenseWithUser>>getArgument(0));
+            return rows.size();
+        });
+
+        new ExpenseController(expenseService, objectMapper, true).getPendingExpenses(ctx);
+
+        JsonNode streamed = objectMapper.readTree(body.toByteArray());
+        JsonNode buffered = objectMapper.valueToTree(Map.of("success", true, "data", rows, "count", 1));
+        assertEquals(buffered, streamed);
+    }
+
+    private static ExpenseWithUser row(int id, String status) {
+        return new ExpenseWithUser(
+            new Expense(id, 1, 10.5 * id, "Expense " + id, "2026-01-0" + id),
+            new User(1, "employee1", "secret", "Employee"),
+            new Approval(id, id, status, null, null, null));
+    }
+}
@@ -0,0 +1,166 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import com.revature.service.ExpenseService;
+import io.javalin.http.BadRequestResponse;
+import io.javalin.http.Context;
+import io.qameta.allure.*;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.eclipse.jetty.server.HttpChannel;
+import org.eclipse.jetty.server.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Exports")
+public class ExportControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ModelJsonModule());
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private ExpenseService expenseService;
+    private ExportController controller;
+    private Context ctx;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        expenseService = mock(ExpenseService.class);
+        when(expenseService.streamExpenses(any(), any())).thenAnswer(invocation -> {
+            List<ExpenseWithUser> rows = List.of(row(2, "pending"), row(1, "approved"));
+            rows.forEach(invocation.<Consumer<ExpenseWithUser>>getArgument(1));
+            return rows.size();
+        });
+        controller = new ExportController(expenseService, objectMapper);
+        ctx = mock(Context.class);
+        when(ctx.outputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+    }
+
+    @Test
+    @Story("NDJSON")
+    @Description("Each expense is one JSON object on its own line, and the filter carries every criterion")
+    void exportExpensesNdjson_writesOneObjectPerLine() throws Exception {
+        when(ctx.queryParam("employeeId")).thenReturn("7");
+        when(ctx.queryParam("category")).thenReturn("travel");
+        when(ctx.queryParam("startDate")).thenReturn("2026-01-01");
+        when(ctx.queryParam("endDate")).thenReturn("2026-01-31");
+        when(ctx.queryParam("status")).thenReturn("approved");
+
+        controller.exportExpensesNdjson(ctx);
+
+        String[] lines = body.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals(2, objectMapper.readTree(lines[0]).get("expense").get("id").asInt());
+        assertEquals("approved", objectMapper.readTree(lines[1]).get("approval").get("status").asText());
+        verify(ctx).contentType(ExportController.NDJSON);
+        assertEquals(2, controller.getExportedRows());
+
+        ArgumentCaptor<ExpenseFilter> filter = ArgumentCaptor.forClass(ExpenseFilter.class);
+        verify(expenseService).streamExpenses(filter.capture(), any());
+        assertEquals(7, filter.getValue().getEmployeeId());
+        assertEquals("travel", filter.getValue().getCategory());
+        assertEquals("2026-01-01", filter.getValue().getStartDate());
+        assertEquals("2026-01-31", filter.getValue().getEndDate());
+        assertEquals("approved", filter.getValue().getStatus());
+    }
+
+    @Test
+    @Story("NDJSON")
+    @Description("gzip=true wraps the same lines in a complete gzip file")
+    void exportExpensesNdjson_gzipWrapsLines() throws Exception {
+        when(ctx.queryParam("gzip")).thenReturn("true");
+
+        controller.exportExpensesNdjson(ctx);
+
+        verify(ctx).contentType("application/gzip");
+        verify(ctx).header("Content-Disposition", "attachment; filename=\"expenses.ndjson.gz\"");
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            String text = new String(gunzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(2, text.lines().count());
+            assertTrue(text.endsWith("}\n"));
+        }
+    }
+
+    @Test
+    @Story("NDJSON")
+    @Description("A failure after rows were sent aborts the response and leaves the gzip file without its trailer")
+    @SuppressWarnings("unchecked")
+    void exportExpensesNdjson_abortsOnFailureAfterRows() {
+        RuntimeException failure = new RuntimeException("connection lost");
+        doAnswer(invocation -> {
+            Consumer<ExpenseWithUser> consumer = invocation.getArgument(1);
+            for (int id = 1; id <= 500; id++) {
+                consumer.accept(row(id % 9 + 1, "pending"));
+            }
+            throw failure;
+        }).when(expenseService).streamExpenses(any(), any());
+        Response response = mock(Response.class);
+        HttpChannel channel = mock(HttpChannel.class);
+        when(response.isCommitted()).thenReturn(true);
+        when(response.getHttpChannel()).thenReturn(channel);
+        when(ctx.res()).thenReturn(response);
+        when(ctx.queryParam("gzip")).thenReturn("true");
+
+        assertSame(failure, assertThrows(RuntimeException.class, () -> controller.exportExpensesNdjson(ctx)));
+
+        verify(channel).abort(failure);
+        assertEquals(0, controller.getExportedRows());
+        assertThrows(EOFException.class, () -> {
+            try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+                gunzip.readAllBytes();
+            }
+        });
+    }
+
+    @Test
+    @Story("NDJSON")
+    @Description("Invalid criteria are rejected before anything is queried")
+    void exportExpensesNdjson_rejectsInvalidCriteria() {
+        when(ctx.queryParam("status")).thenReturn("archived");
+        assertThrows(BadRequestResponse.class, () -> controller.exportExpensesNdjson(ctx));
+
+        when(ctx.queryParam("status")).thenReturn(null);
+        when(ctx.queryParam("endDate")).thenReturn("2026-02-30");
+        assertThrows(BadRequestResponse.class, () -> controller.exportExpensesNdjson(ctx));
+        verify(expenseService, never()).streamExpenses(any(), any());
+    }
+
+    private static ExpenseWithUser row(int id, String status) {
+        return new ExpenseWithUser(new Expense(id, 7, 10.0 * id, "Travel " + id, "2026-01-0" + id),
+            new User(7, "employee7", "hash", "Employee"),
+            new Approval(id, id, status, null, null, null));
+    }
+}
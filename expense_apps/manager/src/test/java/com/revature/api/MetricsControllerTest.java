@@ -0,0 +1,82 @@
+package com.revature.api;
+
+import com.revature.monitoring.MetricsRegistry;
+import com.revature.repository.User;
+import com.revature.service.AuthenticationService;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+import io.javalin.http.UnauthorizedResponse;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class MetricsControllerTest {
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("Requests are recorded under the route template rather than the raw path")
+    void recordRequest_usesRouteTemplate() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsController controller = new MetricsController(registry);
+        Context ctx = mock(Context.class);
+        when(ctx.attribute("metrics.startNanos")).thenReturn(System.nanoTime());
+        when(ctx.method()).thenReturn(HandlerType.POST);
+        when(ctx.endpointHandlerPath()).thenReturn("/api/expenses/{expenseId}/approve");
+        when(ctx.statusCode()).thenReturn(200);
+
+        controller.recordRequest(ctx);
+
+        assertTrue(registry.scrape().contains(
+                "http_requests_total{method=\"POST\",route=\"/api/expenses/{expenseId}/approve\",status=\"200\"} 1"));
+    }
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("Requests rejected before reaching an endpoint are grouped as unmatched")
+    void routeOf_fallsBackToUnmatched() {
+        Context ctx = mock(Context.class);
+        when(ctx.endpointHandlerPath()).thenThrow(new IllegalStateException("before handler"));
+
+        assertEquals("unmatched", MetricsController.routeOf(ctx));
+    }
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("The scrape endpoint uses the Prometheus text content type")
+    void getMetrics_setsPrometheusContentType() {
+        MetricsController controller = new MetricsController(new MetricsRegistry());
+        Context ctx = mock(Context.class);
+
+        controller.getMetrics(ctx);
+
+        verify(ctx).contentType("text/plain; version=0.0.4; charset=utf-8");
+        verify(ctx).result(anyString());
+    }
+
+    @Test
+    @Story("Auth Metrics")
+    @Description("The authentication middleware counts successes and failures")
+    void authenticationMiddleware_countsResults() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        AuthenticationService authService = mock(AuthenticationService.class);
+        AuthenticationMiddleware middleware = new AuthenticationMiddleware(authService, registry);
+        Context ctx = mock(Context.class);
+        when(ctx.cookie("jwt")).thenReturn("token");
+        when(authService.validateManagerAuthentication("token"))
+                .thenReturn(Optional.of(new User(3, "manager1", null, "Manager")))
+                .thenReturn(Optional.empty());
+        when(authService.validateJwtToken("token")).thenReturn(Optional.empty());
+
+        middleware.validateManager().handle(ctx);
+        assertThrows(UnauthorizedResponse.class, () -> middleware.validateManager().handle(ctx));
+
+        assertEquals(1, registry.getAuthCount("success"));
+        assertEquals(1, registry.getAuthCount("unauthorized"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.revature.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import io.javalin.json.JavalinJackson;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("JSON Serialization")
+public class ModelJsonModuleTest {
+
+    private final ObjectMapper beanMapper = JavalinJackson.defaultMapper();
+    private final ObjectMapper moduleMapper = JavalinJackson.defaultMapper().registerModule(new ModelJsonModule());
+
+    @Test
+    @Story("Precompiled serializers")
+    @Description("Rows serialize exactly as bean introspection did, minus the user's password")
+    void serialize_matchesBeanOutputWithoutPassword() throws Exception {
+        List<ExpenseWithUser> rows = List.of(
+            new ExpenseWithUser(new Expense(1, 2, 12.5, "Taxi \"airport\"", "2026-01-01"),
+                new User(2, "employee1", "hash", "Employee"),
+                new Approval(1, 1, "approved", 9, "ok", "2026-01-02")),
+            new ExpenseWithUser(new Expense(2, 3, 1.0E24, "Hotel", "2026-01-03"),
+                new User(3, "manager1", "hash", "manager"),
+                new Approval(2, 2, "pending", null, null, null)));
+
+        JsonNode expected = beanMapper.valueToTree(rows);
+        for (JsonNode row : expected) {
+            ((ObjectNode) row.get("user")).remove("password");
+        }
+        String json = moduleMapper.writeValueAsString(rows);
+
+        assertEquals(expected, moduleMapper.readTree(json));
+        assertFalse(json.contains("password"));
+        assertFalse(json.contains("hash"));
+    }
+
+    @Test
+    @Story("Precompiled serializers")
+    @Description("Missing nested objects are written as null, as before")
+    void serialize_writesNullNestedObjects() throws Exception {
+        ExpenseWithUser row = new ExpenseWithUser(new Expense(1, 2, 3.0, "Meal", "2026-01-01"), null, null);
+
+        JsonNode json = moduleMapper.readTree(moduleMapper.writeValueAsString(row));
+
+        assertEquals(beanMapper.valueToTree(row), json);
+        assertTrue(json.get("user").isNull());
+    }
+
+    @Test
+    @Story("Precompiled serializers")
+    @Description("The mapper resolves the module's shared serializer instances")
+    void module_reusesSerializerInstances() throws Exception {
+        assertSame(ModelJsonModule.EXPENSE_WITH_USER,
+            moduleMapper.getSerializerProviderInstance().findValueSerializer(ExpenseWithUser.class));
+        assertSame(ModelJsonModule.USER,
+            moduleMapper.getSerializerProviderInstance().findValueSerializer(User.class));
+    }
+}
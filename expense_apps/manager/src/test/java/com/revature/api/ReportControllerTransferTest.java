@@ -0,0 +1,52 @@
+package com.revature.api;
+
+import io.qameta.allure.*;
+import org.eclipse.jetty.server.HttpOutput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class ReportControllerTransferTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Story("Report Cache")
+    @Description("Jetty receives a cached report as consecutive mapped chunks that together hold the whole file")
+    void sendMapped_sendsFileInBoundedChunks() throws Exception {
+        byte[] content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Path file = Files.write(tempDir.resolve("report.csv"), content);
+        HttpOutput out = mock(HttpOutput.class);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            assertTrue(buffer.remaining() <= 4096);
+            byte[] chunk = new byte[buffer.remaining()];
+            buffer.get(chunk);
+            received.write(chunk);
+            return null;
+        }).when(out).sendContent(any(ByteBuffer.class));
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            ReportController.sendMapped(out, channel, content.length, 4096);
+        }
+
+        verify(out, times(3)).sendContent(any(ByteBuffer.class));
+        assertArrayEquals(content, received.toByteArray());
+    }
+}
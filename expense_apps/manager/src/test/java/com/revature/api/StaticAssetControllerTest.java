@@ -0,0 +1,81 @@
+package com.revature.api;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import io.javalin.http.NotFoundResponse;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Static Assets")
+public class StaticAssetControllerTest {
+
+    private StaticAssetController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        controller = new StaticAssetController(getClass().getClassLoader(),
+            List.of("manager.js"), List.of("manager.html"));
+    }
+
+    @Test
+    @Story("Fingerprinting")
+    @Description("Pages reference scripts by content-hashed name, and those names are served as immutable gzip")
+    void getAsset_servesFingerprintedScriptPrecompressed() throws IOException {
+        String path = controller.assetPath("manager.js");
+        assertTrue(path.matches("/assets/manager\\.[0-9a-f]{10}\\.js"), path);
+
+        Context page = mock(Context.class);
+        when(page.path()).thenReturn("/manager.html");
+        controller.getPage(page);
+        ArgumentCaptor<byte[]> html = ArgumentCaptor.forClass(byte[].class);
+        verify(page).result(html.capture());
+        assertTrue(new String(html.getValue(), StandardCharsets.UTF_8).contains("src=\"" + path + "\""));
+
+        Context asset = mock(Context.class);
+        when(asset.pathParam("file")).thenReturn(path.substring(StaticAssetController.ASSET_PATH.length()));
+        when(asset.header("Accept-Encoding")).thenReturn("gzip, deflate, br");
+        controller.getAsset(asset);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(asset).header("Cache-Control", "public, max-age=31536000, immutable");
+        verify(asset).header("Content-Encoding", "gzip");
+        verify(asset).result(body.capture());
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body.getValue()))) {
+            String script = new String(gunzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(script.contains("class ManagerDashboard"));
+        }
+    }
+
+    @Test
+    @Story("Fingerprinting")
+    @Description("Pages are revalidated by ETag, and unknown asset names are 404")
+    void getPage_answersNotModifiedForCurrentEtag() {
+        Context first = mock(Context.class);
+        when(first.path()).thenReturn("/manager.html");
+        controller.getPage(first);
+        ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+        verify(first).header(eq("ETag"), etag.capture());
+
+        Context second = mock(Context.class);
+        when(second.path()).thenReturn("/manager.html");
+        when(second.header("If-None-Match")).thenReturn(etag.getValue());
+        controller.getPage(second);
+        verify(second).status(HttpStatus.NOT_MODIFIED);
+        verify(second, never()).result(any(byte[].class));
+
+        Context missing = mock(Context.class);
+        when(missing.pathParam("file")).thenReturn("manager.0000000000.js");
+        assertThrows(NotFoundResponse.class, () -> controller.getAsset(missing));
+    }
+}
@@ -0,0 +1,56 @@
+package com.revature.api;
+
+import com.revature.monitoring.tracing.TraceRecord;
+import com.revature.monitoring.tracing.TraceStore;
+import com.revature.monitoring.tracing.Tracing;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class TracingControllerTest {
+
+    @Test
+    @Story("Request Tracing")
+    @Description("A traced request returns its trace ID and stores the handler span")
+    void tracedRequest_isStoredWithHandlerSpan() throws Exception {
+        TraceStore store = new TraceStore(10);
+        TracingController controller = new TracingController(store);
+        Context ctx = mock(Context.class);
+        when(ctx.method()).thenReturn(HandlerType.GET);
+        when(ctx.path()).thenReturn("/api/expenses");
+        when(ctx.endpointHandlerPath()).thenReturn("/api/expenses");
+        when(ctx.statusCode()).thenReturn(200);
+
+        controller.startTrace(ctx);
+        String traceId = Tracing.currentTraceId();
+        TracingController.traced("ExpenseController.getAllExpenses", c -> { }).handle(ctx);
+        controller.finishTrace(ctx);
+
+        verify(ctx).header(TracingController.TRACE_HEADER, traceId);
+        TraceRecord trace = store.find(traceId);
+        assertNotNull(trace);
+        assertEquals("/api/expenses", trace.route());
+        assertEquals("ExpenseController.getAllExpenses", trace.spans().get(0).name());
+    }
+
+    @Test
+    @Story("Request Tracing")
+    @Description("A well-formed incoming trace ID is reused")
+    void startTrace_reusesIncomingTraceId() {
+        TracingController controller = new TracingController(new TraceStore(10));
+        Context ctx = mock(Context.class);
+        when(ctx.method()).thenReturn(HandlerType.GET);
+        when(ctx.header(TracingController.TRACE_HEADER)).thenReturn("0123456789abcdef0123456789abcdef");
+
+        controller.startTrace(ctx);
+
+        assertEquals("0123456789abcdef0123456789abcdef", Tracing.currentTraceId());
+        Tracing.finish("unmatched", 0);
+    }
+}
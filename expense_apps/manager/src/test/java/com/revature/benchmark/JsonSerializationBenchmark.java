@@ -0,0 +1,106 @@
+package com.revature.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.revature.api.ModelJsonModule;
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import io.javalin.json.JavalinJackson;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares bean-introspected and precompiled serialization of expense list responses.
+ * The bean baseline ignores {@code User.password} like the precompiled serializers, and both must
+ * produce the same JSON tree, so the comparison covers the same fields and bytes.
+ * Follows the JMH pattern of timed warmup and measurement iterations, reporting the mean
+ * time per list and the row throughput. Not a unit test; run it manually after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.revature.benchmark.JsonSerializationBenchmark [warmupIterations] [measurementIterations]
+ * </pre>
+ */
+public class JsonSerializationBenchmark {
+
+    // Discards output without ever being closed, so the writer's auto-close does not end the run
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    public static void main(String[] args) throws Exception {
+        int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int measurement = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        ObjectMapper beanMapper = JavalinJackson.defaultMapper().addMixIn(User.class, WithoutPassword.class);
+        ObjectWriter bean = beanMapper.writer();
+        ObjectWriter precompiled = JavalinJackson.defaultMapper().registerModule(new ModelJsonModule()).writer();
+
+        System.out.printf("%-12s %8s %12s %14s %12s%n", "mapper", "rows", "ms/op", "rows/s", "bytes/op");
+        for (int size : new int[] {1_000, 10_000, 100_000}) {
+            Map<String, Object> body = Map.of("success", true, "data", rows(size), "count", size);
+            byte[] beanJson = bean.writeValueAsBytes(body);
+            byte[] precompiledJson = precompiled.writeValueAsBytes(body);
+            if (!beanMapper.readTree(beanJson).equals(beanMapper.readTree(precompiledJson))) {
+                throw new IllegalStateException("bean and precompiled serializers disagree for " + size + " rows");
+            }
+            for (String name : new String[] {"bean", "precompiled"}) {
+                ObjectWriter writer = name.equals("bean") ? bean : precompiled;
+                double millis = measure(writer, body, size, warmup, measurement);
+                int bytes = name.equals("bean") ? beanJson.length : precompiledJson.length;
+                System.out.printf("%-12s %8d %12.3f %14.0f %12d%n", name, size, millis, size / (millis / 1000), bytes);
+            }
+        }
+    }
+
+    // Gives the bean baseline the precompiled serializers' field set
+    private abstract static class WithoutPassword {
+        @JsonIgnore
+        abstract String getPassword();
+    }
+
+    private static double measure(ObjectWriter writer, Object body, int size, int warmup, int measurement) throws Exception {
+        // Each iteration serializes the list repeatedly for about a second, as JMH iterations do
+        int perIteration = Math.max(1, 2_000_000 / size);
+        for (int i = 0; i < warmup; i++) {
+            run(writer, body, perIteration);
+        }
+        long total = 0;
+        for (int i = 0; i < measurement; i++) {
+            total += run(writer, body, perIteration);
+        }
+        return total / 1e6 / ((long) measurement * perIteration);
+    }
+
+    private static long run(ObjectWriter writer, Object body, int operations) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            writer.writeValue(DISCARD, body);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<ExpenseWithUser> rows(int size) {
+        List<ExpenseWithUser> rows = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            boolean reviewed = i % 3 != 0;
+            rows.add(new ExpenseWithUser(
+                new Expense(i, i % 50, 10 + (i % 997) * 1.25, "Expense " + i, "2026-01-" + (10 + i % 18)),
+                new User(i % 50, "employee" + (i % 50), "$2a$10$abcdefghijklmnopqrstuv", "Employee"),
+                new Approval(i, i, reviewed ? "approved" : "pending", reviewed ? 1 : null,
+                    reviewed ? "Looks fine" : null, reviewed ? "2026-02-01" : null)));
+        }
+        return rows;
+    }
+}
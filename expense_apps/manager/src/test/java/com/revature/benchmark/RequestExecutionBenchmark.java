@@ -0,0 +1,101 @@
+package com.revature.benchmark;
+
+import com.revature.server.ServerSettings;
+import com.revature.server.ThreadPools;
+import io.javalin.Javalin;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares platform and virtual request threads with thousands of concurrent slow clients.
+ * Each request sleeps in the handler to stand in for a slow JDBC report query.
+ * Not a unit test; run it manually after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.revature.benchmark.RequestExecutionBenchmark [clients] [handlerMillis] [platformMaxThreads]
+ * </pre>
+ */
+public class RequestExecutionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int handlerMillis = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : 250;
+
+        System.out.printf("%d concurrent clients, %d ms handler, %d max platform threads%n", clients, handlerMillis, maxThreads);
+        for (String mode : new String[] {"platform", "virtual"}) {
+            run(new ServerSettings(mode, 8, maxThreads, 0, 0, 0), clients, handlerMillis);
+        }
+    }
+
+    private static void run(ServerSettings settings, int clients, int handlerMillis) throws Exception {
+        Javalin app = Javalin.create(config -> {
+            config.jetty.threadPool = ThreadPools.create(settings);
+            config.showJavalinBanner = false;
+        });
+        app.get("/slow", ctx -> {
+            Thread.sleep(handlerMillis);
+            ctx.result("ok");
+        });
+        app.start(0);
+
+        URI uri = URI.create("http://localhost:" + app.port() + "/slow");
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(callers)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build();
+
+            long start = System.nanoTime();
+            List<Future<Long>> results = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                results.add(callers.submit(() -> {
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    return response.statusCode() == 200 ? System.nanoTime() - sent : -1L;
+                }));
+            }
+
+            long[] latencies = new long[clients];
+            int errors = 0;
+            for (int i = 0; i < clients; i++) {
+                try {
+                    latencies[i] = results.get(i).get();
+                } catch (Exception e) {
+                    latencies[i] = -1;
+                }
+                if (latencies[i] < 0) {
+                    errors++;
+                }
+            }
+            double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+            long[] ok = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+            System.out.printf("%-8s wall %.2f s, %.0f req/s, p50 %d ms, p99 %d ms, max %d ms, errors %d%n",
+                settings.threadMode(), wallSeconds, ok.length / wallSeconds,
+                percentileMillis(ok, 50), percentileMillis(ok, 99), percentileMillis(ok, 100), errors);
+        } finally {
+            app.stop();
+        }
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000;
+    }
+}
@@ -0,0 +1,66 @@
+package com.revature.monitoring;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class LatencyHistogramTest {
+
+    @Test
+    @Story("Latency Histogram")
+    @Description("Empty histogram reports zeros")
+    void emptyHistogram_reportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.percentileMillis(99));
+        assertEquals(0.0, histogram.getMeanMillis());
+    }
+
+    @Test
+    @Story("Latency Histogram")
+    @Description("Percentiles are within bucket resolution of the true values")
+    void percentiles_areWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.recordNanos(ms * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.0, histogram.percentileMillis(50), 50.0 * 0.13);
+        assertEquals(95.0, histogram.percentileMillis(95), 95.0 * 0.13);
+        assertEquals(99.0, histogram.percentileMillis(99), 99.0 * 0.13);
+        assertEquals(100.0, histogram.getMaxMillis(), 0.001);
+        assertEquals(50.5, histogram.getMeanMillis(), 0.001);
+    }
+
+    @Test
+    @Story("Latency Histogram")
+    @Description("Bucket boundaries are contiguous and every value maps into its own bucket")
+    void bucketBoundaries_coverValues() {
+        for (long micros : new long[] {0, 1, 15, 16, 17, 100, 1_000, 123_456, 10_000_000}) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertTrue(micros < LatencyHistogram.bucketUpperBoundMicros(index), "value below upper bound: " + micros);
+            if (index > 0) {
+                assertTrue(micros >= LatencyHistogram.bucketUpperBoundMicros(index - 1), "value above lower bound: " + micros);
+            }
+        }
+    }
+
+    @Test
+    @Story("Latency Histogram")
+    @Description("Cumulative counts respect the requested bound")
+    void countAtOrBelow_isCumulative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(1_000_000L);
+        histogram.recordNanos(5_000_000L);
+        histogram.recordNanos(500_000_000L);
+
+        assertEquals(0, histogram.countAtOrBelow(0.5));
+        assertEquals(2, histogram.countAtOrBelow(10));
+        assertEquals(3, histogram.countAtOrBelow(1_000));
+    }
+}
@@ -0,0 +1,102 @@
+package com.revature.monitoring;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class MetricsRegistryTest {
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("Route counters and histograms are labelled by method, route template and status")
+    void scrape_includesRouteMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordRequest("GET", "/api/expenses", 200, 3_000_000L);
+        registry.recordRequest("GET", "/api/expenses", 200, 40_000_000L);
+        registry.recordRequest("GET", "/api/expenses", 500, 1_000_000L);
+
+        String body = registry.scrape();
+
+        assertTrue(body.contains("# TYPE http_requests_total counter"));
+        assertTrue(body.contains("http_requests_total{method=\"GET\",route=\"/api/expenses\",status=\"200\"} 2"));
+        assertTrue(body.contains("http_requests_total{method=\"GET\",route=\"/api/expenses\",status=\"500\"} 1"));
+        assertTrue(body.contains("http_request_duration_seconds_bucket{method=\"GET\",route=\"/api/expenses\",le=\"0.005\"} 2"));
+        assertTrue(body.contains("http_request_duration_seconds_bucket{method=\"GET\",route=\"/api/expenses\",le=\"+Inf\"} 3"));
+        assertTrue(body.contains("http_request_duration_seconds_count{method=\"GET\",route=\"/api/expenses\"} 3"));
+    }
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("Auth, login and report metrics are exported")
+    void scrape_includesAuthAndReportMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordAuth("success");
+        registry.recordAuth("success");
+        registry.recordAuth("unauthorized");
+        registry.recordLogin("failure");
+        registry.recordReport("all", 1_000);
+        registry.recordReport("all", 3_000);
+
+        String body = registry.scrape();
+
+        assertEquals(2, registry.getAuthCount("success"));
+        assertTrue(body.contains("auth_middleware_results_total{result=\"success\"} 2"));
+        assertTrue(body.contains("auth_middleware_results_total{result=\"unauthorized\"} 1"));
+        assertTrue(body.contains("auth_login_attempts_total{result=\"failure\"} 1"));
+        assertTrue(body.contains("report_size_bytes_sum{report=\"all\"} 4000"));
+        assertTrue(body.contains("report_size_bytes_count{report=\"all\"} 2"));
+        assertTrue(body.contains("report_size_bytes_max{report=\"all\"} 3000"));
+    }
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("Database statement metrics come from the shared QueryMetrics")
+    void scrape_includesDatabaseMetrics() {
+        QueryMetrics queryMetrics = new QueryMetrics(10_000, 10);
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findById", "SELECT 1")) {
+            sample.rows(1);
+        }
+        try (QuerySample ignored = queryMetrics.start("ExpenseRepository.findById", "SELECT 1")) {
+            // closed without rows: counted as an error
+        }
+
+        String body = new MetricsRegistry(queryMetrics).scrape();
+
+        assertTrue(body.contains("db_query_duration_seconds_count{method=\"ExpenseRepository.findById\"} 2"));
+        assertTrue(body.contains("db_query_rows_total{method=\"ExpenseRepository.findById\"} 1"));
+        assertTrue(body.contains("db_query_errors_total{method=\"ExpenseRepository.findById\"} 1"));
+        assertTrue(body.contains("db_slow_queries_total 0"));
+    }
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("JVM heap, GC and thread metrics are always present")
+    void scrape_includesJvmMetrics() {
+        String body = new MetricsRegistry().scrape();
+
+        assertTrue(body.contains("jvm_memory_bytes_used{area=\"heap\"}"));
+        assertTrue(body.contains("# TYPE jvm_gc_collection_count_total counter"));
+        assertTrue(body.contains("jvm_threads_current "));
+        assertTrue(body.contains("process_uptime_seconds "));
+    }
+
+    @Test
+    @Story("Prometheus Metrics")
+    @Description("Externally registered series share one header and carry their labels")
+    void scrape_includesRegisteredSeries() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.register("bulkhead_rejected_total", "bulkhead=\"reports\"", "counter", "Rejections", () -> 3);
+        registry.register("bulkhead_rejected_total", "bulkhead=\"reads\"", "counter", "Rejections", () -> 0);
+        registry.register("access_log_records_dropped_total", "counter", "Dropped", () -> 7);
+
+        String body = registry.scrape();
+
+        assertEquals(1, body.split("# TYPE bulkhead_rejected_total counter", -1).length - 1);
+        assertTrue(body.contains("bulkhead_rejected_total{bulkhead=\"reports\"} 3"));
+        assertTrue(body.contains("bulkhead_rejected_total{bulkhead=\"reads\"} 0"));
+        assertTrue(body.contains("access_log_records_dropped_total 7"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.revature.monitoring;
+
+import com.revature.repository.DatabaseConnection;
+import com.revature.repository.SqliteExpenseRepository;
+import com.revature.repository.integration.TestDatabaseSetup;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+@Tag("integration")
+public class QueryMetricsTest {
+
+    private static DatabaseConnection testDbConnection;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException, IOException {
+        testDbConnection = TestDatabaseSetup.initializeTestDatabase();
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        TestDatabaseSetup.cleanup();
+    }
+
+    @Test
+    @Story("Query Metrics")
+    @Description("Each repository method is tagged with its own call count, rows and latency")
+    @SuppressWarnings("unchecked")
+    void repositoryCalls_areRecordedPerMethod() {
+        QueryMetrics metrics = new QueryMetrics(10_000, 10);
+        SqliteExpenseRepository repository = new SqliteExpenseRepository(testDbConnection, metrics);
+
+        int all = repository.findAllExpensesWithUsers().size();
+        repository.findAllExpensesWithUsers();
+        repository.findById(1);
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        Map<String, Object> findAll = (Map<String, Object>) snapshot.get("ExpenseRepository.findAllExpensesWithUsers");
+        assertEquals(2L, findAll.get("calls"));
+        assertEquals(0L, findAll.get("errors"));
+        assertEquals((long) all * 2, ((Map<String, Object>) findAll.get("rows")).get("total"));
+        assertTrue(((Map<String, Object>) findAll.get("latencyMs")).containsKey("p99"));
+        assertTrue(((Map<String, Object>) findAll.get("connectionAcquisitionMs")).containsKey("p50"));
+        assertTrue(snapshot.containsKey("ExpenseRepository.findById"));
+        assertEquals(0, metrics.getSlowQueryLog().getTotal());
+    }
+
+    @Test
+    @Story("Slow Query Log")
+    @Description("Queries above the threshold are logged with their EXPLAIN QUERY PLAN output")
+    void slowQueries_captureQueryPlan() {
+        QueryMetrics metrics = new QueryMetrics(0, 2);
+        SqliteExpenseRepository repository = new SqliteExpenseRepository(testDbConnection, metrics);
+
+        repository.findById(1);
+        repository.findPendingExpensesWithUsers();
+        repository.findExpensesByUser(1);
+
+        List<SlowQueryLog.Entry> recent = metrics.getSlowQueryLog().recent();
+        assertEquals(3, metrics.getSlowQueryLog().getTotal());
+        assertEquals(2, recent.size(), "Ring buffer keeps only the newest entries");
+        assertEquals("ExpenseRepository.findExpensesByUser", recent.get(0).method());
+        assertFalse(recent.get(0).plan().isEmpty());
+        assertFalse(recent.get(0).plan().get(0).startsWith("EXPLAIN failed"));
+    }
+
+    @Test
+    @Story("Query Metrics")
+    @Description("A failing statement is counted as an error")
+    @SuppressWarnings("unchecked")
+    void failedStatements_areCountedAsErrors() {
+        QueryMetrics metrics = new QueryMetrics(10_000, 10);
+        SqliteExpenseRepository repository = new SqliteExpenseRepository(
+                new DatabaseConnection("/nonexistent-dir/missing.db"), metrics);
+
+        assertThrows(RuntimeException.class, repository::findAllExpensesWithUsers);
+
+        Map<String, Object> entry = (Map<String, Object>) metrics.snapshot().get("ExpenseRepository.findAllExpensesWithUsers");
+        assertEquals(1L, entry.get("errors"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.revature.monitoring.jfr;
+
+import com.revature.monitoring.QueryMetrics;
+import com.revature.monitoring.QuerySample;
+import io.qameta.allure.*;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class FlightRecorderServiceTest {
+
+    private final FlightRecorderService service = new FlightRecorderService();
+
+    @AfterEach
+    void tearDown() {
+        try {
+            service.stop();
+        } catch (IllegalStateException e) {
+            // not running
+        }
+    }
+
+    @Test
+    @Story("Flight Recorder")
+    @Description("Repository statements are recorded as custom JFR events and included in the dump")
+    void dump_containsCustomQueryEvents() throws Exception {
+        assertEquals("RUNNING", service.start("default").get("state"));
+
+        QueryMetrics queryMetrics = new QueryMetrics();
+        try (QuerySample sample = queryMetrics.start("ExpenseRepository.findById", "SELECT 1")) {
+            sample.rows(3);
+        }
+        service.stop();
+
+        Path dump = service.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().equals("com.revature.Query"))
+                .toList();
+            assertEquals(1, events.size());
+            assertEquals("ExpenseRepository.findById", events.get(0).getString("method"));
+            assertEquals(3, events.get(0).getLong("rows"));
+            assertFalse(events.get(0).getBoolean("failed"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    @Story("Flight Recorder")
+    @Description("Starting twice, stopping when idle and unknown settings are rejected")
+    void start_rejectsInvalidTransitions() {
+        assertEquals("NONE", service.status().get("state"));
+        assertThrows(IllegalStateException.class, service::stop);
+        assertThrows(IllegalStateException.class, service::dump);
+        assertThrows(IllegalArgumentException.class, () -> service.start("no-such-settings"));
+
+        service.start("profile");
+        assertThrows(IllegalStateException.class, () -> service.start("default"));
+        assertEquals("STOPPED", service.stop().get("state"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.revature.monitoring.logging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class AccessLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Story("Access Log")
+    @Description("Records are written as JSON lines with route, status, latency and user ID")
+    void log_writesStructuredJsonLines() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        try (AccessLog accessLog = new AccessLog(new RollingFileAppender(file, 1_000_000, 2), 16)) {
+            accessLog.log(new AccessLogRecord(0, "GET", "/api/expenses", "/api/expenses", 200, 2_500_000, 2, "abc"));
+            accessLog.log(new AccessLogRecord(0, "POST", "unmatched", "/api/auth/login", 401, 1_000_000, null, null));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertEquals("/api/expenses", first.get("route").asText());
+        assertEquals(200, first.get("status").asInt());
+        assertEquals(2.5, first.get("latencyMs").asDouble());
+        assertEquals(2, first.get("userId").asInt());
+        assertEquals("abc", first.get("traceId").asText());
+        assertTrue(new ObjectMapper().readTree(lines.get(1)).get("userId").isNull());
+    }
+
+    @Test
+    @Story("Access Log")
+    @Description("The appender rolls the file over at the size limit and keeps only the configured number of files")
+    void appender_rollsOverAndPrunes() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        try (RollingFileAppender appender = new RollingFileAppender(file, 50, 2)) {
+            for (int i = 0; i < 20; i++) {
+                appender.append("line " + i + " ------------------");
+            }
+        }
+
+        assertTrue(Files.exists(file));
+        assertTrue(Files.exists(tempDir.resolve("access.log.1")));
+        assertTrue(Files.exists(tempDir.resolve("access.log.2")));
+        assertFalse(Files.exists(tempDir.resolve("access.log.3")));
+        assertTrue(Files.readString(file).contains("line 19"));
+    }
+
+    @Test
+    @Story("Access Log")
+    @Description("The ring buffer rejects instead of blocking when full and loses nothing under concurrent producers")
+    void ringBuffer_isBoundedAndLossless() throws Exception {
+        RingBuffer<Integer> full = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(full.offer(i));
+        }
+        assertFalse(full.offer(4));
+        assertEquals(0, full.poll());
+        assertTrue(full.offer(4));
+
+        RingBuffer<Integer> ring = new RingBuffer<>(1 << 16);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int base = p * 10_000;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    assertTrue(ring.offer(base + i));
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Integer value;
+        while ((value = ring.poll()) != null) {
+            seen.add(value);
+        }
+        assertEquals(40_000, seen.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.revature.monitoring.tracing;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Monitoring")
+public class TracingTest {
+
+    @AfterEach
+    void tearDown() {
+        Tracing.finish("unmatched", 0);
+    }
+
+    @Test
+    @Story("Request Tracing")
+    @Description("Nested spans are recorded with their depth, order and tags")
+    void finish_recordsNestedSpans() {
+        Tracing.start("0123456789abcdef0123456789abcdef", "GET", "/api/expenses");
+        try (Span controller = Tracing.span("ExpenseController.getAllExpenses")) {
+            try (Span service = Tracing.span("ExpenseService.getAllExpenses")) {
+                Tracing.span("ExpenseRepository.findAllExpensesWithUsers").tag("rows", 5).close();
+            }
+        }
+
+        TraceRecord trace = Tracing.finish("/api/expenses", 200);
+
+        assertNull(Tracing.currentTraceId());
+        assertEquals("0123456789abcdef0123456789abcdef", trace.traceId());
+        assertEquals(200, trace.status());
+        List<TraceRecord.SpanRecord> spans = trace.spans();
+        assertEquals(3, spans.size());
+        assertEquals("ExpenseController.getAllExpenses", spans.get(0).name());
+        assertEquals(0, spans.get(0).depth());
+        assertEquals(1, spans.get(1).depth());
+        assertEquals(2, spans.get(2).depth());
+        assertEquals(5, spans.get(2).tags().get("rows"));
+        assertTrue(spans.get(0).durationMs() >= spans.get(1).durationMs());
+    }
+
+    @Test
+    @Story("Request Tracing")
+    @Description("Spans opened outside a request are no-ops")
+    void span_withoutTrace_isNoop() {
+        assertSame(Span.NOOP, Tracing.span("ExpenseService.getAllExpenses"));
+        assertNull(Tracing.finish("/api/expenses", 200));
+    }
+
+    @Test
+    @Story("Request Tracing")
+    @Description("Generated trace IDs are 32 lowercase hex characters")
+    void newTraceId_isW3cFormat() {
+        assertTrue(Tracing.newTraceId().matches("[0-9a-f]{32}"));
+        assertNotEquals(Tracing.newTraceId(), Tracing.newTraceId());
+    }
+
+    @Test
+    @Story("Request Tracing")
+    @Description("The trace store keeps the newest traces and filters by duration and route")
+    void traceStore_filtersAndOverwritesOldest() {
+        TraceStore store = new TraceStore(3);
+        for (int i = 0; i < 5; i++) {
+            store.add(new TraceRecord("trace-" + i, "", "GET", "/api/expenses", i % 2 == 0 ? "/api/expenses" : "/health",
+                200, i * 10.0, List.of(), 0));
+        }
+
+        assertEquals(5, store.getTotal());
+        assertEquals(List.of("trace-4", "trace-3", "trace-2"),
+            store.recent(10, 0, null).stream().map(TraceRecord::traceId).toList());
+        assertEquals(List.of("trace-4"),
+            store.recent(10, 25, "/api/expenses").stream().map(TraceRecord::traceId).toList());
+        assertNull(store.find("trace-0"));
+        assertNotNull(store.find("trace-3"));
+    }
+}
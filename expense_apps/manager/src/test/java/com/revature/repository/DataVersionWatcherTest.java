@@ -0,0 +1,48 @@
+package com.revature.repository;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Conditional Requests")
+public class DataVersionWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Story("External Writes")
+    @Description("A commit through another connection is detected once, and reads alone change nothing")
+    void check_detectsCommitsFromOtherConnections() throws Exception {
+        DatabaseConnection db = new DatabaseConnection(tempDir.resolve("watch.db").toString());
+        execute(db, "CREATE TABLE approvals (id INTEGER PRIMARY KEY, status TEXT)");
+        AtomicInteger callbacks = new AtomicInteger();
+
+        try (DataVersionWatcher watcher = new DataVersionWatcher(db, 1000, callbacks::incrementAndGet)) {
+            assertFalse(watcher.check(), "first check only records the baseline");
+            assertFalse(watcher.check());
+
+            execute(db, "INSERT INTO approvals (status) VALUES ('pending')");
+            assertTrue(watcher.check());
+            assertFalse(watcher.check());
+
+            assertEquals(1, callbacks.get());
+            assertEquals(1, watcher.getChanges());
+            assertEquals(4, watcher.getChecks());
+        }
+    }
+
+    private static void execute(DatabaseConnection db, String sql) throws Exception {
+        try (Connection conn = db.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.revature.repository;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Sparse Fieldsets")
+public class ExpenseProjectionTest {
+
+    @Test
+    @Story("Projection")
+    @Description("Field lists are canonicalized, so the same fieldset in any order shares one SELECT list")
+    void parse_canonicalizesFieldOrder() {
+        ExpenseProjection projection = ExpenseProjection.parse("status, amount,id,amount");
+
+        assertEquals(ExpenseProjection.parse("id,amount,status"), projection);
+        assertEquals("id,amount,status", projection.toString());
+        assertEquals("e.id, e.amount, a.status", projection.selectList());
+        assertSame(ExpenseProjection.SUMMARY, ExpenseProjection.parse("summary"));
+    }
+
+    @Test
+    @Story("Projection")
+    @Description("Unknown or empty fieldsets are rejected")
+    void parse_rejectsUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> ExpenseProjection.parse("id,password"));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseProjection.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseProjection.parse(null));
+    }
+
+    @Test
+    @Story("Projection")
+    @Description("The in-memory engine projects joined rows to the same flat shape")
+    void project_returnsOnlySelectedFields() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        store.saveUser(new User(1, "employee1", "password123", "Employee"));
+        store.saveExpense(new Expense(1, 1, 42.5, "Taxi", "2024-12-01"));
+        store.saveApproval(new Approval(1, 1, "approved", 3, "ok", "2024-12-02"));
+
+        List<Map<String, Object>> rows = new InMemoryExpenseRepository(store)
+            .findAllExpensesProjected(ExpenseProjection.parse("reviewer,username,amount"));
+
+        assertEquals(List.of(Map.of("username", "employee1", "amount", 42.5, "reviewer", 3)), rows);
+        assertEquals(List.of("username", "amount", "reviewer"), List.copyOf(rows.get(0).keySet()));
+    }
+}
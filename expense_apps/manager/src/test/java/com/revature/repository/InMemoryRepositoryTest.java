@@ -0,0 +1,202 @@
+package com.revature.repository;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory storage engine.
+ */
+@Epic("Manager App")
+@Feature("In-Memory Storage Engine")
+public class InMemoryRepositoryTest {
+
+    private InMemoryDataStore store;
+    private InMemoryExpenseRepository expenseRepository;
+    private InMemoryApprovalRepository approvalRepository;
+    private InMemoryUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryDataStore();
+        expenseRepository = new InMemoryExpenseRepository(store);
+        approvalRepository = new InMemoryApprovalRepository(store);
+        userRepository = new InMemoryUserRepository(store);
+
+        store.saveUser(new User(1, "employee1", "password123", "Employee"));
+        store.saveUser(new User(2, "employee2", "password456", "Employee"));
+        store.saveUser(new User(3, "manager1", "password123", "Manager"));
+
+        store.saveExpense(new Expense(1, 1, 150.00, "Business lunch", "2024-12-01"));
+        store.saveExpense(new Expense(2, 1, 250.50, "Travel expense", "2024-12-05"));
+        store.saveExpense(new Expense(3, 2, 120.00, "Client LUNCH", "2024-12-03"));
+        store.saveExpense(new Expense(4, 2, 99.00, "Orphan without approval", "2024-12-04"));
+
+        store.saveApproval(new Approval(1, 1, "pending", null, null, null));
+        store.saveApproval(new Approval(2, 2, "approved", 3, "ok", "2024-12-06"));
+        store.saveApproval(new Approval(3, 3, "pending", null, null, null));
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("All expenses are returned newest first and rows without an approval are excluded like the SQL join")
+    void findAllExpensesWithUsers_ordersByDateDescending() {
+        List<ExpenseWithUser> results = expenseRepository.findAllExpensesWithUsers();
+
+        assertEquals(List.of(2, 3, 1), results.stream().map(e -> e.getExpense().getId()).toList());
+        assertNull(results.get(0).getUser().getPassword(), "Joined user must not carry the password");
+        assertEquals("employee1", results.get(0).getUser().getUsername());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Pending filter only returns expenses whose approval is pending")
+    void findPendingExpensesWithUsers_filtersByStatus() {
+        List<ExpenseWithUser> results = expenseRepository.findPendingExpensesWithUsers();
+
+        assertEquals(List.of(3, 1), results.stream().map(e -> e.getExpense().getId()).toList());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Date range uses the sorted date index with inclusive bounds")
+    void findExpensesByDateRange_isInclusive() {
+        assertEquals(List.of(3, 1), expenseRepository.findExpensesByDateRange("2024-12-01", "2024-12-03")
+                .stream().map(e -> e.getExpense().getId()).toList());
+        assertTrue(expenseRepository.findExpensesByDateRange("2024-12-31", "2024-12-01").isEmpty());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Category match is a case-insensitive substring match like SQLite LIKE")
+    void findExpensesByCategory_matchesCaseInsensitively() {
+        List<ExpenseWithUser> results = expenseRepository.findExpensesByCategory("lunch");
+
+        assertEquals(List.of(3, 1), results.stream().map(e -> e.getExpense().getId()).toList());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Per-user lookup uses the user index and keeps date ordering")
+    void findExpensesByUser_returnsOnlyThatUser() {
+        List<ExpenseWithUser> results = expenseRepository.findExpensesByUser(1);
+
+        assertEquals(List.of(2, 1), results.stream().map(e -> e.getExpense().getId()).toList());
+        assertTrue(expenseRepository.findExpensesByUser(42).isEmpty());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Streaming passes the same rows in the same order as the list lookups")
+    void streamExpenses_matchesListLookups() {
+        List<ExpenseWithUser> all = new ArrayList<>();
+        List<ExpenseWithUser> pending = new ArrayList<>();
+        List<ExpenseWithUser> byUser = new ArrayList<>();
+
+        assertEquals(3, expenseRepository.streamAllExpensesWithUsers(all::add));
+        assertEquals(2, expenseRepository.streamPendingExpensesWithUsers(pending::add));
+        assertEquals(2, expenseRepository.streamExpensesByUser(1, byUser::add));
+
+        assertEquals(List.of(2, 3, 1), all.stream().map(e -> e.getExpense().getId()).toList());
+        assertEquals(List.of(3, 1), pending.stream().map(e -> e.getExpense().getId()).toList());
+        assertEquals(List.of(2, 1), byUser.stream().map(e -> e.getExpense().getId()).toList());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Streaming walks the date index as rows are consumed instead of collecting them first")
+    void streamExpenses_walksIndexLazily() {
+        List<Integer> seen = new ArrayList<>();
+
+        int rows = expenseRepository.streamExpenses(new ExpenseFilter(null, null, null, null, null), row -> {
+            if (seen.isEmpty()) {
+                // Older than every date not yet walked, so a lazy walk still reaches it
+                store.saveExpense(new Expense(5, 1, 10.00, "Late taxi", "2024-11-01"));
+                store.saveApproval(new Approval(4, 5, "pending", null, null, null));
+            }
+            seen.add(row.getExpense().getId());
+        });
+
+        assertEquals(List.of(2, 3, 1, 5), seen);
+        assertEquals(4, rows);
+    }
+
+    @Test
+    @Story("Approvals")
+    @Description("Updating an approval changes status, reviewer, comment and review date")
+    void updateApprovalStatus_updatesExistingApproval() {
+        assertTrue(approvalRepository.updateApprovalStatus(1, "approved", 3, "looks good"));
+
+        Approval approval = approvalRepository.findByExpenseId(1).orElseThrow();
+        assertEquals("approved", approval.getStatus());
+        assertEquals(3, approval.getReviewer());
+        assertEquals("looks good", approval.getComment());
+        assertNotNull(approval.getReviewDate());
+        assertFalse(expenseRepository.findPendingExpensesWithUsers().stream()
+                .anyMatch(e -> e.getExpense().getId() == 1));
+    }
+
+    @Test
+    @Story("Approvals")
+    @Description("Updating an approval that does not exist reports failure")
+    void updateApprovalStatus_returnsFalseWhenMissing() {
+        assertFalse(approvalRepository.updateApprovalStatus(99, "approved", 3, null));
+    }
+
+    @Test
+    @Story("Approvals")
+    @Description("Created approvals get a fresh ID and make the expense visible to joins")
+    void createApproval_assignsNextId() {
+        Approval created = approvalRepository.createApproval(4, "pending");
+
+        assertEquals(4, created.getId());
+        assertEquals(4, expenseRepository.findAllExpensesWithUsers().size());
+    }
+
+    @Test
+    @Story("Users")
+    @Description("Users can be found by ID and username; returned objects are copies")
+    void findUsers_returnsCopies() {
+        Optional<User> byName = userRepository.findByUsername("manager1");
+        assertTrue(byName.isPresent());
+        assertEquals("password123", byName.get().getPassword());
+
+        byName.get().setRole("Employee");
+        assertEquals("Manager", userRepository.findById(3).orElseThrow().getRole());
+        assertTrue(userRepository.findByUsername("nobody").isEmpty());
+    }
+
+    @Test
+    @Story("Find Expenses")
+    @Description("Re-saving an expense with a new date moves it in the date index")
+    void saveExpense_reindexesChangedDate() {
+        store.saveExpense(new Expense(1, 1, 150.00, "Business lunch", "2024-12-31"));
+
+        assertEquals(1, expenseRepository.findAllExpensesWithUsers().get(0).getExpense().getId());
+        assertTrue(expenseRepository.findExpensesByDateRange("2024-12-01", "2024-12-01").isEmpty());
+    }
+
+    @Test
+    @Story("Change Log")
+    @Description("Changes since a version contain only re-reviewed expenses; an unknown version resets to everything")
+    void findChangesSince_returnsOnlyLaterChanges() {
+        ExpenseChanges all = expenseRepository.findChangesSince(0);
+        assertEquals(List.of(2, 3, 1), all.getChanged().stream().map(e -> e.getExpense().getId()).toList());
+        assertEquals(List.of(4), all.getDeleted(), "Expense without an approval is not in any list");
+
+        approvalRepository.updateApprovalStatus(3, "denied", 3, "no");
+        ExpenseChanges delta = expenseRepository.findChangesSince(all.getVersion());
+
+        assertEquals(all.getVersion() + 1, delta.getVersion());
+        assertEquals(List.of(3), delta.getChanged().stream().map(e -> e.getExpense().getId()).toList());
+        assertEquals("denied", delta.getChanged().get(0).getApproval().getStatus());
+        assertTrue(expenseRepository.findChangesSince(delta.getVersion()).getChanged().isEmpty());
+        assertTrue(expenseRepository.findChangesSince(delta.getVersion() + 100).isReset());
+    }
+}
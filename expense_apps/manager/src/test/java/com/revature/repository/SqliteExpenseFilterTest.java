@@ -0,0 +1,126 @@
+package com.revature.repository;
+
+import com.revature.monitoring.QueryMetrics;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class SqliteExpenseFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseConnection db;
+    private StatementCache statementCache;
+    private SqliteExpenseRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = new DatabaseConnection(tempDir.resolve("filter.db").toString());
+        execute("CREATE TABLE users (id INTEGER PRIMARY KEY, username TEXT, password TEXT, role TEXT)");
+        execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY, user_id INTEGER, amount REAL, description TEXT, date TEXT)");
+        execute("CREATE TABLE approvals (id INTEGER PRIMARY KEY, expense_id INTEGER, status TEXT, reviewer INTEGER, comment TEXT, review_date TEXT)");
+        execute("INSERT INTO users VALUES (1, 'employee1', 'x', 'Employee'), (2, 'employee2', 'x', 'Employee')");
+        execute("""
+            INSERT INTO expenses VALUES
+                (1, 1, 10, 'Taxi to airport', '2026-01-05'),
+                (2, 1, 20, 'Hotel', '2026-01-10'),
+                (3, 1, 30, 'Taxi home', '2026-02-01'),
+                (4, 2, 40, 'taxi', '2026-01-07')
+            """);
+        execute("""
+            INSERT INTO approvals VALUES
+                (1, 1, 'pending', NULL, NULL, NULL),
+                (2, 2, 'pending', NULL, NULL, NULL),
+                (3, 3, 'pending', NULL, NULL, NULL),
+                (4, 4, 'approved', 9, 'ok', '2026-01-08')
+            """);
+        statementCache = new StatementCache(db);
+        repository = new SqliteExpenseRepository(db, new QueryMetrics(), statementCache);
+        repository.installFilterIndexes();
+    }
+
+    @Test
+    @Story("Report Search")
+    @Description("All set criteria are applied together in the query")
+    void findExpenses_combinesCriteria() {
+        assertEquals(List.of(1), ids(new ExpenseFilter(1, "TAXI", "2026-01-01", "2026-01-31", "pending")));
+        assertEquals(List.of(3, 2, 4, 1), ids(new ExpenseFilter(null, null, null, null, null)));
+        assertEquals(List.of(4), ids(new ExpenseFilter(null, "taxi", null, null, "approved")));
+        assertEquals(List.of(), ids(new ExpenseFilter(2, null, "2026-02-01", null, null)));
+    }
+
+    @Test
+    @Story("Report Search")
+    @Description("Filters of the same shape reuse one prepared statement and still see later writes")
+    void findExpenses_reusesStatementPerShape() throws Exception {
+        assertEquals(List.of(2, 1), ids(new ExpenseFilter(1, null, "2026-01-01", "2026-01-31", null)));
+        assertEquals(List.of(4), ids(new ExpenseFilter(2, null, "2026-01-01", "2026-01-31", null)));
+        assertEquals(1, statementCache.getMisses());
+        assertEquals(1, statementCache.getHits());
+
+        execute("INSERT INTO expenses VALUES (5, 2, 50, 'Lunch', '2026-01-20')");
+        execute("INSERT INTO approvals VALUES (5, 5, 'pending', NULL, NULL, NULL)");
+        assertEquals(List.of(5, 4), ids(new ExpenseFilter(2, null, "2026-01-01", "2026-01-31", null)));
+
+        assertEquals(List.of(3, 5, 2, 1), ids(new ExpenseFilter(null, null, null, null, "pending")));
+        assertEquals(2, statementCache.getMisses(), "a new shape prepares a new statement");
+    }
+
+    @Test
+    @Story("Report Bundles")
+    @Description("Per-employee counts apply the filter and leave out employees without matching expenses")
+    void countExpensesByEmployee_appliesFilter() {
+        assertEquals(Map.of(1, 3, 2, 1), repository.countExpensesByEmployee(new ExpenseFilter(null, null, null, null, null)));
+        assertEquals(Map.of(1, 2), repository.countExpensesByEmployee(new ExpenseFilter(null, "taxi", null, null, "pending")));
+        assertEquals(Map.of(), repository.countExpensesByEmployee(new ExpenseFilter(null, null, "2026-03-01", null, null)));
+    }
+
+    @Test
+    @Story("Report Search")
+    @Description("Employee, date and status criteria are answered from indexes rather than table scans")
+    void compileFilter_usesIndexes() throws Exception {
+        assertTrue(plan(ExpenseFilter.EMPLOYEE | ExpenseFilter.START_DATE | ExpenseFilter.END_DATE)
+            .contains("idx_expenses_user_date"));
+        assertTrue(plan(ExpenseFilter.START_DATE | ExpenseFilter.END_DATE).contains("idx_expenses_date"));
+        assertTrue(plan(ExpenseFilter.STATUS).contains("idx_approvals_status"));
+    }
+
+    private List<Integer> ids(ExpenseFilter filter) {
+        return repository.findExpenses(filter).stream().map(row -> row.getExpense().getId()).toList();
+    }
+
+    private String plan(int shape) throws Exception {
+        String sql = SqliteExpenseRepository.compileFilter(shape);
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = db.getConnection();
+             var stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 1; i <= stmt.getParameterMetaData().getParameterCount(); i++) {
+                stmt.setString(i, "x");
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                plan.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection conn = db.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
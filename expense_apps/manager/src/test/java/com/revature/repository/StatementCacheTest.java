@@ -0,0 +1,68 @@
+package com.revature.repository;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class StatementCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Story("Statement Cache")
+    @Description("A later lease gets the same connection back with its statement already prepared")
+    void acquire_reusesConnectionAndStatement() throws Exception {
+        StatementCache cache = new StatementCache(new DatabaseConnection(tempDir.resolve("cache.db").toString()));
+
+        PreparedStatement first;
+        try (StatementCache.Lease lease = cache.acquire()) {
+            first = lease.prepare("SELECT ?");
+        }
+        try (StatementCache.Lease lease = cache.acquire()) {
+            PreparedStatement second = lease.prepare("SELECT ?");
+            assertSame(first, second);
+            second.setInt(1, 7);
+            second.executeQuery().close();
+        }
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getIdleConnections());
+        cache.clear();
+        assertEquals(0, cache.getIdleConnections());
+    }
+
+    @Test
+    @Story("Statement Cache")
+    @Description("Idle connections and statements per connection are bounded, and discarded leases are not kept")
+    void acquire_boundsIdleConnectionsAndStatements() throws Exception {
+        StatementCache cache = new StatementCache(new DatabaseConnection(tempDir.resolve("cache.db").toString()), 1, 1);
+
+        try (StatementCache.Lease a = cache.acquire(); StatementCache.Lease b = cache.acquire()) {
+            a.prepare("SELECT 1");
+            b.prepare("SELECT 1");
+        }
+        assertEquals(1, cache.getIdleConnections());
+
+        try (StatementCache.Lease lease = cache.acquire()) {
+            lease.prepare("SELECT 1");
+            lease.prepare("SELECT 2");
+            lease.prepare("SELECT 1");
+        }
+        assertEquals(1, cache.getHits(), "the kept connection still had SELECT 1");
+        assertEquals(4, cache.getMisses(), "SELECT 2 evicted SELECT 1");
+
+        try (StatementCache.Lease lease = cache.acquire()) {
+            lease.discard();
+        }
+        assertEquals(0, cache.getIdleConnections());
+    }
+}
@@ -2,6 +2,7 @@ package com.revature.repository.integration;
 
 import com.revature.repository.Approval;
 import com.revature.repository.ApprovalRepository;
+import com.revature.repository.SqliteApprovalRepository;
 import com.revature.repository.DatabaseConnection;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
@@ -24,7 +25,7 @@ public class ApprovalRepositoryIntegrationTest {
     static void setUpDatabase() throws SQLException, IOException {
         Allure.step("Initialize test database and ApprovalRepository", () -> {
             testDbConnection = TestDatabaseSetup.initializeTestDatabase();
-            approvalRepository = new ApprovalRepository(testDbConnection);
+            approvalRepository = new SqliteApprovalRepository(testDbConnection);
         });
     }
 
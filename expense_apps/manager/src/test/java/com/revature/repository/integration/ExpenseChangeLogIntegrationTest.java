@@ -0,0 +1,101 @@
+package com.revature.repository.integration;
+
+import com.revature.repository.DatabaseConnection;
+import com.revature.repository.ExpenseChanges;
+import com.revature.repository.SqliteApprovalRepository;
+import com.revature.repository.SqliteExpenseRepository;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Tests for the trigger-fed expense change log.
+ *
+ * Writes go straight to SQLite the way the employee app would, and
+ * findChangesSince must report exactly the affected expenses.
+ */
+@Epic("Manager App")
+@Feature("Delta Sync")
+@Tag("integration")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ExpenseChangeLogIntegrationTest {
+
+    private static DatabaseConnection testDbConnection;
+    private static SqliteExpenseRepository expenseRepository;
+    private static SqliteApprovalRepository approvalRepository;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException, IOException {
+        testDbConnection = TestDatabaseSetup.initializeTestDatabase();
+        expenseRepository = new SqliteExpenseRepository(testDbConnection);
+        approvalRepository = new SqliteApprovalRepository(testDbConnection);
+        expenseRepository.installChangeLog();
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        TestDatabaseSetup.cleanup();
+    }
+
+    @Test
+    @Order(1)
+    @Story("Change Log")
+    @Description("Syncing from version 0 returns every expense, and reinstalling does not record them again")
+    void findChangesSince_zeroReturnsEveryExpense() {
+        expenseRepository.installChangeLog();
+
+        ExpenseChanges changes = expenseRepository.findChangesSince(0);
+
+        assertEquals(expenseRepository.findAllExpensesWithUsers().size(), changes.getChanged().size());
+        assertEquals(changes.getChanged().size(), changes.getVersion());
+        assertTrue(changes.getDeleted().isEmpty());
+        assertFalse(changes.isReset());
+    }
+
+    @Test
+    @Order(2)
+    @Story("Change Log")
+    @Description("Approval writes and external inserts are picked up by the triggers")
+    void findChangesSince_returnsOnlyLaterWrites() throws SQLException {
+        long version = expenseRepository.findChangesSince(0).getVersion();
+
+        assertTrue(approvalRepository.updateApprovalStatus(4, "approved", 3, "fine"));
+        execute("INSERT INTO expenses (id, user_id, amount, description, date) VALUES (100, 1, 5.0, 'Coffee', '2024-12-30')");
+        execute("INSERT INTO approvals (expense_id, status) VALUES (100, 'pending')");
+        ExpenseChanges changes = expenseRepository.findChangesSince(version);
+
+        assertEquals(List.of(100, 4), changes.getChanged().stream().map(e -> e.getExpense().getId()).toList());
+        assertEquals("approved", changes.getChanged().get(1).getApproval().getStatus());
+        assertEquals(version + 3, changes.getVersion());
+        assertTrue(expenseRepository.findChangesSince(changes.getVersion()).getChanged().isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    @Story("Change Log")
+    @Description("Deleted expenses are reported by ID, and a version ahead of the log asks the client to reset")
+    void findChangesSince_reportsDeletesAndResets() throws SQLException {
+        long version = expenseRepository.findChangesSince(0).getVersion();
+
+        execute("DELETE FROM approvals WHERE expense_id = 100");
+        execute("DELETE FROM expenses WHERE id = 100");
+        ExpenseChanges changes = expenseRepository.findChangesSince(version);
+
+        assertTrue(changes.getChanged().isEmpty());
+        assertEquals(List.of(100), changes.getDeleted());
+        assertTrue(expenseRepository.findChangesSince(changes.getVersion() + 1).isReset());
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection conn = testDbConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.revature.repository.integration;
 import com.revature.repository.DatabaseConnection;
 import com.revature.repository.Expense;
 import com.revature.repository.ExpenseRepository;
+import com.revature.repository.SqliteExpenseRepository;
 import com.revature.repository.ExpenseWithUser;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
@@ -32,7 +33,7 @@ public class ExpenseRepositoryIntegrationTest {
     @Step("Set up the test database")
     static void setUpDatabase() throws SQLException, IOException {
         testDbConnection = TestDatabaseSetup.initializeTestDatabase();
-        expenseRepository = new ExpenseRepository(testDbConnection);
+        expenseRepository = new SqliteExpenseRepository(testDbConnection);
         Allure.step("Test database initialized successfully");
     }
 
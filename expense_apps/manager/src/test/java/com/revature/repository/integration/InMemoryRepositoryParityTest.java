@@ -0,0 +1,126 @@
+package com.revature.repository.integration;
+
+import com.revature.repository.DatabaseConnection;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseProjection;
+import com.revature.repository.ExpenseRepository;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.InMemoryDataStore;
+import com.revature.repository.InMemoryExpenseRepository;
+import com.revature.repository.InMemoryUserRepository;
+import com.revature.repository.SqliteExpenseRepository;
+import com.revature.repository.SqliteUserRepository;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Tests comparing the in-memory storage engine against SQLite.
+ *
+ * Loads the seeded test database into an InMemoryDataStore and checks that
+ * both engines return the same rows in the same order.
+ */
+@Epic("Manager App")
+@Feature("In-Memory Storage Engine")
+@Tag("integration")
+public class InMemoryRepositoryParityTest {
+
+    private static ExpenseRepository sqliteExpenses;
+    private static ExpenseRepository memoryExpenses;
+    private static SqliteUserRepository sqliteUsers;
+    private static InMemoryUserRepository memoryUsers;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException, IOException {
+        DatabaseConnection testDbConnection = TestDatabaseSetup.initializeTestDatabase();
+        InMemoryDataStore store = new InMemoryDataStore();
+        store.loadFrom(testDbConnection);
+
+        sqliteExpenses = new SqliteExpenseRepository(testDbConnection);
+        memoryExpenses = new InMemoryExpenseRepository(store);
+        sqliteUsers = new SqliteUserRepository(testDbConnection);
+        memoryUsers = new InMemoryUserRepository(store);
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        TestDatabaseSetup.cleanup();
+    }
+
+    @Test
+    @Story("Engine Parity")
+    @Description("Both engines return the same expenses for every list query")
+    void listQueriesMatch() {
+        assertSameRows(sqliteExpenses.findAllExpensesWithUsers(), memoryExpenses.findAllExpensesWithUsers());
+        assertSameRows(sqliteExpenses.findPendingExpensesWithUsers(), memoryExpenses.findPendingExpensesWithUsers());
+        assertSameRows(sqliteExpenses.findExpensesByUser(1), memoryExpenses.findExpensesByUser(1));
+        assertSameRows(sqliteExpenses.findExpensesByCategory("expense"), memoryExpenses.findExpensesByCategory("expense"));
+        assertSameRows(sqliteExpenses.findExpensesByDateRange("2024-12-03", "2024-12-10"),
+                memoryExpenses.findExpensesByDateRange("2024-12-03", "2024-12-10"));
+    }
+
+    @Test
+    @Story("Engine Parity")
+    @Description("Both engines return the same projected rows, and SQLite selects only the requested columns")
+    void projectedQueriesMatch() {
+        ExpenseProjection all = ExpenseProjection.parse(
+            "id,userId,username,role,amount,description,date,approvalId,status,reviewer,comment,reviewDate");
+        for (ExpenseProjection projection : List.of(ExpenseProjection.SUMMARY, all)) {
+            assertEquals(sqliteExpenses.findAllExpensesProjected(projection), memoryExpenses.findAllExpensesProjected(projection));
+            assertEquals(sqliteExpenses.findPendingExpensesProjected(projection), memoryExpenses.findPendingExpensesProjected(projection));
+            assertEquals(sqliteExpenses.findExpensesByUserProjected(1, projection), memoryExpenses.findExpensesByUserProjected(1, projection));
+        }
+        assertEquals(sqliteExpenses.findAllExpensesWithUsers().size(),
+            sqliteExpenses.findAllExpensesProjected(ExpenseProjection.SUMMARY).size());
+    }
+
+    @Test
+    @Story("Engine Parity")
+    @Description("Both engines stream and find the same rows for combined filters, matching the single-criterion queries")
+    void filteredStreamsMatch() {
+        List<ExpenseFilter> filters = List.of(
+            new ExpenseFilter(null, null, null, null, null),
+            new ExpenseFilter(1, null, null, null, "pending"),
+            new ExpenseFilter(null, "EXPENSE", "2024-12-03", null, null),
+            new ExpenseFilter(null, null, null, "2024-12-10", "approved"),
+            new ExpenseFilter(2, "expense", "2024-12-03", "2024-12-10", null));
+        for (ExpenseFilter filter : filters) {
+            List<ExpenseWithUser> sqliteRows = new ArrayList<>();
+            List<ExpenseWithUser> memoryRows = new ArrayList<>();
+            assertEquals(sqliteExpenses.streamExpenses(filter, sqliteRows::add), sqliteRows.size());
+            assertEquals(memoryExpenses.streamExpenses(filter, memoryRows::add), memoryRows.size());
+            assertSameRows(sqliteRows, memoryRows);
+            assertSameRows(sqliteRows, sqliteExpenses.findExpenses(filter));
+            assertSameRows(memoryRows, memoryExpenses.findExpenses(filter));
+        }
+
+        List<ExpenseWithUser> pending = new ArrayList<>();
+        sqliteExpenses.streamExpenses(new ExpenseFilter(null, null, null, null, "pending"), pending::add);
+        assertSameRows(sqliteExpenses.findPendingExpensesWithUsers(), pending);
+    }
+
+    @Test
+    @Story("Engine Parity")
+    @Description("Both engines resolve users by ID and username")
+    void userLookupsMatch() {
+        assertEquals(sqliteUsers.findByUsername("manager1").orElseThrow().getId(),
+                memoryUsers.findByUsername("manager1").orElseThrow().getId());
+        assertEquals(sqliteUsers.findById(2).orElseThrow().getUsername(),
+                memoryUsers.findById(2).orElseThrow().getUsername());
+    }
+
+    private static void assertSameRows(List<ExpenseWithUser> expected, List<ExpenseWithUser> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getExpense().getId(), actual.get(i).getExpense().getId());
+            assertEquals(expected.get(i).getUser().getUsername(), actual.get(i).getUser().getUsername());
+            assertEquals(expected.get(i).getApproval().getStatus(), actual.get(i).getApproval().getStatus());
+        }
+    }
+}
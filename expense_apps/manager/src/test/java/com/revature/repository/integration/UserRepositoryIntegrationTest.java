@@ -3,6 +3,7 @@ package com.revature.repository.integration;
 import com.revature.repository.DatabaseConnection;
 import com.revature.repository.User;
 import com.revature.repository.UserRepository;
+import com.revature.repository.SqliteUserRepository;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
 
@@ -30,7 +31,7 @@ public class UserRepositoryIntegrationTest {
     @Step("Set up the test database")
     static void setUpDatabase() throws SQLException, IOException {
         testDbConnection = TestDatabaseSetup.initializeTestDatabase();
-        userRepository = new UserRepository(testDbConnection);
+        userRepository = new SqliteUserRepository(testDbConnection);
         Allure.step("Test database initialized successfully");
     }
 
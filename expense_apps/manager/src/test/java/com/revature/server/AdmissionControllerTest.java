@@ -0,0 +1,96 @@
+package com.revature.server;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import static com.revature.server.AdmissionController.Priority.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Request Execution")
+public class AdmissionControllerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @Story("Admission Control")
+    @Description("Requests over the limit are shed, reports first, while login and health are always admitted")
+    void tryAcquire_shedsByPriority() {
+        AdmissionController controller = new AdmissionController(4, 1, 100, 10);
+
+        assertTrue(controller.tryAcquire(SHEDDABLE));
+        assertTrue(controller.tryAcquire(SHEDDABLE));
+        assertTrue(controller.tryAcquire(SHEDDABLE));
+        assertFalse(controller.tryAcquire(SHEDDABLE));
+        assertTrue(controller.tryAcquire(NORMAL));
+        assertFalse(controller.tryAcquire(NORMAL));
+        assertTrue(controller.tryAcquire(CRITICAL));
+
+        assertEquals(5, controller.getInFlight());
+        assertEquals(1, controller.getShed(SHEDDABLE));
+        assertEquals(1, controller.getShed(NORMAL));
+        assertEquals(0, controller.getShed(CRITICAL));
+    }
+
+    @Test
+    @Story("Admission Control")
+    @Description("The limit grows while latency is stable and shrinks when latency rises")
+    void onSample_adaptsLimitToLatency() {
+        AdmissionController controller = new AdmissionController(20, 5, 200, 10);
+
+        for (int i = 0; i < 200; i++) {
+            controller.onSample(10 * MS, 20);
+        }
+        int grown = controller.getLimit();
+        assertTrue(grown > 20, "limit should grow under stable latency, was " + grown);
+
+        for (int i = 0; i < 200; i++) {
+            controller.onSample(100 * MS, grown);
+        }
+        int shrunk = controller.getLimit();
+        assertTrue(shrunk < grown, "limit should shrink when latency rises, was " + shrunk);
+        assertTrue(shrunk >= 5);
+    }
+
+    @Test
+    @Story("Admission Control")
+    @Description("An idle server does not inflate its limit")
+    void onSample_doesNotGrowWhenUnderused() {
+        AdmissionController controller = new AdmissionController(40, 5, 200, 10);
+
+        for (int i = 0; i < 200; i++) {
+            controller.onSample(10 * MS, 1);
+        }
+
+        assertEquals(40, controller.getLimit());
+    }
+
+    @Test
+    @Story("Admission Control")
+    @Description("Rising latency shrinks the limit even when few requests are in flight")
+    void onSample_shrinksWhenUnderusedAndLatencyRises() {
+        AdmissionController controller = new AdmissionController(40, 5, 200, 10);
+
+        for (int i = 0; i < 100; i++) {
+            controller.onSample(10 * MS, 2);
+        }
+        for (int i = 0; i < 200; i++) {
+            controller.onSample(100 * MS, 2);
+        }
+
+        int shrunk = controller.getLimit();
+        assertTrue(shrunk < 40, "limit should shrink when latency rises, was " + shrunk);
+        assertTrue(shrunk >= 5);
+    }
+
+    @Test
+    @Story("Admission Control")
+    @Description("Routes are prioritised: auth and health critical, reports sheddable")
+    void priorityOf_classifiesRoutes() {
+        assertEquals(CRITICAL, AdmissionController.priorityOf("/api/auth/login"));
+        assertEquals(CRITICAL, AdmissionController.priorityOf("/health"));
+        assertEquals(SHEDDABLE, AdmissionController.priorityOf("/api/reports/expenses/csv"));
+        assertEquals(SHEDDABLE, AdmissionController.priorityOf("/api/exports/expenses.ndjson"));
+        assertEquals(NORMAL, AdmissionController.priorityOf("/api/expenses/1/approve"));
+    }
+}
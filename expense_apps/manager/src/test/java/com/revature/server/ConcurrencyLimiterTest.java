@@ -0,0 +1,94 @@
+package com.revature.server;
+
+import io.qameta.allure.*;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Request Execution")
+public class ConcurrencyLimiterTest {
+
+    @Test
+    @Story("Concurrency Limits")
+    @Description("Requests beyond the limit and the queue are rejected immediately")
+    void tryAcquire_rejectsWhenQueueFull() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("api", 2, 0, 1_000);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.getAdmitted());
+    }
+
+    @Test
+    @Story("Concurrency Limits")
+    @Description("A queued request gets the slot when it is released, and times out otherwise")
+    void tryAcquire_waitsInQueue() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("api", 1, 1, 2_000);
+        assertTrue(limiter.tryAcquire());
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        AtomicBoolean acquired = new AtomicBoolean();
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            waiting.countDown();
+            acquired.set(limiter.tryAcquire());
+        });
+        waiting.await();
+        while (limiter.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        limiter.release();
+        waiter.join(TimeUnit.SECONDS.toMillis(5));
+        assertTrue(acquired.get());
+
+        ConcurrencyLimiter shortWait = new ConcurrencyLimiter("api", 1, 1, 20);
+        assertTrue(shortWait.tryAcquire());
+        assertFalse(shortWait.tryAcquire());
+        assertEquals(0, shortWait.getQueued());
+    }
+
+    @Test
+    @Story("Virtual Threads")
+    @Description("Virtual mode keeps a bounded platform pool and hands blocking work to virtual threads")
+    void threadPools_configuresVirtualExecutor() {
+        QueuedThreadPool virtual = (QueuedThreadPool) ThreadPools.create(new ServerSettings("virtual", 4, 16, 0, 0, 0));
+        QueuedThreadPool platform = (QueuedThreadPool) ThreadPools.create(new ServerSettings("platform", 4, 16, 0, 0, 0));
+
+        assertNotNull(virtual.getVirtualThreadsExecutor());
+        assertEquals(16, virtual.getMaxThreads());
+        assertNull(platform.getVirtualThreadsExecutor());
+    }
+
+    @Test
+    @Story("Bulkheads")
+    @Description("Reports, reads and writes are classified into separate bulkheads")
+    void bulkheads_classifyRoutes() {
+        ConcurrencyLimiter reports = new ConcurrencyLimiter(Bulkheads.REPORTS, 1, 0, 0);
+        ConcurrencyLimiter reads = new ConcurrencyLimiter(Bulkheads.READS, 1, 0, 0);
+        ConcurrencyLimiter writes = new ConcurrencyLimiter(Bulkheads.WRITES, 1, 0, 0);
+        Bulkheads bulkheads = new Bulkheads(reports, reads, writes);
+
+        assertSame(reports, bulkheads.forRequest("GET", "/api/reports/expenses/csv"));
+        assertSame(reads, bulkheads.forRequest("GET", "/api/expenses"));
+        assertSame(reads, bulkheads.forRequest("GET", "/api/expenses/employee/1"));
+        assertSame(writes, bulkheads.forRequest("POST", "/api/expenses/5/approve"));
+        assertNull(bulkheads.forRequest("POST", "/api/auth/login"));
+        assertNull(bulkheads.forRequest("GET", "/api/expensesfoo"));
+
+        // A saturated report bulkhead does not affect approvals
+        assertTrue(reports.tryAcquire());
+        assertFalse(bulkheads.forRequest("GET", "/api/reports/expenses/csv").tryAcquire());
+        assertTrue(bulkheads.forRequest("POST", "/api/expenses/5/approve").tryAcquire());
+    }
+}
@@ -0,0 +1,128 @@
+package com.revature.service;
+
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.InMemoryDataStore;
+import com.revature.repository.InMemoryExpenseRepository;
+import com.revature.repository.User;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class EmployeeReportBundlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryExpenseRepository repository;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        for (int user = 1; user <= 12; user++) {
+            store.saveUser(new User(user, "employee" + user, "password123", "Employee"));
+        }
+        for (int id = 1; id <= 400; id++) {
+            // Employee 12 has no expenses; employee 1 has the most
+            int user = id % 3 == 0 ? 1 : 1 + id % 11;
+            String date = "2026-%02d-%02d".formatted(1 + id % 12, 1 + id % 28);
+            store.saveExpense(new Expense(id, user, id * 1.25, id % 5 == 0 ? "Taxi, airport" : "Expense " + id, date));
+            boolean reviewed = id % 4 == 0;
+            store.saveApproval(new Approval(id, id, reviewed ? "approved" : "pending", reviewed ? 9 : null,
+                reviewed ? "ok" : null, reviewed ? "2026-12-31" : null));
+        }
+        repository = new InMemoryExpenseRepository(store);
+        pool = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @Story("Report Bundles")
+    @Description("The bundle holds each employee's CSV report, identical to that employee's single report")
+    void writeZip_matchesPerEmployeeReports() throws IOException {
+        EmployeeReportBundler bundler = new EmployeeReportBundler(repository, pool, 3);
+        ExpenseService service = new ExpenseService(repository, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(11, bundler.writeZip(new ExpenseFilter(null, null, "2026-02-01", null, null), out));
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(11, entries.size());
+        for (int user = 1; user <= 11; user++) {
+            List<ExpenseWithUser> rows = repository.findExpenses(new ExpenseFilter(user, null, "2026-02-01", null, null));
+            assertEquals(service.generateCsvReport(rows), entries.get("employee_" + user + "_expenses_report.csv"), "employee " + user);
+        }
+        assertEquals(1, bundler.getBundles());
+        assertEquals(11, bundler.getEmployeeReports());
+    }
+
+    @Test
+    @Story("Report Bundles")
+    @Description("A failed employee report leaves the archive without its central directory instead of silently short")
+    void writeZip_leavesFailedBundleUnterminated() throws IOException {
+        InMemoryExpenseRepository failing = new InMemoryExpenseRepository(new InMemoryDataStore()) {
+            @Override
+            public NavigableMap<Integer, Integer> countExpensesByEmployee(ExpenseFilter filter) {
+                return repository.countExpensesByEmployee(filter);
+            }
+
+            @Override
+            public List<ExpenseWithUser> findExpenses(ExpenseFilter filter) {
+                if (filter.getEmployeeId() != null && filter.getEmployeeId() == 7) {
+                    throw new RuntimeException("query failed");
+                }
+                return repository.findExpenses(filter);
+            }
+        };
+        EmployeeReportBundler bundler = new EmployeeReportBundler(failing, pool, 3);
+        Path zip = tempDir.resolve("bundle.zip");
+
+        try (OutputStream out = Files.newOutputStream(zip)) {
+            assertThrows(RuntimeException.class, () -> bundler.writeZip(new ExpenseFilter(null, null, null, null, null), out));
+        }
+
+        assertThrows(ZipException.class, () -> new ZipFile(zip.toFile()).close());
+        assertEquals(0, bundler.getBundles());
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,129 @@
+package com.revature.service;
+
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.InMemoryDataStore;
+import com.revature.repository.InMemoryExpenseRepository;
+import com.revature.repository.User;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class ExternalSorterTest {
+
+    private static final ExternalSorter.Codec<int[]> PAIRS = new ExternalSorter.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, int[] row) throws IOException {
+            out.writeInt(row[0]);
+            out.writeInt(row[1]);
+        }
+
+        @Override
+        public int[] read(DataInputStream in) throws IOException {
+            return new int[] {in.readInt(), in.readInt()};
+        }
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Story("Sorted Reports")
+    @Description("Inputs larger than the memory budget are spilled and merged into a stable sort, even past the merge width")
+    void forEachSorted_mergesSpilledRunsStably() throws IOException {
+        // Keys repeat, so the second field (insertion order) shows whether equal keys kept their order
+        Random random = new Random(42);
+        List<int[]> input = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            input.add(new int[] {random.nextInt(100), i});
+        }
+        List<int[]> expected = new ArrayList<>(input);
+        expected.sort(Comparator.comparingInt(row -> row[0]));
+
+        List<int[]> sorted = new ArrayList<>();
+        try (ExternalSorter<int[]> sorter = new ExternalSorter<>(Comparator.comparingInt(row -> row[0]), PAIRS, 150, tempDir)) {
+            for (int[] row : input) {
+                sorter.add(row);
+            }
+            sorter.forEachSorted(sorted::add);
+
+            // 134 runs is more than one merge can take: one level of merges (64 + 64 + 6) brings them down to 3
+            assertEquals(137, sorter.getSpilledRuns());
+        }
+
+        assertEquals(expected.size(), sorted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), sorted.get(i), "row " + i);
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @Story("Sorted Reports")
+    @Description("Inputs within the memory budget are sorted without touching disk")
+    void forEachSorted_sortsSmallInputsInMemory() throws IOException {
+        List<Integer> sorted = new ArrayList<>();
+        try (ExternalSorter<int[]> sorter = new ExternalSorter<>(Comparator.comparingInt(row -> row[0]), PAIRS, 10, tempDir)) {
+            for (int key : new int[] {5, 3, 9, 1}) {
+                sorter.add(new int[] {key, 0});
+            }
+            sorter.forEachSorted(row -> sorted.add(row[0]));
+
+            assertEquals(0, sorter.getSpilledRuns());
+        }
+
+        assertEquals(List.of(1, 3, 5, 9), sorted);
+    }
+
+    @Test
+    @Story("Sorted Reports")
+    @Description("A spilled CSV report has the same rows and order as sorting the report in memory")
+    void writeCsvReport_matchesInMemorySort() throws IOException {
+        InMemoryDataStore store = new InMemoryDataStore();
+        store.saveUser(new User(1, "employee1", "password123", "Employee"));
+        store.saveUser(new User(2, "employee2", "password456", "Employee"));
+        for (int id = 1; id <= 500; id++) {
+            String date = "2026-%02d-%02d".formatted(1 + id % 12, 1 + id % 28);
+            store.saveExpense(new Expense(id, 1 + id % 2, (id * 37) % 90 + 0.5, id % 7 == 0 ? "Taxi, \"airport\"" : "Café " + id, date));
+            boolean reviewed = id % 3 == 0;
+            store.saveApproval(new Approval(id, id, reviewed ? "approved" : "pending", reviewed ? 9 : null,
+                reviewed ? "ok" : null, reviewed ? "2026-12-%02d".formatted(1 + id % 30) : null));
+        }
+        InMemoryExpenseRepository repository = new InMemoryExpenseRepository(store);
+        ExpenseService service = new ExpenseService(repository, null);
+        service.setSortMemoryRows(40);
+        ExpenseFilter filter = new ExpenseFilter(null, null, null, null, null);
+
+        for (String order : List.of("-amount", "reviewDate", "employee")) {
+            ReportSort sort = ReportSort.parse(order);
+            List<ExpenseWithUser> rows = new ArrayList<>(repository.findExpenses(filter));
+            rows.sort(sort.comparator());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            assertEquals(500, service.writeCsvReport(filter, sort, out));
+            assertEquals(service.generateCsvReport(rows), out.toString(StandardCharsets.UTF_8), order);
+        }
+        assertEquals(39, service.getSortSpilledRuns());
+    }
+}
@@ -0,0 +1,176 @@
+package com.revature.service;
+
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.InMemoryDataStore;
+import com.revature.repository.InMemoryExpenseRepository;
+import com.revature.repository.User;
+import io.qameta.allure.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class ParallelReportEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryExpenseRepository repository;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        store.saveUser(new User(1, "employee1", "password123", "Employee"));
+        store.saveUser(new User(2, "employee2", "password456", "Employee"));
+        for (int id = 1; id <= 300; id++) {
+            String date = "2026-%02d-%02d".formatted(1 + id % 12, 1 + id % 28);
+            store.saveExpense(new Expense(id, 1 + id % 2, id * 1.5, id % 7 == 0 ? "Taxi, airport" : "Expense " + id, date));
+            boolean reviewed = id % 3 == 0;
+            store.saveApproval(new Approval(id, id, reviewed ? "approved" : "pending", reviewed ? 9 : null,
+                reviewed ? "ok" : null, reviewed ? "2026-12-31" : null));
+        }
+        repository = new InMemoryExpenseRepository(store);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @Story("Parallel Reports")
+    @Description("The partitioned report is identical to the single-query report, with and without filters")
+    void generateCsv_matchesSequentialReport() {
+        ParallelReportEngine engine = new ParallelReportEngine(repository, pool, 10);
+        ExpenseService sequential = new ExpenseService(repository, null);
+        List<ExpenseFilter> filters = List.of(
+            new ExpenseFilter(null, null, null, null, null),
+            new ExpenseFilter(null, null, "2026-03-01", "2026-10-15", "approved"),
+            new ExpenseFilter(null, "taxi", null, null, "pending"));
+
+        for (ExpenseFilter filter : filters) {
+            assertEquals(sequential.generateCsvReport(repository.findExpenses(filter)), engine.generateCsv(filter), filter.toString());
+        }
+        assertEquals(3, engine.getParallelReports());
+        assertTrue(engine.getPartitionsRun() > 6);
+    }
+
+    @Test
+    @Story("Parallel Reports")
+    @Description("Small reports stay on the calling thread as one partition")
+    void generateCsv_keepsSmallReportsSequential() {
+        ParallelReportEngine engine = new ParallelReportEngine(repository, pool, 1_000);
+
+        String csv = engine.generateCsv(new ExpenseFilter(null, null, null, null, null));
+
+        assertEquals(301, csv.split("\n").length);
+        assertEquals(0, engine.getParallelReports());
+    }
+
+    @Test
+    @Story("Parallel Reports")
+    @Description("One employee's report and short date ranges run as one query without counting rows first")
+    void generateCsv_skipsCountForNarrowReports() {
+        AtomicInteger counts = new AtomicInteger();
+        InMemoryExpenseRepository counting = new InMemoryExpenseRepository(new InMemoryDataStore()) {
+            @Override
+            public NavigableMap<String, Integer> countExpensesByDate(ExpenseFilter filter) {
+                counts.incrementAndGet();
+                return repository.countExpensesByDate(filter);
+            }
+
+            @Override
+            public List<ExpenseWithUser> findExpenses(ExpenseFilter filter) {
+                return repository.findExpenses(filter);
+            }
+        };
+        ParallelReportEngine engine = new ParallelReportEngine(counting, pool, 10, 31);
+        ExpenseService sequential = new ExpenseService(repository, null);
+        List<ExpenseFilter> narrow = List.of(
+            new ExpenseFilter(1, null, null, null, null),
+            new ExpenseFilter(null, null, "2026-03-01", "2026-03-30", null));
+
+        for (ExpenseFilter filter : narrow) {
+            assertEquals(sequential.generateCsvReport(repository.findExpenses(filter)), engine.generateCsv(filter), filter.toString());
+        }
+        assertEquals(0, counts.get());
+        assertEquals(0, engine.getParallelReports());
+
+        engine.generateCsv(new ExpenseFilter(null, null, "2026-03-01", "2026-03-31", null));
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    @Story("Parallel Reports")
+    @Description("Partitioned and single-query reports both record the CSV report JFR event")
+    void generateCsv_recordsCsvReportEvent() throws IOException {
+        ParallelReportEngine engine = new ParallelReportEngine(repository, pool, 10);
+        Path dump = tempDir.resolve("reports.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.revature.CsvReport").withThreshold(Duration.ZERO);
+            recording.start();
+            engine.generateCsv(new ExpenseFilter(null, null, null, null, null));
+            engine.generateCsv(new ExpenseFilter(2, null, null, null, null));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+            .filter(e -> e.getEventType().getName().equals("com.revature.CsvReport"))
+            .toList();
+        assertEquals(2, events.size());
+        assertEquals(300, events.get(0).getInt("rows"));
+        assertEquals(150, events.get(1).getInt("rows"));
+        assertEquals(1, engine.getParallelReports());
+    }
+
+    @Test
+    @Story("Parallel Reports")
+    @Description("Partitions are newest first, balanced by row count, and keep the report's outer date bounds")
+    void partition_balancesRowsAcrossDateRanges() {
+        NavigableMap<String, Integer> counts = new TreeMap<>();
+        for (int day = 1; day <= 10; day++) {
+            counts.put("2026-01-%02d".formatted(day), 100);
+        }
+        ExpenseFilter filter = new ExpenseFilter(1, null, "2025-12-01", null, "approved");
+
+        List<ExpenseFilter> partitions = ParallelReportEngine.partition(filter, counts, 4, 100);
+
+        assertEquals(4, partitions.size());
+        assertNull(partitions.get(0).getEndDate());
+        assertEquals("2026-01-08", partitions.get(0).getStartDate());
+        assertEquals("2026-01-07", partitions.get(1).getEndDate());
+        assertEquals("2026-01-05", partitions.get(1).getStartDate());
+        assertEquals("2026-01-04", partitions.get(2).getEndDate());
+        assertEquals("2026-01-02", partitions.get(2).getStartDate());
+        assertEquals("2026-01-01", partitions.get(3).getEndDate());
+        assertEquals("2025-12-01", partitions.get(3).getStartDate());
+        assertEquals(1, partitions.get(3).getEmployeeId());
+        assertEquals("approved", partitions.get(3).getStatus());
+
+        assertEquals(List.of(filter), ParallelReportEngine.partition(filter, counts, 4, 600));
+        assertEquals(List.of(filter), ParallelReportEngine.partition(filter, new TreeMap<>(), 4, 1));
+    }
+}
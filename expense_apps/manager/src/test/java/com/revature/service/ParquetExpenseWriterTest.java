@@ -0,0 +1,191 @@
+package com.revature.service;
+
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class ParquetExpenseWriterTest {
+
+    @Test
+    @Story("Parquet export")
+    @Description("Rows are split into row groups and the footer describes every group, column and type")
+    void write_splitsRowGroupsAndDescribesThemInFooter() throws IOException {
+        byte[] file = write(2500, 1000);
+
+        assertEquals("PAR1", new String(file, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals("PAR1", new String(file, file.length - 4, 4, StandardCharsets.US_ASCII));
+        Map<Integer, Object> meta = footer(file);
+        assertEquals(2500L, meta.get(3));
+        List<?> rowGroups = (List<?>) meta.get(4);
+        assertEquals(3, rowGroups.size());
+        assertEquals(500L, struct(rowGroups.get(2)).get(3));
+
+        List<String> names = new ArrayList<>();
+        for (Object element : (List<?>) meta.get(2)) {
+            names.add((String) struct(element).get(4));
+        }
+        assertEquals(List.of("expense", "expense_id", "employee_id", "username", "amount", "description",
+            "date", "status", "reviewer", "comment", "review_date"), names);
+        Map<Integer, Object> amount = struct(((List<?>) meta.get(2)).get(4));
+        assertEquals(2, amount.get(1), "INT64");
+        assertEquals(2, amount.get(7), "scale");
+    }
+
+    @Test
+    @Story("Parquet export")
+    @Description("IDs are plain little-endian ints and status is dictionary-encoded per row group")
+    void write_encodesPlainIdsAndDictionaryStatus() throws IOException {
+        byte[] file = write(20, 1000);
+        List<?> chunks = (List<?>) struct(((List<?>) footer(file).get(4)).get(0)).get(1);
+
+        Map<Integer, Object> ids = struct(struct(chunks.get(0)).get(3));
+        ThriftReader page = new ThriftReader(file, ((Long) ids.get(9)).intValue());
+        Map<Integer, Object> header = page.readStruct();
+        ByteBuffer values = ByteBuffer.wrap(file, page.position, (Integer) header.get(2)).order(ByteOrder.LITTLE_ENDIAN);
+        for (int id = 1; id <= 20; id++) {
+            assertEquals(id, values.getInt());
+        }
+
+        Map<Integer, Object> status = struct(struct(chunks.get(6)).get(3));
+        assertEquals(List.of(2, 3), status.get(2), "PLAIN_DICTIONARY and RLE");
+        ThriftReader dictionary = new ThriftReader(file, ((Long) status.get(11)).intValue());
+        Map<Integer, Object> dictionaryHeader = struct(dictionary.readStruct().get(7));
+        assertEquals(2, dictionaryHeader.get(1), "approved and pending");
+    }
+
+    @Test
+    @Story("Parquet export")
+    @Description("Amounts become exact cents and dates become epoch days; unrepresentable values become null")
+    void conversions_handleEdgeValues() {
+        assertEquals(1999L, ParquetExpenseWriter.cents(19.99));
+        assertEquals(-5L, ParquetExpenseWriter.cents(-0.05));
+        assertNull(ParquetExpenseWriter.cents(1.0E24));
+        assertNull(ParquetExpenseWriter.cents(Double.NaN));
+        assertEquals(0, ParquetExpenseWriter.epochDay("1970-01-01"));
+        assertEquals(20454, ParquetExpenseWriter.epochDay("2026-01-01"));
+        assertNull(ParquetExpenseWriter.epochDay("01/02/2026"));
+    }
+
+    @Test
+    @Story("Parquet export")
+    @Description("An empty report is still a valid file with no row groups")
+    void close_withoutRowsWritesValidEmptyFile() throws IOException {
+        byte[] file = write(0, 10);
+        Map<Integer, Object> meta = footer(file);
+        assertEquals(0L, meta.get(3));
+        assertTrue(((List<?>) meta.get(4)).isEmpty());
+    }
+
+    private static byte[] write(int rows, int rowGroupRows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParquetExpenseWriter writer = new ParquetExpenseWriter(out, rowGroupRows)) {
+            for (int i = 1; i <= rows; i++) {
+                boolean reviewed = i % 3 != 0;
+                writer.write(new ExpenseWithUser(
+                    new Expense(i, i % 4, 10 + i * 0.25, i % 5 == 0 ? null : "Expense " + i, "2026-01-" + (10 + i % 18)),
+                    new User(i % 4, "employee" + (i % 4), "hash", "Employee"),
+                    new Approval(i, i, reviewed ? "approved" : "pending", reviewed ? 9 : null,
+                        reviewed ? "ok" : null, reviewed ? "2026-02-01" : null)));
+            }
+            assertEquals(rows, writer.getRows());
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<Integer, Object> footer(byte[] file) {
+        int length = ByteBuffer.wrap(file, file.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        return new ThriftReader(file, file.length - 8 - length).readStruct();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, Object> struct(Object value) {
+        return (Map<Integer, Object>) value;
+    }
+
+    /**
+     * Decodes Thrift compact structs into field-ID maps, enough to inspect what the writer produced.
+     */
+    private static final class ThriftReader {
+        private final byte[] bytes;
+        private int position;
+
+        ThriftReader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        Map<Integer, Object> readStruct() {
+            Map<Integer, Object> fields = new HashMap<>();
+            int fieldId = 0;
+            while (true) {
+                int header = bytes[position++] & 0xFF;
+                if (header == 0) {
+                    return fields;
+                }
+                int delta = header >>> 4;
+                fieldId = delta == 0 ? (int) unzigzag(varint()) : fieldId + delta;
+                fields.put(fieldId, readValue(header & 0x0F));
+            }
+        }
+
+        private Object readValue(int type) {
+            switch (type) {
+                case 1: return true;
+                case 2: return false;
+                case 5: return (int) unzigzag(varint());
+                case 6: return unzigzag(varint());
+                case 8: {
+                    int length = (int) varint();
+                    String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                    return value;
+                }
+                case 9: {
+                    int header = bytes[position++] & 0xFF;
+                    int size = header >>> 4 == 15 ? (int) varint() : header >>> 4;
+                    List<Object> values = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        values.add(readValue(header & 0x0F));
+                    }
+                    return values;
+                }
+                case 12: return readStruct();
+                default: throw new IllegalStateException("Unexpected compact type " + type);
+            }
+        }
+
+        private long varint() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                int b = bytes[position++] & 0xFF;
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
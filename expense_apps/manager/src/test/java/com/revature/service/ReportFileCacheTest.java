@@ -0,0 +1,131 @@
+package com.revature.service;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class ReportFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Report Cache")
+    @Description("A report is rendered once per data generation and rendered again after the data changes")
+    void open_rendersOncePerGeneration() throws IOException {
+        AtomicLong generation = new AtomicLong();
+        AtomicInteger renders = new AtomicInteger();
+        ReportFileCache cache = new ReportFileCache(directory, 1024, generation::get);
+        ReportFileCache.Renderer renderer = out -> out.write(("report " + renders.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("report 1", read(cache, "all", renderer));
+        assertEquals("report 1", read(cache, "all", renderer));
+        generation.incrementAndGet();
+        assertEquals("report 2", read(cache, "all", renderer));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getEntries());
+        assertEquals(1, fileCount());
+    }
+
+    @Test
+    @Story("Report Cache")
+    @Description("Least recently used reports are evicted to keep the files within the byte budget")
+    void open_evictsLeastRecentlyUsedOverBudget() throws IOException {
+        ReportFileCache cache = new ReportFileCache(directory, 250, () -> 0);
+        ReportFileCache.Renderer hundredBytes = out -> out.write(new byte[100]);
+
+        read(cache, "a", hundredBytes);
+        read(cache, "b", hundredBytes);
+        read(cache, "a", hundredBytes);
+        read(cache, "c", hundredBytes);
+
+        assertEquals(200, cache.getBytes());
+        assertEquals(1, cache.getEvictions());
+        // "b" was least recently used, so it was evicted and "a" is still a hit
+        read(cache, "a", hundredBytes);
+        assertEquals(2, cache.getHits());
+        read(cache, "b", hundredBytes);
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, fileCount());
+    }
+
+    @Test
+    @Story("Report Cache")
+    @Description("An evicted report can still be read to the end through a channel opened before eviction")
+    void open_keepsOpenChannelsReadableAfterEviction() throws IOException {
+        ReportFileCache cache = new ReportFileCache(directory, 100, () -> 0);
+
+        try (ReportFileCache.CachedReport first = cache.open("a", out -> out.write("first".getBytes(StandardCharsets.UTF_8)))) {
+            read(cache, "b", out -> out.write(new byte[100]));
+
+            assertEquals(1, cache.getEvictions());
+            ByteBuffer buffer = ByteBuffer.allocate((int) first.getSize());
+            first.getChannel().read(buffer, 0);
+            assertEquals("first", new String(buffer.array(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @Story("Report Cache")
+    @Description("A failed rendering leaves no entry and no file behind")
+    void open_discardsFailedRendering() throws IOException {
+        ReportFileCache cache = new ReportFileCache(directory, 1024, () -> 0);
+
+        assertThrows(IOException.class, () -> cache.open("a", out -> {
+            out.write(1);
+            throw new IOException("query failed");
+        }));
+
+        assertEquals(0, cache.getEntries());
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    @Story("Report Cache")
+    @Description("Caches sharing a directory keep each other's files and only delete those left by exited processes")
+    void constructor_deletesOnlyAbandonedDirectories() throws IOException {
+        Path abandoned = Files.createDirectory(directory.resolve("reports-abandoned"));
+        Files.createFile(abandoned.resolve(".lock"));
+        Files.write(abandoned.resolve("report-1.report"), new byte[10]);
+        ReportFileCache running = new ReportFileCache(directory, 1024, () -> 0);
+        read(running, "a", out -> out.write("kept".getBytes(StandardCharsets.UTF_8)));
+
+        assertFalse(Files.exists(abandoned));
+        ReportFileCache second = new ReportFileCache(directory, 1024, () -> 0);
+
+        assertEquals(1, fileCount());
+        assertEquals("kept", read(running, "a", out -> out.write("rendered again".getBytes(StandardCharsets.UTF_8))));
+        read(second, "a", out -> out.write("second".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, fileCount());
+    }
+
+    private static String read(ReportFileCache cache, String key, ReportFileCache.Renderer renderer) throws IOException {
+        try (ReportFileCache.CachedReport report = cache.open(key, renderer)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) report.getSize());
+            report.getChannel().read(buffer, 0);
+            return new String(buffer.array(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.toString().endsWith(".report")).count();
+        }
+    }
+}
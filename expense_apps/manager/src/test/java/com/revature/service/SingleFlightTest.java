@@ -0,0 +1,131 @@
+package com.revature.service;
+
+import com.revature.repository.ApprovalRepository;
+import com.revature.repository.ExpenseFilter;
+import com.revature.repository.ExpenseRepository;
+import com.revature.repository.ExpenseWithUser;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Epic("Manager App")
+@Feature("Request Coalescing")
+public class SingleFlightTest {
+
+    @Test
+    @Story("Single Flight")
+    @Description("Concurrent callers with the same key share one execution and its result")
+    void execute_coalescesConcurrentCalls() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("reports");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(callers.submit(() -> flight.execute("0|all", () -> {
+                    runs.incrementAndGet();
+                    await(release);
+                    return "csv";
+                })));
+            }
+            while (flight.getExecutions() + flight.getCoalesced() < 10) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("csv", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, runs.get());
+        assertEquals(1, flight.getExecutions());
+        assertEquals(9, flight.getCoalesced());
+    }
+
+    @Test
+    @Story("Single Flight")
+    @Description("Failures are shared with waiters and later calls run again")
+    void execute_sharesFailuresAndDoesNotCache() {
+        SingleFlight<String, String> flight = new SingleFlight<>("reads");
+
+        assertThrows(IllegalStateException.class, () -> flight.execute("k", () -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals("ok", flight.execute("k", () -> "ok"));
+        assertEquals("ok2", flight.execute("k", () -> "ok2"));
+        assertEquals(3, flight.getExecutions());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    @Story("Single Flight")
+    @Description("Approvals advance the data generation so later reads never join an older query")
+    void expenseService_keysIncludeGenerationAndNormalizedParameters() {
+        ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+        ApprovalRepository approvalRepository = mock(ApprovalRepository.class);
+        when(approvalRepository.updateApprovalStatus(1, "approved", 2, null)).thenReturn(true);
+        when(approvalRepository.updateApprovalStatus(9, "denied", 2, null)).thenReturn(false);
+        when(expenseRepository.findAllExpensesWithUsers()).thenReturn(List.<ExpenseWithUser>of());
+        ExpenseService service = new ExpenseService(expenseRepository, approvalRepository);
+
+        String before = service.flightKey("all");
+        service.approveExpense(1, 2, null);
+        service.denyExpense(9, 2, null);
+
+        assertEquals(1, service.getDataGeneration());
+        assertNotEquals(before, service.flightKey("all"));
+        assertEquals("1|category|6:travel", service.flightKey("category", "travel"));
+        assertTrue(service.getAllExpenses().isEmpty());
+        verify(expenseRepository).findAllExpensesWithUsers();
+    }
+
+    @Test
+    @Story("Single Flight")
+    @Description("A search whose category contains the key separator does not join a search with a different filter")
+    void searchExpenses_doesNotCoalesceFiltersWithSeparatorInValues() throws Exception {
+        ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+        ExpenseService service = new ExpenseService(expenseRepository, mock(ApprovalRepository.class));
+        ExpenseFilter separatorInCategory = new ExpenseFilter(null, "taxi|2024-01-01", null, null, null);
+        ExpenseFilter categoryAndDate = new ExpenseFilter(null, "taxi", "2024-01-01", null, null);
+        List<ExpenseWithUser> first = List.of(mock(ExpenseWithUser.class));
+        List<ExpenseWithUser> second = List.of(mock(ExpenseWithUser.class), mock(ExpenseWithUser.class));
+        CountDownLatch release = new CountDownLatch(1);
+        when(expenseRepository.findExpenses(separatorInCategory)).thenAnswer(invocation -> {
+            await(release);
+            return first;
+        });
+        when(expenseRepository.findExpenses(categoryAndDate)).thenReturn(second);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<ExpenseWithUser>> blocked = callers.submit(() -> service.searchExpenses(separatorInCategory));
+            verify(expenseRepository, timeout(5_000)).findExpenses(separatorInCategory);
+
+            // Runs while the first search is still in flight
+            assertSame(second, callers.submit(() -> service.searchExpenses(categoryAndDate)).get(5, TimeUnit.SECONDS));
+            release.countDown();
+            assertSame(first, blocked.get(5, TimeUnit.SECONDS));
+        }
+        verify(expenseRepository).findExpenses(categoryAndDate);
+        assertNotEquals(service.flightKey("search", "taxi|2024", "01"), service.flightKey("search", "taxi", "2024|01"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.revature.service;
+
+import com.revature.repository.Approval;
+import com.revature.repository.Expense;
+import com.revature.repository.ExpenseWithUser;
+import com.revature.repository.User;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Manager App")
+@Feature("Reports")
+public class XlsxExpenseWriterTest {
+
+    @Test
+    @Story("XLSX export")
+    @Description("The workbook parts come first and the sheet holds a header row plus one row per expense")
+    void write_producesWorkbookWithStreamedSheet() throws IOException {
+        Map<String, String> parts = unzip(write(25, 4));
+
+        assertEquals(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels",
+            "xl/styles.xml", "xl/worksheets/sheet1.xml"), new ArrayList<>(parts.keySet()));
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+        assertEquals(26, sheet.split("<row ").length - 1);
+        assertTrue(sheet.contains("<row r=\"26\">"));
+    }
+
+    @Test
+    @Story("XLSX export")
+    @Description("IDs and amounts are numeric cells, dates are styled serial numbers and text is escaped")
+    void write_typesCells() throws IOException {
+        String sheet = unzip(write(2, 1)).get("xl/worksheets/sheet1.xml");
+        String first = sheet.substring(sheet.indexOf("<row r=\"2\">"), sheet.indexOf("<row r=\"3\">"));
+
+        assertTrue(first.startsWith("<row r=\"2\"><c><v>1</v></c>"), first);
+        assertTrue(first.contains("<c s=\"2\"><v>10.25</v></c>"), "amount with currency format");
+        assertTrue(first.contains("<is><t xml:space=\"preserve\">Tea &amp; &lt;cake&gt;</t></is>"), "escaped, control character dropped");
+        assertTrue(first.contains("<c s=\"3\"><v>46033</v></c>"), "2026-01-11 as a date serial");
+        assertTrue(first.contains("<c s=\"4\"><v>46054.5625</v></c>"), "review timestamp as a date-time serial");
+        String second = sheet.substring(sheet.indexOf("<row r=\"3\">"));
+        assertTrue(second.contains("<c/><c/><c/></row>"), "pending expense has no reviewer, comment or review date");
+    }
+
+    @Test
+    @Story("XLSX export")
+    @Description("Dates convert to spreadsheet serials, and values that are not dates are left as text")
+    void serials_convertDates() {
+        assertEquals(25569L, XlsxExpenseWriter.serialDay("1970-01-01"));
+        assertEquals(61L, XlsxExpenseWriter.serialDay("1900-03-01"));
+        assertNull(XlsxExpenseWriter.serialDay("01/02/2026"));
+        assertEquals(25569.75, XlsxExpenseWriter.serialDateTime("1970-01-01 18:00:00"));
+        assertNull(XlsxExpenseWriter.serialDateTime("1970-01-01"));
+    }
+
+    private static byte[] write(int rows, int windowRows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxExpenseWriter writer = new XlsxExpenseWriter(out, windowRows)) {
+            for (int i = 1; i <= rows; i++) {
+                boolean reviewed = i % 2 == 1;
+                writer.write(new ExpenseWithUser(
+                    new Expense(i, 1, 10 + i * 0.25, i == 1 ? "Tea & <cake>\u0001" : "Expense " + i, "2026-01-" + (10 + i % 18)),
+                    new User(1, "employee1", "hash", "Employee"),
+                    new Approval(i, i, reviewed ? "approved" : "pending", reviewed ? 9 : null,
+                        reviewed ? "ok" : null, reviewed ? "2026-02-01 13:30:00" : null)));
+            }
+            assertEquals(rows, writer.getRows());
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> unzip(byte[] file) throws IOException {
+        Map<String, String> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(file))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}
@@ -1,6 +1,7 @@
 package expenseApproval;
 
 import com.revature.repository.ApprovalRepository;
+import com.revature.repository.SqliteApprovalRepository;
 import com.revature.repository.DatabaseConnection;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.Assertions;
@@ -39,7 +40,7 @@ public class TestApprovalRepositoryUpdateApprovalStatus {
     @BeforeEach
     public void setUp() {
         dbConn = mock(DatabaseConnection.class);
-        repo = new ApprovalRepository(dbConn);
+        repo = new SqliteApprovalRepository(dbConn);
         conn = mock(Connection.class);
         pstmt = mock(PreparedStatement.class);
         try {
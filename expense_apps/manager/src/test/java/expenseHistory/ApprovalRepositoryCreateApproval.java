@@ -2,6 +2,7 @@ package expenseHistory;
 
 import com.revature.repository.Approval;
 import com.revature.repository.ApprovalRepository;
+import com.revature.repository.SqliteApprovalRepository;
 import com.revature.repository.DatabaseConnection;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,7 +41,7 @@ public class ApprovalRepositoryCreateApproval {
 
     @BeforeEach
     void setUp() throws SQLException {
-        approvalRepository = new ApprovalRepository(databaseConnection);
+        approvalRepository = new SqliteApprovalRepository(databaseConnection);
         when(databaseConnection.getConnection()).thenReturn(connection);
         lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
     }
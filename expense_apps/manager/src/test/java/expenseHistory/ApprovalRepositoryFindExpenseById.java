@@ -2,6 +2,7 @@ package expenseHistory;
 
 import com.revature.repository.Approval;
 import com.revature.repository.ApprovalRepository;
+import com.revature.repository.SqliteApprovalRepository;
 import com.revature.repository.DatabaseConnection;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,7 +42,7 @@ class ApprovalRepositoryFindExpenseById {
 
     @BeforeEach
     void setUp() throws SQLException {
-        approvalRepository = new ApprovalRepository(databaseConnection);
+        approvalRepository = new SqliteApprovalRepository(databaseConnection);
         when(databaseConnection.getConnection()).thenReturn(connection);
         when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
     }
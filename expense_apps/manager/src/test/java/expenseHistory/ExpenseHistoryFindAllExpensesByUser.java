@@ -42,7 +42,7 @@ public class ExpenseHistoryFindAllExpensesByUser {
     @BeforeEach
     void setUp() throws SQLException {
         MockitoAnnotations.openMocks(this);
-        expenseRepository = new ExpenseRepository(databaseConnection);
+        expenseRepository = new SqliteExpenseRepository(databaseConnection);
         when(databaseConnection.getConnection()).thenReturn(connection);
         lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
     }
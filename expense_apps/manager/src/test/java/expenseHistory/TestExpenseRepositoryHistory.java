@@ -35,7 +35,7 @@ public class TestExpenseRepositoryHistory {
     @BeforeAll
     public static void setUpAll() {
         dbConn = mock(DatabaseConnection.class);
-        repo = new ExpenseRepository(dbConn);
+        repo = new SqliteExpenseRepository(dbConn);
     }
 
     @BeforeEach
@@ -2,8 +2,10 @@ package expenseReporting;
 
 import com.revature.api.ReportController;
 import com.revature.repository.ApprovalRepository;
+import com.revature.repository.SqliteApprovalRepository;
 import com.revature.repository.DatabaseConnection;
 import com.revature.repository.ExpenseRepository;
+import com.revature.repository.SqliteExpenseRepository;
 import com.revature.service.ExpenseService;
 import io.javalin.Javalin;
 import io.qameta.allure.*;
@@ -34,8 +36,8 @@ public class ReportControllerIntegrationTest {
         testDbConnection = new DatabaseConnection("src/test/resources/test.db");
         createTables();
 
-        ExpenseRepository expenseRepo = new ExpenseRepository(testDbConnection);
-        ApprovalRepository approvalRepo = new ApprovalRepository(testDbConnection);
+        ExpenseRepository expenseRepo = new SqliteExpenseRepository(testDbConnection);
+        ApprovalRepository approvalRepo = new SqliteApprovalRepository(testDbConnection);
         ExpenseService expenseService = new ExpenseService(expenseRepo, approvalRepo);
         ReportController reportController = new ReportController(expenseService);
 
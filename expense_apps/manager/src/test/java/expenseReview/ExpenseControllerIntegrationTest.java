@@ -36,9 +36,9 @@ public class ExpenseControllerIntegrationTest {
         createTables();
         insertManagerUser();
 
-        UserRepository userRepo = new UserRepository(testDbConnection);
-        ExpenseRepository expenseRepo = new ExpenseRepository(testDbConnection);
-        ApprovalRepository approvalRepo = new ApprovalRepository(testDbConnection);
+        UserRepository userRepo = new SqliteUserRepository(testDbConnection);
+        ExpenseRepository expenseRepo = new SqliteExpenseRepository(testDbConnection);
+        ApprovalRepository approvalRepo = new SqliteApprovalRepository(testDbConnection);
 
         AuthenticationService authService = new AuthenticationService(userRepo);
         ExpenseService expenseService = new ExpenseService(expenseRepo, approvalRepo);
@@ -43,7 +43,7 @@ public class ExpenseRepositorExpenseByCategory {
     @BeforeEach
     void setUp() throws SQLException {
         MockitoAnnotations.openMocks(this);
-        expenseRepository = new ExpenseRepository(databaseConnection);
+        expenseRepository = new SqliteExpenseRepository(databaseConnection);
         when(databaseConnection.getConnection()).thenReturn(connection);
 
         // Use lenient for default setup that may not be used in all tests
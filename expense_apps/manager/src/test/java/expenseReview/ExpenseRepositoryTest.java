@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.revature.repository.Expense;
 import com.revature.repository.ExpenseRepository;
+import com.revature.repository.SqliteExpenseRepository;
 import com.revature.repository.DatabaseConnection;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -34,7 +35,7 @@ public class ExpenseRepositoryTest {
         mockResultSet = mock(ResultSet.class);
 
         when(mockDbConnection.getConnection()).thenReturn(mockConnection);
-        expenseRepository = new ExpenseRepository(mockDbConnection);
+        expenseRepository = new SqliteExpenseRepository(mockDbConnection);
     }
 
     @Test
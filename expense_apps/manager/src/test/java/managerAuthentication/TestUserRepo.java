@@ -1,7 +1,7 @@
 package managerAuthentication;
 
 import com.revature.repository.User;
-import com.revature.repository.UserRepository;
+import com.revature.repository.SqliteUserRepository;
 import com.revature.repository.DatabaseConnection;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,14 +37,14 @@ public class TestUserRepo {
     private ResultSet resultSet;
 
     @InjectMocks
-    private UserRepository userRepository;
+    private SqliteUserRepository userRepository;
 
     @BeforeEach
     void setup() throws SQLException {
         databaseConnection = Mockito.mock(DatabaseConnection.class);
         connection = Mockito.mock(Connection.class);
         when(databaseConnection.getConnection()).thenReturn(connection);
-        userRepository = new UserRepository(databaseConnection);
+        userRepository = new SqliteUserRepository(databaseConnection);
     }
 
     // ============================